@@ -86,6 +86,20 @@ public class DataCarrier<T> {
         return this.channels.save(data);
     }
 
+    /**
+     * @return the capacity of all channels.
+     */
+    public long getCapacity() {
+        return channels.size();
+    }
+
+    /**
+     * @return an estimate of the data produced but not consumed yet, for monitoring only.
+     */
+    public long getBufferedCount() {
+        return channels.getBufferedCount();
+    }
+
     /**
      * set consumeDriver to this Carrier. consumer begin to run when {@link DataCarrier#produce} begin to work.
      *
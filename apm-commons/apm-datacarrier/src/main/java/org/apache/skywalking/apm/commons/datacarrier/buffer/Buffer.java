@@ -59,6 +59,17 @@ public class Buffer<T> implements QueueBuffer<T> {
         return buffer.length;
     }
 
+    @Override
+    public int getBufferedCount() {
+        int count = 0;
+        for (Object data : buffer) {
+            if (data != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     @Override
     public void obtain(List<T> consumeList) {
         this.obtain(consumeList, 0, buffer.length);
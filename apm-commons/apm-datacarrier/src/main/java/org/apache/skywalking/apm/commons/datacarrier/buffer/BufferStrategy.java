@@ -19,5 +19,10 @@
 package org.apache.skywalking.apm.commons.datacarrier.buffer;
 
 public enum BufferStrategy {
-    BLOCKING, IF_POSSIBLE
+    BLOCKING, IF_POSSIBLE,
+    /**
+     * Lock-free multi-producer/single-consumer ring, see {@link MpscRingBuffer}. Never overwrites an un-consumed
+     * slot, the data is abandoned when the ring is full.
+     */
+    MPSC_RING
 }
@@ -37,6 +37,8 @@ public class Channels<T> {
         for (int i = 0; i < channelSize; i++) {
             if (BufferStrategy.BLOCKING.equals(strategy)) {
                 bufferChannels[i] = new ArrayBlockingQueueBuffer<>(bufferSize, strategy);
+            } else if (BufferStrategy.MPSC_RING.equals(strategy)) {
+                bufferChannels[i] = new MpscRingBuffer<>(bufferSize, strategy);
             } else {
                 bufferChannels[i] = new Buffer<>(bufferSize, strategy);
             }
@@ -48,7 +50,7 @@ public class Channels<T> {
     public boolean save(T data) {
         int index = dataPartitioner.partition(bufferChannels.length, data);
         int retryCountDown = 1;
-        if (BufferStrategy.IF_POSSIBLE.equals(strategy)) {
+        if (BufferStrategy.IF_POSSIBLE.equals(strategy) || BufferStrategy.MPSC_RING.equals(strategy)) {
             int maxRetryCount = dataPartitioner.maxRetryCount();
             if (maxRetryCount > 1) {
                 retryCountDown = maxRetryCount;
@@ -87,6 +89,17 @@ public class Channels<T> {
         return size;
     }
 
+    /**
+     * @return an estimate of the data saved in all channels but not consumed yet.
+     */
+    public long getBufferedCount() {
+        long count = 0;
+        for (QueueBuffer<T> buffer : bufferChannels) {
+            count += buffer.getBufferedCount();
+        }
+        return count;
+    }
+
     public QueueBuffer<T> getBuffer(int index) {
         return this.bufferChannels[index];
     }
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multi-producer/single-consumer ring buffer. Every slot carries a sequence number, a producer claims the
+ * tail cursor by CAS only when the slot has been released by the consumer, so un-consumed data is never
+ * overwritten. The consumer drains all published slots in one batch, starting from the head cursor, instead of
+ * scanning the whole array.
+ * <p>
+ * Head and tail cursors live in the middle of their own {@link AtomicLongArray}, same as {@link
+ * org.apache.skywalking.apm.commons.datacarrier.common.AtomicRangeInteger}, to avoid false sharing.
+ */
+public class MpscRingBuffer<T> implements QueueBuffer<T> {
+    private static final int CURSOR_OFFSET = 7;
+
+    private final int bufferSize;
+    private final AtomicReferenceArray<T> slots;
+    /**
+     * sequence[i] == n means slot i is free for the producer claiming cursor n, sequence[i] == n + 1 means the
+     * data claimed by cursor n has been published and could be consumed.
+     */
+    private final AtomicLongArray sequences;
+    private final AtomicLongArray tail;
+    private final AtomicLongArray head;
+    private BufferStrategy strategy;
+
+    MpscRingBuffer(int bufferSize, BufferStrategy strategy) {
+        this.bufferSize = bufferSize;
+        this.strategy = strategy;
+        this.slots = new AtomicReferenceArray<>(bufferSize);
+        this.sequences = new AtomicLongArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            sequences.set(i, i);
+        }
+        this.tail = new AtomicLongArray(CURSOR_OFFSET * 2 + 1);
+        this.head = new AtomicLongArray(CURSOR_OFFSET * 2 + 1);
+    }
+
+    @Override
+    public boolean save(T data) {
+        while (true) {
+            long cursor = tail.get(CURSOR_OFFSET);
+            int index = (int) (cursor % bufferSize);
+            long diff = sequences.get(index) - cursor;
+            if (diff == 0) {
+                if (tail.compareAndSet(CURSOR_OFFSET, cursor, cursor + 1)) {
+                    slots.lazySet(index, data);
+                    sequences.lazySet(index, cursor + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                // The slot of the previous round has not been consumed, the ring is full.
+                if (!BufferStrategy.BLOCKING.equals(strategy)) {
+                    return false;
+                }
+                LockSupport.parkNanos(1000L);
+            }
+        }
+    }
+
+    @Override
+    public void setStrategy(BufferStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    @Override
+    public void obtain(List<T> consumeList) {
+        this.obtain(consumeList, bufferSize);
+    }
+
+    /**
+     * Drain at most {@code limit} published elements in the order they were claimed.
+     */
+    void obtain(List<T> consumeList, int limit) {
+        long cursor = head.get(CURSOR_OFFSET);
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) (cursor % bufferSize);
+            if (sequences.get(index) != cursor + 1) {
+                // Not published yet, or empty.
+                break;
+            }
+            consumeList.add(slots.get(index));
+            slots.lazySet(index, null);
+            sequences.lazySet(index, cursor + bufferSize);
+            cursor++;
+            drained++;
+        }
+        if (drained > 0) {
+            head.lazySet(CURSOR_OFFSET, cursor);
+        }
+    }
+
+    @Override
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    @Override
+    public int getBufferedCount() {
+        long count = tail.get(CURSOR_OFFSET) - head.get(CURSOR_OFFSET);
+        return (int) Math.max(0, Math.min(count, bufferSize));
+    }
+}
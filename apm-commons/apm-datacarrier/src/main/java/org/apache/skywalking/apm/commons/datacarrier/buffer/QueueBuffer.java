@@ -43,4 +43,9 @@ public interface QueueBuffer<T> {
     void obtain(List<T> consumeList);
 
     int getBufferSize();
+
+    /**
+     * @return an estimate of the data saved but not obtained yet, for monitoring only.
+     */
+    int getBufferedCount();
 }
@@ -95,6 +95,62 @@ public class DataCarrierTest {
         Assert.assertEquals(200, result.size());
     }
 
+    @Test
+    public void testMpscRingProduce() throws IllegalAccessException, NoSuchFieldException {
+        DataCarrier<SampleData> carrier = new DataCarrier<SampleData>(2, 100, BufferStrategy.MPSC_RING);
+
+        for (int i = 0; i < 200; i++) {
+            Assert.assertTrue(carrier.produce(new SampleData().setName("d" + i)));
+        }
+
+        for (int i = 0; i < 200; i++) {
+            Assert.assertFalse(carrier.produce(new SampleData().setName("d" + i + "_2")));
+        }
+
+        Channels<SampleData> channels = FieldGetter.getValue(carrier, "channels");
+        QueueBuffer<SampleData> buffer1 = channels.getBuffer(0);
+        List<SampleData> result = new ArrayList<>();
+        buffer1.obtain(result);
+        Assert.assertEquals(100, result.size());
+        Assert.assertEquals("d0", result.get(0).getName());
+        Assert.assertEquals("d2", result.get(1).getName());
+
+        QueueBuffer<SampleData> buffer2 = channels.getBuffer(1);
+        buffer2.obtain(result);
+        Assert.assertEquals(200, result.size());
+
+        // The released slots are reusable after the ring wraps.
+        for (int i = 0; i < 200; i++) {
+            Assert.assertTrue(carrier.produce(new SampleData().setName("d" + i + "_3")));
+        }
+        result.clear();
+        buffer1.obtain(result);
+        buffer2.obtain(result);
+        Assert.assertEquals(200, result.size());
+    }
+
+    @Test
+    public void testBufferedCount() throws IllegalAccessException, NoSuchFieldException {
+        for (BufferStrategy strategy : new BufferStrategy[] {
+            BufferStrategy.IF_POSSIBLE,
+            BufferStrategy.MPSC_RING
+        }) {
+            DataCarrier<SampleData> carrier = new DataCarrier<SampleData>(2, 100, strategy);
+            Assert.assertEquals(200, carrier.getCapacity());
+            Assert.assertEquals(0, carrier.getBufferedCount());
+
+            for (int i = 0; i < 150; i++) {
+                carrier.produce(new SampleData().setName("d" + i));
+            }
+            Assert.assertEquals(150, carrier.getBufferedCount());
+
+            Channels<SampleData> channels = FieldGetter.getValue(carrier, "channels");
+            List<SampleData> result = new ArrayList<>();
+            channels.getBuffer(0).obtain(result);
+            Assert.assertEquals(150 - result.size(), carrier.getBufferedCount());
+        }
+    }
+
     @Test
     public void testBlockingProduce() throws IllegalAccessException {
         final DataCarrier<SampleData> carrier = new DataCarrier<SampleData>(2, 100);
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.skywalking.apm.commons.datacarrier.SampleData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Compare {@link Buffer}, {@link ArrayBlockingQueueBuffer} and {@link MpscRingBuffer} with 8 producers and 1
+ * consumer, which is how the agent reporters use a channel.
+ */
+@BenchmarkMode({Mode.Throughput})
+public class QueueBufferBenchmark {
+    private static final int BUFFER_SIZE = 10000;
+    private static final SampleData DATA = new SampleData();
+
+    @State(Scope.Group)
+    public static class BufferState {
+        QueueBuffer<SampleData> buffer;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            buffer = new Buffer<>(BUFFER_SIZE, BufferStrategy.IF_POSSIBLE);
+        }
+    }
+
+    @State(Scope.Group)
+    public static class ArrayBlockingQueueBufferState {
+        QueueBuffer<SampleData> buffer;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            buffer = new ArrayBlockingQueueBuffer<>(BUFFER_SIZE, BufferStrategy.BLOCKING);
+        }
+    }
+
+    @State(Scope.Group)
+    public static class MpscRingBufferState {
+        QueueBuffer<SampleData> buffer;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            buffer = new MpscRingBuffer<>(BUFFER_SIZE, BufferStrategy.MPSC_RING);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ConsumeList {
+        List<SampleData> list = new ArrayList<>(BUFFER_SIZE);
+    }
+
+    @Benchmark
+    @Group("buffer")
+    @GroupThreads(8)
+    public boolean bufferSave(BufferState state) {
+        return state.buffer.save(DATA);
+    }
+
+    @Benchmark
+    @Group("buffer")
+    @GroupThreads(1)
+    public void bufferObtain(BufferState state, ConsumeList consumeList, Blackhole blackhole) {
+        consumeList.list.clear();
+        state.buffer.obtain(consumeList.list);
+        blackhole.consume(consumeList.list.size());
+    }
+
+    /**
+     * {@link ArrayBlockingQueueBuffer#save} blocks when the queue is full. Producers still parked when the consumer
+     * stops at the end of an iteration are interrupted by the JMH timeout, and return false.
+     */
+    @Benchmark
+    @Group("arrayBlockingQueueBuffer")
+    @GroupThreads(8)
+    public boolean arrayBlockingQueueBufferSave(ArrayBlockingQueueBufferState state) {
+        return state.buffer.save(DATA);
+    }
+
+    @Benchmark
+    @Group("arrayBlockingQueueBuffer")
+    @GroupThreads(1)
+    public void arrayBlockingQueueBufferObtain(ArrayBlockingQueueBufferState state,
+                                               ConsumeList consumeList,
+                                               Blackhole blackhole) {
+        consumeList.list.clear();
+        state.buffer.obtain(consumeList.list);
+        blackhole.consume(consumeList.list.size());
+    }
+
+    @Benchmark
+    @Group("mpscRingBuffer")
+    @GroupThreads(8)
+    public boolean mpscRingBufferSave(MpscRingBufferState state) {
+        return state.buffer.save(DATA);
+    }
+
+    @Benchmark
+    @Group("mpscRingBuffer")
+    @GroupThreads(1)
+    public void mpscRingBufferObtain(MpscRingBufferState state, ConsumeList consumeList, Blackhole blackhole) {
+        consumeList.list.clear();
+        state.buffer.obtain(consumeList.list);
+        blackhole.consume(consumeList.list.size());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(QueueBufferBenchmark.class.getSimpleName())
+                                          .forks(1)
+                                          .warmupIterations(3)
+                                          .measurementIterations(5)
+                                          .timeout(TimeValue.seconds(10))
+                                          .build();
+
+        new Runner(opt).run();
+    }
+}
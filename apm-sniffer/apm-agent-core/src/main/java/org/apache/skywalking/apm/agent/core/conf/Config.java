@@ -25,6 +25,7 @@ import org.apache.skywalking.apm.agent.core.logging.core.LogLevel;
 import org.apache.skywalking.apm.agent.core.logging.core.LogOutput;
 import org.apache.skywalking.apm.agent.core.logging.core.ResolverType;
 import org.apache.skywalking.apm.agent.core.logging.core.WriterFactory;
+import org.apache.skywalking.apm.agent.core.sampling.SamplingPolicy;
 import org.apache.skywalking.apm.util.Length;
 
 /**
@@ -86,6 +87,18 @@ public class Config {
          */
         public static int SAMPLE_N_PER_3_SECS = -1;
 
+        /**
+         * How {@code #SAMPLE_N_PER_3_SECS} is spent. FIXED_WINDOW shares one counter across all endpoints, reset every
+         * 3 seconds. TOKEN_BUCKET gives every endpoint its own budget of N segments in 3 seconds, refilled smoothly.
+         */
+        public static SamplingPolicy SAMPLE_POLICY = SamplingPolicy.FIXED_WINDOW;
+
+        /**
+         * The max number of endpoints having their own sampling budget with the TOKEN_BUCKET policy, the others share
+         * one budget.
+         */
+        public static int SAMPLE_ENDPOINT_LIMIT = 1000;
+
         /**
          * If the operation name of the first span is included in this set, this segment should be ignored. Multiple
          * values should be separated by `,`.
@@ -103,12 +116,37 @@ public class Config {
          */
         public static int SPAN_LIMIT_PER_SEGMENT = 300;
 
+        /**
+         * If true, the exit spans are tagged with their duration in microseconds as `duration_us`, as the reported
+         * start and end times are milliseconds, in which the sub-millisecond spans take 0ms.
+         */
+        public static boolean REPORT_DURATION_MICROS = true;
+
+        /**
+         * If true, the repeated exit spans of the same parent, operation name, peer, component and tags are merged into
+         * the first one, tagged with their count and min, max and total duration. The spans with other tags than the
+         * first one, e.g. another sql statement, and the ones with errors, logs, or propagated to other segments are
+         * always kept.
+         */
+        public static boolean EXIT_SPAN_AGGREGATION = false;
+
         /**
          * If true, SkyWalking agent will save all instrumented classes files in `/debugging` folder. SkyWalking team
          * may ask for these files in order to resolve compatible problem.
          */
         public static boolean IS_OPEN_DEBUGGING_CLASS = false;
 
+        /**
+         * The directory to keep the classes matching none of the plugins in, so they skip the plugin matchers at the
+         * next start. Empty means the cache is off.
+         */
+        public static String CLASS_MATCH_CACHE_DIR = "";
+
+        /**
+         * The max number of classes kept in the class match cache.
+         */
+        public static int CLASS_MATCH_CACHE_SIZE = 100000;
+
         /**
          * The identifier of the instance
          */
@@ -217,6 +255,16 @@ public class Config {
          * If true, skywalking agent will enable periodically resolving DNS to update receiver service addresses.
          */
         public static boolean IS_RESOLVE_DNS_PERIODICALLY = false;
+        /**
+         * If true, the trace segments are written in the SegmentObject wire format directly when sending to the
+         * collector, without building the intermediate protobuf objects.
+         */
+        public static boolean DIRECT_SEGMENT_SERIALIZATION = false;
+        /**
+         * The number of concurrent streams(and consumer threads) sending trace segments to the collector. Every stream
+         * sends its own batches, and it is capped by {@link Buffer#CHANNEL_SIZE}.
+         */
+        public static int TRACE_SEGMENT_UPLINK_STREAMS = 1;
     }
 
     public static class Profile {
@@ -250,6 +298,12 @@ public class Config {
          * Snapshot transport to backend buffer size
          */
         public static int SNAPSHOT_TRANSPORT_BUFFER_SIZE = 500;
+
+        /**
+         * If true, the stacks of all profiling threads are dumped together in one safepoint every period, rather than
+         * one by one.
+         */
+        public static boolean BATCH_DUMP = false;
     }
 
     public static class Meter {
@@ -267,6 +321,57 @@ public class Config {
          * Max size of the meter count, using {@link org.apache.skywalking.apm.agent.core.meter.MeterId} as identity
          */
         public static Integer MAX_METER_SIZE = 500;
+
+        /**
+         * If true, the meters of the agent itself are reported, such as the created spans, the buffer occupancy and
+         * the interceptor errors. They are prefixed by <code>agent_</code>.
+         */
+        public static boolean AGENT_METERS_ACTIVE = true;
+    }
+
+    public static class TailSampling {
+        /**
+         * If true, all contexts are traced, and the finished segments are buffered to decide whether to report them.
+         * Slow, failed or tagged segments are always reported, others take the {@link Agent#SAMPLE_N_PER_3_SECS}
+         * budget.
+         */
+        public static boolean ACTIVE = false;
+
+        /**
+         * Keep the segment whose first span takes at least this many milliseconds. Non-positive means off.
+         */
+        public static long LATENCY_THRESHOLD = 1000;
+
+        /**
+         * Keep the segment when any span has error occurred.
+         */
+        public static boolean KEEP_ERROR = true;
+
+        /**
+         * Keep the segment when any span has one of these tags, separated by `,`, as `key` or `key=value`.
+         */
+        public static String KEEP_TAGS = "";
+
+        /**
+         * Keep every segment with a cross-process parent. The upstream makes its own decision, so enabling this reports
+         * all segments of the non-edge services, only when the upstream is known to report all of its segments too.
+         */
+        public static boolean KEEP_CROSS_PROCESS = false;
+
+        /**
+         * How long, in milliseconds, a segment is buffered in case another segment of its trace is kept.
+         */
+        public static long DECISION_WAIT = 3000;
+
+        /**
+         * The max number of buffered segments.
+         */
+        public static int BUFFER_SEGMENT_LIMIT = 5000;
+
+        /**
+         * The max number of spans in the buffered segments.
+         */
+        public static int BUFFER_SPAN_LIMIT = 50000;
     }
 
     public static class Jvm {
@@ -291,6 +396,37 @@ public class Config {
         public static int CHANNEL_SIZE = 5;
 
         public static int BUFFER_SIZE = 300;
+
+        /**
+         * The directory of the spill files, which keep the trace segments the agent can't send while the collector is
+         * disconnected or back-pressured. Empty means those segments are abandoned.
+         */
+        public static String SPILL_DIR = "";
+
+        /**
+         * Max size of all the spill files in MB, the segments beyond it are abandoned.
+         */
+        public static int SPILL_MAX_SIZE_MB = 512;
+
+        /**
+         * Size of one spill file in MB.
+         */
+        public static int SPILL_FILE_SIZE_MB = 16;
+
+        /**
+         * The spill files not modified in this period are abandoned, the unit is second.
+         */
+        public static int SPILL_TTL_SECONDS = 3600;
+
+        /**
+         * Max number of the spilled segments sent to the collector per second, once it is connected.
+         */
+        public static int SPILL_REPLAY_RATE = 1000;
+
+        /**
+         * The spilled segments are abandoned after this many replays in a row fail to send any of them.
+         */
+        public static int SPILL_REPLAY_ATTEMPTS = 5;
     }
 
     public static class Logging {
@@ -29,6 +29,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.Enumeration;
 import java.util.jar.Attributes;
 import java.util.jar.JarFile;
@@ -192,6 +194,19 @@ public class SnifferConfigInitializer {
         return IS_INIT_COMPLETED;
     }
 
+    /**
+     * @return a copy of the resolved agent settings, sorted by key.
+     */
+    public static SortedMap<String, String> getSettingsSnapshot() {
+        SortedMap<String, String> snapshot = new TreeMap<>();
+        if (AGENT_SETTINGS != null) {
+            for (String key : AGENT_SETTINGS.stringPropertyNames()) {
+                snapshot.put(key, AGENT_SETTINGS.getProperty(key));
+            }
+        }
+        return snapshot;
+    }
+
     /**
      * Override the config by system properties. The property key must start with `skywalking`, the result should be as
      * same as in `agent.config`
@@ -26,6 +26,7 @@ import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.conf.dynamic.ConfigurationDiscoveryService;
 import org.apache.skywalking.apm.agent.core.conf.dynamic.watcher.IgnoreSuffixPatternsWatcher;
 import org.apache.skywalking.apm.agent.core.conf.dynamic.watcher.SpanLimitWatcher;
+import org.apache.skywalking.apm.agent.core.meter.AgentMeters;
 import org.apache.skywalking.apm.agent.core.remote.GRPCChannelListener;
 import org.apache.skywalking.apm.agent.core.remote.GRPCChannelManager;
 import org.apache.skywalking.apm.agent.core.remote.GRPCChannelStatus;
@@ -78,6 +79,7 @@ public class ContextManagerExtendService implements BootService, GRPCChannelList
          * Don't trace anything if the backend is not available.
          */
         if (!Config.Agent.KEEP_TRACING && GRPCChannelStatus.DISCONNECT.equals(status)) {
+            AgentMeters.IGNORED_CONTEXTS.increment(1);
             return new IgnoredTracerContext();
         }
 
@@ -87,13 +89,19 @@ public class ContextManagerExtendService implements BootService, GRPCChannelList
             context = new IgnoredTracerContext();
         } else {
             SamplingService samplingService = ServiceManager.INSTANCE.findService(SamplingService.class);
-            if (forceSampling || samplingService.trySampling(operationName)) {
+            // With tail sampling, everything is traced, and sampled when the segment finishes.
+            if (forceSampling || Config.TailSampling.ACTIVE || samplingService.trySampling(operationName)) {
                 context = new TracingContext(operationName, spanLimitWatcher);
             } else {
                 context = new IgnoredTracerContext();
             }
         }
 
+        if (context instanceof TracingContext) {
+            AgentMeters.SAMPLED_CONTEXTS.increment(1);
+        } else {
+            AgentMeters.IGNORED_CONTEXTS.increment(1);
+        }
         return context;
     }
 
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.apm.agent.core.context;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -33,16 +34,20 @@ import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractTracingSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.EntrySpan;
 import org.apache.skywalking.apm.agent.core.context.trace.ExitSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.ExitSpanAggregator;
 import org.apache.skywalking.apm.agent.core.context.trace.ExitTypeSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.LocalSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.NoopExitSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.NoopSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.SegmentClock;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegmentRef;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.meter.AgentMeters;
 import org.apache.skywalking.apm.agent.core.profile.ProfileStatusContext;
 import org.apache.skywalking.apm.agent.core.profile.ProfileTaskExecutionService;
+import org.apache.skywalking.apm.agent.core.sampling.TailSamplingService;
 import org.apache.skywalking.apm.util.StringUtil;
 
 import static org.apache.skywalking.apm.agent.core.conf.Config.Agent.CLUSTER;
@@ -67,17 +72,22 @@ public class TracingContext implements AbstractTracerContext {
      */
     private static ProfileTaskExecutionService PROFILE_TASK_EXECUTION_SERVICE;
 
+    /**
+     * @see TailSamplingService
+     */
+    private static TailSamplingService TAIL_SAMPLING_SERVICE;
+
     /**
      * The final {@link TraceSegment}, which includes all finished spans.
      */
     private TraceSegment segment;
 
     /**
-     * Active spans stored in a Stack, usually called 'ActiveSpanStack'. This {@link LinkedList} is the in-memory
-     * storage-structure. <p> I use {@link LinkedList#removeLast()}, {@link LinkedList#addLast(Object)} and {@link
-     * LinkedList#getLast()} instead of {@link #pop()}, {@link #push(AbstractSpan)}, {@link #peek()}
+     * Active spans stored in a Stack, usually called 'ActiveSpanStack'. This array-backed {@link ArrayList} is the
+     * in-memory storage-structure, the top of the stack is the last element, so {@link #pop()}, {@link
+     * #push(AbstractSpan)} and {@link #peek()} never shift elements or allocate a node per span.
      */
-    private LinkedList<AbstractSpan> activeSpanStack = new LinkedList<>();
+    private ArrayList<AbstractSpan> activeSpanStack = new ArrayList<>(8);
 
     /**
      * @since 8.10.0 replace the removed "firstSpan"(before 8.10.0) reference. see {@link PrimaryEndpoint} for more details.
@@ -115,6 +125,16 @@ public class TracingContext implements AbstractTracerContext {
     //CDS watcher
     private final SpanLimitWatcher spanLimitWatcher;
 
+    /**
+     * Merges the repeated identical exit spans, if {@link Config.Agent#EXIT_SPAN_AGGREGATION} is on.
+     */
+    private final ExitSpanAggregator exitSpanAggregator;
+
+    /**
+     * The id of the latest span injected into a carrier or captured into a snapshot, which must not be merged.
+     */
+    private int referencedSpanId = -1;
+
     /**
      * Initialize all fields with default value.
      */
@@ -122,19 +142,23 @@ public class TracingContext implements AbstractTracerContext {
         this.segment = new TraceSegment();
         this.spanIdGenerator = 0;
         isRunningInAsyncMode = false;
-        createTime = System.currentTimeMillis();
+        createTime = segment.createTime();
         running = true;
 
         // profiling status
         if (PROFILE_TASK_EXECUTION_SERVICE == null) {
             PROFILE_TASK_EXECUTION_SERVICE = ServiceManager.INSTANCE.findService(ProfileTaskExecutionService.class);
         }
-        this.profileStatus = PROFILE_TASK_EXECUTION_SERVICE.addProfiling(
-            this, segment.getTraceSegmentId(), firstOPName);
+        this.profileStatus = PROFILE_TASK_EXECUTION_SERVICE.addProfiling(this, firstOPName);
+
+        if (TAIL_SAMPLING_SERVICE == null) {
+            TAIL_SAMPLING_SERVICE = ServiceManager.INSTANCE.findService(TailSamplingService.class);
+        }
 
         this.correlationContext = new CorrelationContext();
         this.extensionContext = new ExtensionContext();
         this.spanLimitWatcher = spanLimitWatcher;
+        this.exitSpanAggregator = Config.Agent.EXIT_SPAN_AGGREGATION ? new ExitSpanAggregator() : null;
     }
 
     /**
@@ -169,6 +193,7 @@ public class TracingContext implements AbstractTracerContext {
             throw new IllegalStateException("Exit span doesn't include meaningful peer information.");
         }
 
+        referencedSpanId = exitSpan.getSpanId();
         carrier.setTraceId(getReadablePrimaryTraceId());
         carrier.setTraceSegmentId(this.segment.getTraceSegmentId());
         carrier.setSpanId(exitSpan.getSpanId());
@@ -207,9 +232,10 @@ public class TracingContext implements AbstractTracerContext {
      */
     @Override
     public ContextSnapshot capture() {
+        referencedSpanId = activeSpan().getSpanId();
         ContextSnapshot snapshot = new ContextSnapshot(
             segment.getTraceSegmentId(),
-            activeSpan().getSpanId(),
+            referencedSpanId,
             getPrimaryTraceId(),
             primaryEndpoint.getName(),
             this.correlationContext,
@@ -293,6 +319,7 @@ public class TracingContext implements AbstractTracerContext {
                 spanIdGenerator++, parentSpanId,
                 operationName, owner
             );
+            AgentMeters.CREATED_SPANS.increment(1);
             entrySpan.start();
             return push(entrySpan);
         }
@@ -313,6 +340,7 @@ public class TracingContext implements AbstractTracerContext {
         AbstractSpan parentSpan = peek();
         final int parentSpanId = parentSpan == null ? -1 : parentSpan.getSpanId();
         AbstractTracingSpan span = new LocalSpan(spanIdGenerator++, parentSpanId, operationName, this);
+        AgentMeters.CREATED_SPANS.increment(1);
         span.start();
         return push(span);
     }
@@ -343,6 +371,7 @@ public class TracingContext implements AbstractTracerContext {
             remotePeer = StringUtil.isEmpty(CLUSTER) ? remotePeer : CLUSTER + "/" + remotePeer;
             final int parentSpanId = parentSpan == null ? -1 : parentSpan.getSpanId();
             exitSpan = new ExitSpan(spanIdGenerator++, parentSpanId, operationName, remotePeer, owner);
+            AgentMeters.CREATED_SPANS.increment(1);
             push(exitSpan);
         }
         exitSpan.start();
@@ -371,7 +400,9 @@ public class TracingContext implements AbstractTracerContext {
     public boolean stopSpan(AbstractSpan span) {
         AbstractSpan lastSpan = peek();
         if (lastSpan == span) {
-            if (lastSpan instanceof AbstractTracingSpan) {
+            if (exitSpanAggregator != null && lastSpan instanceof ExitSpan) {
+                finishExitSpan((ExitSpan) lastSpan);
+            } else if (lastSpan instanceof AbstractTracingSpan) {
                 AbstractTracingSpan toFinishSpan = (AbstractTracingSpan) lastSpan;
                 if (toFinishSpan.finish(segment)) {
                     pop();
@@ -388,6 +419,21 @@ public class TracingContext implements AbstractTracerContext {
         return activeSpanStack.isEmpty();
     }
 
+    /**
+     * Finish the exit span, or merge it into the identical one finished before. Only the latest created span is merged,
+     * so no other span refers to it as the parent, and its id is given to the next span.
+     */
+    private void finishExitSpan(ExitSpan span) {
+        final int spanId = span.getSpanId();
+        if (spanId == spanIdGenerator - 1 && spanId != referencedSpanId && exitSpanAggregator.merge(span, segment)) {
+            spanIdGenerator--;
+            pop();
+        } else if (span.finish(segment)) {
+            exitSpanAggregator.archived(span);
+            pop();
+        }
+    }
+
     @Override
     public AbstractTracerContext awaitFinishAsync() {
         if (!isRunningInAsyncMode) {
@@ -452,8 +498,16 @@ public class TracingContext implements AbstractTracerContext {
             }
 
             if (isFinishedInMainThread && (!isRunningInAsyncMode || asyncSpanCounter == 0)) {
+                if (exitSpanAggregator != null) {
+                    exitSpanAggregator.tagAggregated();
+                }
                 TraceSegment finishedSegment = segment.finish(isLimitMechanismWorking());
-                TracingContext.ListenerManager.notifyFinish(finishedSegment);
+                AgentMeters.FINISHED_SEGMENTS.increment(1);
+                if (TAIL_SAMPLING_SERVICE != null && TAIL_SAMPLING_SERVICE.isActive()) {
+                    TAIL_SAMPLING_SERVICE.offer(finishedSegment);
+                } else {
+                    TracingContext.ListenerManager.notifyFinish(finishedSegment);
+                }
                 running = false;
             }
         } finally {
@@ -486,7 +540,7 @@ public class TracingContext implements AbstractTracerContext {
          *
          * @param finishedSegment the segment that has finished
          */
-        static void notifyFinish(TraceSegment finishedSegment) {
+        public static void notifyFinish(TraceSegment finishedSegment) {
             for (TracingContextListener listener : LISTENERS) {
                 listener.afterFinished(finishedSegment);
             }
@@ -526,7 +580,7 @@ public class TracingContext implements AbstractTracerContext {
      * @return the top element of 'ActiveSpanStack', and remove it.
      */
     private AbstractSpan pop() {
-        return activeSpanStack.removeLast();
+        return activeSpanStack.remove(activeSpanStack.size() - 1);
     }
 
     /**
@@ -540,7 +594,7 @@ public class TracingContext implements AbstractTracerContext {
         } else {
             primaryEndpoint.set(span);
         }
-        activeSpanStack.addLast(span);
+        activeSpanStack.add(span);
         this.extensionContext.handle(span);
         return span;
     }
@@ -552,7 +606,7 @@ public class TracingContext implements AbstractTracerContext {
         if (activeSpanStack.isEmpty()) {
             return null;
         }
-        return activeSpanStack.getLast();
+        return activeSpanStack.get(activeSpanStack.size() - 1);
     }
 
     private boolean isLimitMechanismWorking() {
@@ -575,6 +629,13 @@ public class TracingContext implements AbstractTracerContext {
         return this.createTime;
     }
 
+    /**
+     * @return the clock of the segment, which all span timestamps of this context are read from.
+     */
+    public SegmentClock segmentClock() {
+        return segment.getClock();
+    }
+
     public ProfileStatusContext profileStatus() {
         return this.profileStatus;
     }
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.ids;
+
+/**
+ * The <code>GlobalId</code> is a generated id held in two longs, the thread id and the sequence, as the process id is
+ * the same in the whole agent. The string form, the same as {@link GlobalIdGenerator#generate()}, is rendered only
+ * when it is required the first time, such as propagating, logging or reporting.
+ */
+public final class GlobalId {
+    private final long threadId;
+    private final long sequence;
+    /**
+     * The rendered id. Rendering in different threads at the same time creates equal strings, so it is not
+     * synchronized.
+     */
+    private String id;
+
+    GlobalId(final long threadId, final long sequence) {
+        this.threadId = threadId;
+        this.sequence = sequence;
+    }
+
+    public long getThreadId() {
+        return threadId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return processId.threadId.sequence
+     */
+    public String getId() {
+        String id = this.id;
+        if (id == null) {
+            id = GlobalIdGenerator.render(threadId, sequence);
+            this.id = id;
+        }
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return getId();
+    }
+}
@@ -20,8 +20,6 @@ package org.apache.skywalking.apm.agent.core.context.ids;
 
 import java.util.UUID;
 
-import org.apache.skywalking.apm.util.StringUtil;
-
 public final class GlobalIdGenerator {
     private static final String PROCESS_ID = UUID.randomUUID().toString().replaceAll("-", "");
     private static final ThreadLocal<IDContext> THREAD_ID_SEQUENCE = ThreadLocal.withInitial(
@@ -43,12 +41,26 @@ public final class GlobalIdGenerator {
      * @return unique id to represent a trace or segment
      */
     public static String generate() {
-        return StringUtil.join(
-            '.',
-            PROCESS_ID,
-            String.valueOf(Thread.currentThread().getId()),
-            String.valueOf(THREAD_ID_SEQUENCE.get().nextSeq())
-        );
+        return generateId().getId();
+    }
+
+    /**
+     * Generate a new id as {@link #generate()} does, but the string form is rendered only when it is used.
+     *
+     * @return unique id to represent a trace or segment
+     */
+    public static GlobalId generateId() {
+        return new GlobalId(Thread.currentThread().getId(), THREAD_ID_SEQUENCE.get().nextSeq());
+    }
+
+    static String render(long threadId, long sequence) {
+        // 32 chars process id, 2 dots, up to 19 digits for each long.
+        return new StringBuilder(72).append(PROCESS_ID)
+                                    .append('.')
+                                    .append(threadId)
+                                    .append('.')
+                                    .append(sequence)
+                                    .toString();
     }
 
     private static class IDContext {
@@ -19,10 +19,19 @@
 package org.apache.skywalking.apm.agent.core.context.ids;
 
 /**
- * The <code>NewDistributedTraceId</code> is a {@link DistributedTraceId} with a new generated id.
+ * The <code>NewDistributedTraceId</code> is a {@link DistributedTraceId} with a new generated id. The id is kept as
+ * {@link GlobalId}, and rendered as string only when {@link #getId()} is called.
  */
 public class NewDistributedTraceId extends DistributedTraceId {
+    private final GlobalId globalId;
+
     public NewDistributedTraceId() {
-        super(GlobalIdGenerator.generate());
+        super(null);
+        this.globalId = GlobalIdGenerator.generateId();
+    }
+
+    @Override
+    public String getId() {
+        return globalId.getId();
     }
 }
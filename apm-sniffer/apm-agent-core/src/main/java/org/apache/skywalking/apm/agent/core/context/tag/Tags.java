@@ -139,6 +139,12 @@ public final class Tags {
 
     public static final StringTag SQL_PARAMETERS = new StringTag(19, "db.sql.parameters");
 
+    /**
+     * SQL_FINGERPRINT records the fingerprint of the normalized sql statement, identical for the statements differing
+     * only in their literals.
+     */
+    public static final StringTag SQL_FINGERPRINT = new StringTag(28, "db.sql.fingerprint");
+
     /**
      * LOCK_NAME records the lock name such as redisson lock name
      */
@@ -155,6 +161,20 @@ public final class Tags {
      */
     public static final StringTag THREAD_ID = new StringTag(23, "thread.id");
 
+    /**
+     * AGGREGATED records the statistics of the identical exit spans merged into the tagged one, the durations are in
+     * microseconds.
+     */
+    public static final class AGGREGATED {
+        public static final StringTag COUNT = new StringTag(24, "aggregated.count", true);
+
+        public static final StringTag MIN_DURATION = new StringTag(25, "aggregated.min_duration_us", true);
+
+        public static final StringTag MAX_DURATION = new StringTag(26, "aggregated.max_duration_us", true);
+
+        public static final StringTag TOTAL_DURATION = new StringTag(27, "aggregated.total_duration_us", true);
+    }
+
     /**
      * Creates a {@code StringTag} with the given key and cache it, if it's created before, simply return it without
      * creating a new one.
@@ -19,7 +19,6 @@
 package org.apache.skywalking.apm.agent.core.context.trace;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
@@ -33,6 +32,7 @@ import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.util.KeyValuePair;
 import org.apache.skywalking.apm.agent.core.context.util.TagValuePair;
 import org.apache.skywalking.apm.agent.core.context.util.ThrowableTransformer;
+import org.apache.skywalking.apm.network.common.v3.KeyStringValuePair;
 import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
 import org.apache.skywalking.apm.network.language.agent.v3.SpanType;
 import org.apache.skywalking.apm.network.trace.component.Component;
@@ -42,6 +42,11 @@ import org.apache.skywalking.apm.network.trace.component.Component;
  * distributed trace.
  */
 public abstract class AbstractTracingSpan implements AbstractSpan {
+    /**
+     * The tag of the exit span duration in microseconds, as the reported start and end times are milliseconds.
+     */
+    static final String DURATION_MICROS_TAG = "duration_us";
+
     /**
      * Span id starts from 0.
      */
@@ -68,13 +73,13 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
     protected final TracingContext owner;
 
     /**
-     * The start time of this Span.
+     * The start time of this Span in microseconds, read from the {@link SegmentClock} of the owner.
      */
-    protected long startTime;
+    protected long startTimeMicros;
     /**
-     * The end time of this Span.
+     * The end time of this Span in microseconds, read from the {@link SegmentClock} of the owner.
      */
-    protected long endTime;
+    protected long endTimeMicros;
     /**
      * Error has occurred in the scope of span.
      */
@@ -144,14 +149,14 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      * @param owner of the Span.
      */
     public boolean finish(TraceSegment owner) {
-        this.endTime = System.currentTimeMillis();
+        this.endTimeMicros = owner.getClock().currentTimeMicros();
         owner.archive(this);
         return true;
     }
 
     @Override
     public AbstractTracingSpan start() {
-        this.startTime = System.currentTimeMillis();
+        this.startTimeMicros = owner.segmentClock().currentTimeMicros();
         return this;
     }
 
@@ -164,7 +169,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
     @Override
     public AbstractTracingSpan log(Throwable t) {
         if (logs == null) {
-            logs = new LinkedList<>();
+            logs = new ArrayList<>(2);
         }
         if (!errorOccurred && ServiceManager.INSTANCE.findService(StatusCheckService.class).isError(t)) {
             errorOccurred();
@@ -176,7 +181,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
                                                 "stack",
                                                 ThrowableTransformer.INSTANCE.convert2String(t, 4000)
                                             ))
-                                            .build(System.currentTimeMillis()));
+                                            .build(owner.segmentClock().currentTimeMillis()));
         return this;
     }
 
@@ -188,7 +193,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
     @Override
     public AbstractTracingSpan log(long timestampMicroseconds, Map<String, ?> fields) {
         if (logs == null) {
-            logs = new LinkedList<>();
+            logs = new ArrayList<>(2);
         }
         LogDataEntity.Builder builder = new LogDataEntity.Builder();
         for (Map.Entry<String, ?> entry : fields.entrySet()) {
@@ -251,17 +256,42 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
 
     @Override
     public AbstractSpan start(long startTime) {
-        this.startTime = startTime;
+        this.startTimeMicros = startTime * 1000;
         return this;
     }
 
+    /**
+     * @return the start time in milliseconds, as reported.
+     */
+    long getStartTime() {
+        return startTimeMicros / 1000;
+    }
+
+    /**
+     * @return the end time in milliseconds, as reported.
+     */
+    long getEndTime() {
+        return endTimeMicros / 1000;
+    }
+
+    /**
+     * @return the duration in microseconds, reported as the {@link #DURATION_MICROS_TAG} tag of the exit spans with
+     * {@link Config.Agent#REPORT_DURATION_MICROS}, or null if not reported.
+     */
+    String getDurationMicrosTag() {
+        if (!Config.Agent.REPORT_DURATION_MICROS || !isExit() || endTimeMicros < startTimeMicros) {
+            return null;
+        }
+        return String.valueOf(endTimeMicros - startTimeMicros);
+    }
+
     public SpanObject.Builder transform() {
         SpanObject.Builder spanBuilder = SpanObject.newBuilder();
 
         spanBuilder.setSpanId(this.spanId);
         spanBuilder.setParentSpanId(parentSpanId);
-        spanBuilder.setStartTime(startTime);
-        spanBuilder.setEndTime(endTime);
+        spanBuilder.setStartTime(getStartTime());
+        spanBuilder.setEndTime(getEndTime());
         spanBuilder.setOperationName(operationName);
         spanBuilder.setSkipAnalysis(skipAnalysis);
         if (isEntry()) {
@@ -283,6 +313,11 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
                 spanBuilder.addTags(tag.transform());
             }
         }
+        String durationMicros = getDurationMicrosTag();
+        if (durationMicros != null) {
+            spanBuilder.addTags(
+                KeyStringValuePair.newBuilder().setKey(DURATION_MICROS_TAG).setValue(durationMicros).build());
+        }
         if (this.logs != null) {
             for (LogDataEntity log : this.logs) {
                 spanBuilder.addLogs(log.transform());
@@ -300,7 +335,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
     @Override
     public void ref(TraceSegmentRef ref) {
         if (refs == null) {
-            refs = new LinkedList<>();
+            refs = new ArrayList<>(1);
         }
         /*
          * Provide the OOM protection if the entry span hosts too many references.
@@ -331,7 +366,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
         if (isAsyncStopped) {
             throw new RuntimeException("Can not do async finish for the span repeatedly.");
         }
-        this.endTime = System.currentTimeMillis();
+        this.endTimeMicros = owner.segmentClock().currentTimeMicros();
         owner.asyncStop(this);
         isAsyncStopped = true;
         return this;
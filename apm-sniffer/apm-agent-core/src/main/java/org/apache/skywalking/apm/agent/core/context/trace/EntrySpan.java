@@ -42,7 +42,7 @@ public class EntrySpan extends StackBasedTracingSpan {
     }
 
     /**
-     * Set the {@link #startTime}, when the first start, which means the first service provided.
+     * Set the {@link #startTimeMicros}, when the first start, which means the first service provided.
      */
     @Override
     public EntrySpan start() {
@@ -45,7 +45,7 @@ public class ExitSpan extends StackBasedTracingSpan implements ExitTypeSpan {
     }
 
     /**
-     * Set the {@link #startTime}, when the first start, which means the first service provided.
+     * Set the {@link #startTimeMicros}, when the first start, which means the first service provided.
      */
     @Override
     public ExitSpan start() {
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.trace;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+
+/**
+ * Merges the repeated identical {@link ExitSpan}s of a segment, having the same parent, operation name, peer and
+ * component, into the first finished one, which carries the count and the min, max and total duration of all of them
+ * as {@link Tags.AGGREGATED} tags. A span is merged only if its tags are the same as the ones of the first span, such as
+ * the same sql statement, so no tag is lost. Only the plain spans are merged, the ones with errors, logs, refs or in
+ * async mode are always kept. It is owned by one {@link org.apache.skywalking.apm.agent.core.context.TracingContext}, so it is not
+ * thread safe.
+ */
+public class ExitSpanAggregator {
+    private final Map<Key, Aggregate> aggregates = new HashMap<>();
+
+    /**
+     * Merge the span into the finished identical one, if there is one. The caller should make sure no one else refers
+     * to the span, as it will never be archived.
+     *
+     * @return true if the span has been merged, and should be popped as finished.
+     */
+    public boolean merge(ExitSpan span, TraceSegment segment) {
+        if (span.stackDepth != 1 || !isPlain(span)) {
+            return false;
+        }
+        Aggregate aggregate = aggregates.get(new Key(span));
+        if (aggregate == null || !Objects.equals(span.tags, aggregate.span.tags)) {
+            return false;
+        }
+        span.stackDepth--;
+        aggregate.add(segment.getClock().currentTimeMicros() - span.startTimeMicros);
+        return true;
+    }
+
+    /**
+     * Keep the archived span as the one the following identical spans merge into.
+     */
+    public void archived(ExitSpan span) {
+        if (isPlain(span)) {
+            aggregates.computeIfAbsent(new Key(span), key -> new Aggregate(span));
+        }
+    }
+
+    /**
+     * Tag the spans which others have been merged into, before the segment finishes.
+     */
+    public void tagAggregated() {
+        for (Aggregate aggregate : aggregates.values()) {
+            if (aggregate.count > 1) {
+                aggregate.span.tag(Tags.AGGREGATED.COUNT, String.valueOf(aggregate.count));
+                aggregate.span.tag(Tags.AGGREGATED.MIN_DURATION, String.valueOf(aggregate.minDuration));
+                aggregate.span.tag(Tags.AGGREGATED.MAX_DURATION, String.valueOf(aggregate.maxDuration));
+                aggregate.span.tag(Tags.AGGREGATED.TOTAL_DURATION, String.valueOf(aggregate.totalDuration));
+            }
+        }
+    }
+
+    private static boolean isPlain(ExitSpan span) {
+        return !span.errorOccurred && !span.isInAsyncMode && span.logs == null && span.refs == null;
+    }
+
+    private static class Key {
+        private final int parentSpanId;
+        private final String operationName;
+        private final String peer;
+        private final int componentId;
+
+        private Key(ExitSpan span) {
+            this.parentSpanId = span.parentSpanId;
+            this.operationName = span.operationName;
+            this.peer = span.peer;
+            this.componentId = span.componentId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return parentSpanId == key.parentSpanId && componentId == key.componentId
+                && Objects.equals(operationName, key.operationName) && Objects.equals(peer, key.peer);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(parentSpanId, operationName, peer, componentId);
+        }
+    }
+
+    private static class Aggregate {
+        private final ExitSpan span;
+        private int count = 1;
+        private long minDuration;
+        private long maxDuration;
+        private long totalDuration;
+
+        private Aggregate(ExitSpan span) {
+            this.span = span;
+            this.minDuration = this.maxDuration = this.totalDuration = span.endTimeMicros - span.startTimeMicros;
+        }
+
+        private void add(long duration) {
+            count++;
+            minDuration = Math.min(minDuration, duration);
+            maxDuration = Math.max(maxDuration, duration);
+            totalDuration += duration;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.trace;
+
+/**
+ * The clock of one {@link TraceSegment}. The wall clock is read once, when the segment is created, and all span
+ * timestamps are derived from {@link System#nanoTime()} offsets to it, which gives microsecond precision, and keeps
+ * the spans of a segment ordered even if the wall clock is adjusted meanwhile.
+ */
+public class SegmentClock {
+    private final long baseMillis;
+    private final long baseNanos;
+
+    public SegmentClock() {
+        this.baseMillis = System.currentTimeMillis();
+        this.baseNanos = System.nanoTime();
+    }
+
+    /**
+     * @return the wall clock time in milliseconds when the segment was created.
+     */
+    public long getBaseMillis() {
+        return baseMillis;
+    }
+
+    /**
+     * @return the current time in microseconds since the epoch.
+     */
+    public long currentTimeMicros() {
+        return baseMillis * 1000 + (System.nanoTime() - baseNanos) / 1000;
+    }
+
+    /**
+     * @return the current time in milliseconds since the epoch.
+     */
+    public long currentTimeMillis() {
+        return currentTimeMicros() / 1000;
+    }
+}
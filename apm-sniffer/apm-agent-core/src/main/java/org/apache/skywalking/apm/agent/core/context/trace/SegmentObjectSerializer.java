@@ -0,0 +1,372 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.trace;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import java.io.IOException;
+import java.util.List;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.util.KeyValuePair;
+import org.apache.skywalking.apm.agent.core.context.util.TagValuePair;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.util.StringUtil;
+
+/**
+ * Write a finished {@link TraceSegment} in the {@link SegmentObject} wire format directly, without building the
+ * intermediate protobuf messages through {@link TraceSegment#transform()}. The output is byte-equivalent to {@code
+ * segment.transform().toByteArray()}, fields are written in field number order and default values are omitted, as
+ * protobuf 3 does.
+ * <p>
+ * The sizes of the spans are calculated once when {@link #getSerializedSize()} is called, and reused by {@link
+ * #writeTo(CodedOutputStream)}, as the length of every nested message must be written before its content.
+ */
+public class SegmentObjectSerializer {
+    /**
+     * Field numbers of SegmentObject
+     */
+    private static final int SEGMENT_TRACE_ID = 1;
+    private static final int SEGMENT_TRACE_SEGMENT_ID = 2;
+    private static final int SEGMENT_SPANS = 3;
+    private static final int SEGMENT_SERVICE = 4;
+    private static final int SEGMENT_SERVICE_INSTANCE = 5;
+    private static final int SEGMENT_IS_SIZE_LIMITED = 6;
+
+    /**
+     * Field numbers of SpanObject
+     */
+    private static final int SPAN_SPAN_ID = 1;
+    private static final int SPAN_PARENT_SPAN_ID = 2;
+    private static final int SPAN_START_TIME = 3;
+    private static final int SPAN_END_TIME = 4;
+    private static final int SPAN_REFS = 5;
+    private static final int SPAN_OPERATION_NAME = 6;
+    private static final int SPAN_PEER = 7;
+    private static final int SPAN_SPAN_TYPE = 8;
+    private static final int SPAN_SPAN_LAYER = 9;
+    private static final int SPAN_COMPONENT_ID = 10;
+    private static final int SPAN_IS_ERROR = 11;
+    private static final int SPAN_TAGS = 12;
+    private static final int SPAN_LOGS = 13;
+    private static final int SPAN_SKIP_ANALYSIS = 14;
+
+    /**
+     * Field numbers of SegmentReference
+     */
+    private static final int REF_REF_TYPE = 1;
+    private static final int REF_TRACE_ID = 2;
+    private static final int REF_PARENT_TRACE_SEGMENT_ID = 3;
+    private static final int REF_PARENT_SPAN_ID = 4;
+    private static final int REF_PARENT_SERVICE = 5;
+    private static final int REF_PARENT_SERVICE_INSTANCE = 6;
+    private static final int REF_PARENT_ENDPOINT = 7;
+    private static final int REF_NETWORK_ADDRESS_USED_AT_PEER = 8;
+
+    /**
+     * Field numbers of Log and KeyStringValuePair
+     */
+    private static final int LOG_TIME = 1;
+    private static final int LOG_DATA = 2;
+    private static final int KEY_VALUE_KEY = 1;
+    private static final int KEY_VALUE_VALUE = 2;
+
+    /**
+     * SpanType and RefType enum values, the first ones(Entry, CrossProcess) are the default value.
+     */
+    private static final int SPAN_TYPE_EXIT = 1;
+    private static final int SPAN_TYPE_LOCAL = 2;
+    private static final int REF_TYPE_CROSS_THREAD = 1;
+
+    private final TraceSegment segment;
+    private final String traceId;
+    private int[] spanSizes;
+    private int serializedSize = -1;
+
+    public SegmentObjectSerializer(TraceSegment segment) {
+        this.segment = segment;
+        this.traceId = segment.getRelatedGlobalTrace().getId();
+    }
+
+    /**
+     * @return the size of the serialized {@link SegmentObject}, without the length prefix.
+     */
+    public int getSerializedSize() {
+        if (serializedSize >= 0) {
+            return serializedSize;
+        }
+        List<AbstractTracingSpan> spans = segment.getSpans();
+        spanSizes = new int[spans.size()];
+        int size = stringSize(SEGMENT_TRACE_ID, traceId);
+        size += stringSize(SEGMENT_TRACE_SEGMENT_ID, segment.getTraceSegmentId());
+        for (int i = 0; i < spanSizes.length; i++) {
+            spanSizes[i] = spanSize(spans.get(i));
+            size += messageSize(SEGMENT_SPANS, spanSizes[i]);
+        }
+        size += stringSize(SEGMENT_SERVICE, Config.Agent.SERVICE_NAME);
+        size += stringSize(SEGMENT_SERVICE_INSTANCE, Config.Agent.INSTANCE_NAME);
+        if (segment.isSizeLimited()) {
+            size += CodedOutputStream.computeBoolSize(SEGMENT_IS_SIZE_LIMITED, true);
+        }
+        serializedSize = size;
+        return size;
+    }
+
+    public void writeTo(CodedOutputStream output) throws IOException {
+        getSerializedSize();
+        List<AbstractTracingSpan> spans = segment.getSpans();
+        writeString(output, SEGMENT_TRACE_ID, traceId);
+        writeString(output, SEGMENT_TRACE_SEGMENT_ID, segment.getTraceSegmentId());
+        for (int i = 0; i < spanSizes.length; i++) {
+            output.writeTag(SEGMENT_SPANS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(spanSizes[i]);
+            writeSpan(output, spans.get(i));
+        }
+        writeString(output, SEGMENT_SERVICE, Config.Agent.SERVICE_NAME);
+        writeString(output, SEGMENT_SERVICE_INSTANCE, Config.Agent.INSTANCE_NAME);
+        if (segment.isSizeLimited()) {
+            output.writeBool(SEGMENT_IS_SIZE_LIMITED, true);
+        }
+    }
+
+    public byte[] toByteArray() {
+        byte[] result = new byte[getSerializedSize()];
+        CodedOutputStream output = CodedOutputStream.newInstance(result);
+        try {
+            writeTo(output);
+        } catch (IOException e) {
+            throw new IllegalStateException("Serializing to a byte array threw an IOException.", e);
+        }
+        output.checkNoSpaceLeft();
+        return result;
+    }
+
+    private static int spanSize(AbstractTracingSpan span) {
+        int size = 0;
+        if (span.spanId != 0) {
+            size += CodedOutputStream.computeInt32Size(SPAN_SPAN_ID, span.spanId);
+        }
+        if (span.parentSpanId != 0) {
+            size += CodedOutputStream.computeInt32Size(SPAN_PARENT_SPAN_ID, span.parentSpanId);
+        }
+        if (span.getStartTime() != 0) {
+            size += CodedOutputStream.computeInt64Size(SPAN_START_TIME, span.getStartTime());
+        }
+        if (span.getEndTime() != 0) {
+            size += CodedOutputStream.computeInt64Size(SPAN_END_TIME, span.getEndTime());
+        }
+        if (span.refs != null) {
+            for (TraceSegmentRef ref : span.refs) {
+                size += messageSize(SPAN_REFS, refSize(ref));
+            }
+        }
+        size += stringSize(SPAN_OPERATION_NAME, span.operationName);
+        size += stringSize(SPAN_PEER, peerOf(span));
+        int spanType = spanTypeOf(span);
+        if (spanType != 0) {
+            size += CodedOutputStream.computeEnumSize(SPAN_SPAN_TYPE, spanType);
+        }
+        if (span.layer != null && span.layer.getCode() != 0) {
+            size += CodedOutputStream.computeEnumSize(SPAN_SPAN_LAYER, span.layer.getCode());
+        }
+        if (span.componentId != 0) {
+            size += CodedOutputStream.computeInt32Size(SPAN_COMPONENT_ID, span.componentId);
+        }
+        if (span.errorOccurred) {
+            size += CodedOutputStream.computeBoolSize(SPAN_IS_ERROR, true);
+        }
+        if (span.tags != null) {
+            for (TagValuePair tag : span.tags) {
+                size += messageSize(SPAN_TAGS, keyValueSize(tag.getKey().key(), tag.getValue()));
+            }
+        }
+        String durationMicros = span.getDurationMicrosTag();
+        if (durationMicros != null) {
+            size += messageSize(
+                SPAN_TAGS, keyValueSize(AbstractTracingSpan.DURATION_MICROS_TAG, durationMicros));
+        }
+        if (span.logs != null) {
+            for (LogDataEntity log : span.logs) {
+                size += messageSize(SPAN_LOGS, logSize(log));
+            }
+        }
+        if (span.skipAnalysis) {
+            size += CodedOutputStream.computeBoolSize(SPAN_SKIP_ANALYSIS, true);
+        }
+        return size;
+    }
+
+    private static void writeSpan(CodedOutputStream output, AbstractTracingSpan span) throws IOException {
+        if (span.spanId != 0) {
+            output.writeInt32(SPAN_SPAN_ID, span.spanId);
+        }
+        if (span.parentSpanId != 0) {
+            output.writeInt32(SPAN_PARENT_SPAN_ID, span.parentSpanId);
+        }
+        if (span.getStartTime() != 0) {
+            output.writeInt64(SPAN_START_TIME, span.getStartTime());
+        }
+        if (span.getEndTime() != 0) {
+            output.writeInt64(SPAN_END_TIME, span.getEndTime());
+        }
+        if (span.refs != null) {
+            for (TraceSegmentRef ref : span.refs) {
+                output.writeTag(SPAN_REFS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                output.writeUInt32NoTag(refSize(ref));
+                writeRef(output, ref);
+            }
+        }
+        writeString(output, SPAN_OPERATION_NAME, span.operationName);
+        writeString(output, SPAN_PEER, peerOf(span));
+        int spanType = spanTypeOf(span);
+        if (spanType != 0) {
+            output.writeEnum(SPAN_SPAN_TYPE, spanType);
+        }
+        if (span.layer != null && span.layer.getCode() != 0) {
+            output.writeEnum(SPAN_SPAN_LAYER, span.layer.getCode());
+        }
+        if (span.componentId != 0) {
+            output.writeInt32(SPAN_COMPONENT_ID, span.componentId);
+        }
+        if (span.errorOccurred) {
+            output.writeBool(SPAN_IS_ERROR, true);
+        }
+        if (span.tags != null) {
+            for (TagValuePair tag : span.tags) {
+                writeKeyValue(output, SPAN_TAGS, tag.getKey().key(), tag.getValue());
+            }
+        }
+        String durationMicros = span.getDurationMicrosTag();
+        if (durationMicros != null) {
+            writeKeyValue(output, SPAN_TAGS, AbstractTracingSpan.DURATION_MICROS_TAG, durationMicros);
+        }
+        if (span.logs != null) {
+            for (LogDataEntity log : span.logs) {
+                output.writeTag(SPAN_LOGS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                output.writeUInt32NoTag(logSize(log));
+                writeLog(output, log);
+            }
+        }
+        if (span.skipAnalysis) {
+            output.writeBool(SPAN_SKIP_ANALYSIS, true);
+        }
+    }
+
+    private static String peerOf(AbstractTracingSpan span) {
+        if (span instanceof StackBasedTracingSpan) {
+            return ((StackBasedTracingSpan) span).peer;
+        }
+        return null;
+    }
+
+    private static int spanTypeOf(AbstractTracingSpan span) {
+        if (span.isEntry()) {
+            return 0;
+        } else if (span.isExit()) {
+            return SPAN_TYPE_EXIT;
+        } else {
+            return SPAN_TYPE_LOCAL;
+        }
+    }
+
+    private static int refSize(TraceSegmentRef ref) {
+        int size = 0;
+        if (TraceSegmentRef.SegmentRefType.CROSS_THREAD.equals(ref.getType())) {
+            size += CodedOutputStream.computeEnumSize(REF_REF_TYPE, REF_TYPE_CROSS_THREAD);
+        }
+        size += stringSize(REF_TRACE_ID, ref.getTraceId());
+        size += stringSize(REF_PARENT_TRACE_SEGMENT_ID, ref.getTraceSegmentId());
+        if (ref.getSpanId() != 0) {
+            size += CodedOutputStream.computeInt32Size(REF_PARENT_SPAN_ID, ref.getSpanId());
+        }
+        size += stringSize(REF_PARENT_SERVICE, ref.getParentService());
+        size += stringSize(REF_PARENT_SERVICE_INSTANCE, ref.getParentServiceInstance());
+        size += stringSize(REF_PARENT_ENDPOINT, ref.getParentEndpoint());
+        size += stringSize(REF_NETWORK_ADDRESS_USED_AT_PEER, ref.getAddressUsedAtClient());
+        return size;
+    }
+
+    private static void writeRef(CodedOutputStream output, TraceSegmentRef ref) throws IOException {
+        if (TraceSegmentRef.SegmentRefType.CROSS_THREAD.equals(ref.getType())) {
+            output.writeEnum(REF_REF_TYPE, REF_TYPE_CROSS_THREAD);
+        }
+        writeString(output, REF_TRACE_ID, ref.getTraceId());
+        writeString(output, REF_PARENT_TRACE_SEGMENT_ID, ref.getTraceSegmentId());
+        if (ref.getSpanId() != 0) {
+            output.writeInt32(REF_PARENT_SPAN_ID, ref.getSpanId());
+        }
+        writeString(output, REF_PARENT_SERVICE, ref.getParentService());
+        writeString(output, REF_PARENT_SERVICE_INSTANCE, ref.getParentServiceInstance());
+        writeString(output, REF_PARENT_ENDPOINT, ref.getParentEndpoint());
+        writeString(output, REF_NETWORK_ADDRESS_USED_AT_PEER, ref.getAddressUsedAtClient());
+    }
+
+    private static int logSize(LogDataEntity log) {
+        int size = 0;
+        if (log.getTimestamp() != 0) {
+            size += CodedOutputStream.computeInt64Size(LOG_TIME, log.getTimestamp());
+        }
+        for (KeyValuePair data : log.getLogs()) {
+            size += messageSize(LOG_DATA, keyValueSize(data.getKey(), data.getValue()));
+        }
+        return size;
+    }
+
+    private static void writeLog(CodedOutputStream output, LogDataEntity log) throws IOException {
+        if (log.getTimestamp() != 0) {
+            output.writeInt64(LOG_TIME, log.getTimestamp());
+        }
+        for (KeyValuePair data : log.getLogs()) {
+            writeKeyValue(output, LOG_DATA, data.getKey(), data.getValue());
+        }
+    }
+
+    private static int keyValueSize(String key, String value) {
+        return stringSize(KEY_VALUE_KEY, key) + stringSize(KEY_VALUE_VALUE, value);
+    }
+
+    private static void writeKeyValue(CodedOutputStream output,
+                                      int fieldNumber,
+                                      String key,
+                                      String value) throws IOException {
+        output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(keyValueSize(key, value));
+        writeString(output, KEY_VALUE_KEY, key);
+        writeString(output, KEY_VALUE_VALUE, value);
+    }
+
+    private static int messageSize(int fieldNumber, int messageSize) {
+        return CodedOutputStream.computeTagSize(fieldNumber)
+            + CodedOutputStream.computeUInt32SizeNoTag(messageSize)
+            + messageSize;
+    }
+
+    private static int stringSize(int fieldNumber, String value) {
+        if (StringUtil.isEmpty(value)) {
+            return 0;
+        }
+        return CodedOutputStream.computeStringSize(fieldNumber, value);
+    }
+
+    private static void writeString(CodedOutputStream output, int fieldNumber, String value) throws IOException {
+        if (StringUtil.isEmpty(value)) {
+            return;
+        }
+        output.writeString(fieldNumber, value);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.trace;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.skywalking.apm.agent.core.context.util.TagValuePair;
+import org.apache.skywalking.apm.util.StringUtil;
+
+/**
+ * Decides whether a finished {@link TraceSegment} must be reported, regardless of the sampling rate, because it is
+ * slow, failed, carries one of the configured tags, or, if enabled, continues a trace of another process.
+ */
+public class TailSamplingPolicy {
+    public enum Reason {
+        LATENCY, ERROR, TAG, CROSS_PROCESS
+    }
+
+    private final long latencyThreshold;
+    private final boolean keepError;
+    private final boolean keepCrossProcess;
+    /**
+     * Tag key to the expected value, null value means any value.
+     */
+    private final Map<String, String> keepTags;
+
+    /**
+     * @param latencyThreshold the min duration in milliseconds of the first span to keep the segment, non-positive
+     *                         means latency is not checked.
+     * @param keepError        keep the segment when any span has error occurred.
+     * @param keepTags         tags to keep the segment, separated by `,`, as `key` or `key=value`.
+     * @param keepCrossProcess keep the segment continuing a trace of another process.
+     */
+    public TailSamplingPolicy(long latencyThreshold, boolean keepError, String keepTags, boolean keepCrossProcess) {
+        this.latencyThreshold = latencyThreshold;
+        this.keepError = keepError;
+        this.keepCrossProcess = keepCrossProcess;
+        this.keepTags = new HashMap<>();
+        if (StringUtil.isNotBlank(keepTags)) {
+            for (String tag : keepTags.split(",")) {
+                int idx = tag.indexOf('=');
+                if (idx < 0) {
+                    this.keepTags.put(tag.trim(), null);
+                } else {
+                    this.keepTags.put(tag.substring(0, idx).trim(), tag.substring(idx + 1).trim());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the reason to keep the segment, or null if it could be sampled out.
+     */
+    public Reason decide(TraceSegment segment) {
+        if (keepCrossProcess) {
+            TraceSegmentRef ref = segment.getRef();
+            if (ref != null && ref.getType() == TraceSegmentRef.SegmentRefType.CROSS_PROCESS) {
+                return Reason.CROSS_PROCESS;
+            }
+        }
+        Reason reason = null;
+        for (AbstractTracingSpan span : segment.getSpans()) {
+            if (keepError && span.errorOccurred) {
+                return Reason.ERROR;
+            }
+            if (reason == null) {
+                if (latencyThreshold > 0 && span.spanId == 0
+                    && span.endTimeMicros - span.startTimeMicros >= latencyThreshold * 1000) {
+                    reason = Reason.LATENCY;
+                } else if (matchTags(span)) {
+                    reason = Reason.TAG;
+                }
+            }
+        }
+        return reason;
+    }
+
+    private boolean matchTags(AbstractTracingSpan span) {
+        if (keepTags.isEmpty() || span.tags == null) {
+            return false;
+        }
+        for (TagValuePair tag : span.tags) {
+            String key = tag.getKey().key();
+            if (keepTags.containsKey(key)) {
+                String expected = keepTags.get(key);
+                if (expected == null || expected.equals(tag.getValue())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the operation name of the first span, which is the endpoint of the segment.
+     */
+    public static String getEndpointName(TraceSegment segment) {
+        for (AbstractTracingSpan span : segment.getSpans()) {
+            if (span.spanId == 0) {
+                return span.operationName;
+            }
+        }
+        return null;
+    }
+
+    public static int getSpanCount(TraceSegment segment) {
+        return segment.getSpans().size();
+    }
+}
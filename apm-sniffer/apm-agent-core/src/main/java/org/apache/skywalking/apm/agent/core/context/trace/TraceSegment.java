@@ -18,10 +18,11 @@
 
 package org.apache.skywalking.apm.agent.core.context.trace;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.ids.DistributedTraceId;
+import org.apache.skywalking.apm.agent.core.context.ids.GlobalId;
 import org.apache.skywalking.apm.agent.core.context.ids.GlobalIdGenerator;
 import org.apache.skywalking.apm.agent.core.context.ids.NewDistributedTraceId;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
@@ -33,9 +34,9 @@ import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
  */
 public class TraceSegment {
     /**
-     * The id of this trace segment. Every segment has its unique-global-id.
+     * The id of this trace segment. Every segment has its unique-global-id, rendered as string when it is used.
      */
-    private String traceSegmentId;
+    private GlobalId traceSegmentId;
 
     /**
      * The refs of parent trace segments, except the primary one. For most RPC call, {@link #ref} contains only one
@@ -65,14 +66,17 @@ public class TraceSegment {
 
     private final long createTime;
 
+    private final SegmentClock clock;
+
     /**
      * Create a default/empty trace segment, with current time as start time, and generate a new segment id.
      */
     public TraceSegment() {
-        this.traceSegmentId = GlobalIdGenerator.generate();
-        this.spans = new LinkedList<>();
+        this.traceSegmentId = GlobalIdGenerator.generateId();
+        this.spans = new ArrayList<>();
         this.relatedGlobalTraceId = new NewDistributedTraceId();
-        this.createTime = System.currentTimeMillis();
+        this.clock = new SegmentClock();
+        this.createTime = clock.getBaseMillis();
     }
 
     /**
@@ -112,7 +116,7 @@ public class TraceSegment {
     }
 
     public String getTraceSegmentId() {
-        return traceSegmentId;
+        return traceSegmentId.getId();
     }
 
     /**
@@ -126,6 +130,14 @@ public class TraceSegment {
         return relatedGlobalTraceId;
     }
 
+    List<AbstractTracingSpan> getSpans() {
+        return spans;
+    }
+
+    boolean isSizeLimited() {
+        return isSizeLimited;
+    }
+
     public boolean isSingleSpanSegment() {
         return this.spans != null && this.spans.size() == 1;
     }
@@ -139,7 +151,8 @@ public class TraceSegment {
     }
 
     /**
-     * This is a high CPU cost method, only called when sending to collector or test cases.
+     * This is a high CPU cost method, only called when sending to collector or test cases. {@link
+     * SegmentObjectSerializer} writes the same bytes without building the {@link SegmentObject}.
      *
      * @return the segment as GRPC service parameter
      */
@@ -149,7 +162,7 @@ public class TraceSegment {
         /*
          * Trace Segment
          */
-        traceSegmentBuilder.setTraceSegmentId(this.traceSegmentId);
+        traceSegmentBuilder.setTraceSegmentId(getTraceSegmentId());
         // Don't serialize TraceSegmentReference
 
         // SpanObject
@@ -171,4 +184,11 @@ public class TraceSegment {
     public long createTime() {
         return this.createTime;
     }
+
+    /**
+     * @return the clock which all span timestamps of this segment are read from.
+     */
+    public SegmentClock getClock() {
+        return clock;
+    }
 }
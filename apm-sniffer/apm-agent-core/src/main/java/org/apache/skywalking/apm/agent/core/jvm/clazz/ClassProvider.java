@@ -25,6 +25,7 @@ import org.apache.skywalking.apm.network.language.agent.v3.Class;
 public enum ClassProvider {
     INSTANCE;
     private final ClassLoadingMXBean classLoadingMXBean;
+    private Class lastClassMetrics;
 
     ClassProvider() {
         this.classLoadingMXBean = ManagementFactory.getClassLoadingMXBean();
@@ -34,7 +35,14 @@ public enum ClassProvider {
         int loadedClassCount = classLoadingMXBean.getLoadedClassCount();
         long totalUnloadedClassCount = classLoadingMXBean.getUnloadedClassCount();
         long totalLoadedClassCount = classLoadingMXBean.getTotalLoadedClassCount();
-        return Class.newBuilder().setLoadedClassCount(loadedClassCount)
+        Class last = lastClassMetrics;
+        if (last != null && last.getLoadedClassCount() == loadedClassCount
+            && last.getTotalUnloadedClassCount() == totalUnloadedClassCount
+            && last.getTotalLoadedClassCount() == totalLoadedClassCount) {
+            // nothing is loaded or unloaded, reuse the message
+            return last;
+        }
+        return lastClassMetrics = Class.newBuilder().setLoadedClassCount(loadedClassCount)
                 .setTotalUnloadedClassCount(totalUnloadedClassCount)
                 .setTotalLoadedClassCount(totalLoadedClassCount)
                 .build();
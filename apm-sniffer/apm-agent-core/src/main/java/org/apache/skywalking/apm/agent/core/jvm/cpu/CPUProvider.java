@@ -44,4 +44,12 @@ public enum CPUProvider {
     public CPU getCpuMetric() {
         return cpuMetricsAccessor.getCPUMetrics();
     }
+
+    /**
+     * @return the CPU time consumed by this process since it started in nanoseconds, or 0 if not supported. Unlike
+     * {@link #getCpuMetric()}, it keeps no state, so it could be read by other watchers at their own interval.
+     */
+    public long getCpuTime() {
+        return cpuMetricsAccessor.getCpuTime();
+    }
 }
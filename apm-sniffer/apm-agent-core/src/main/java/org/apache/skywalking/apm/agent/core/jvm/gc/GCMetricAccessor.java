@@ -23,4 +23,10 @@ import org.apache.skywalking.apm.network.language.agent.v3.GC;
 
 public interface GCMetricAccessor {
     List<GC> getGCList();
+
+    /**
+     * @return the accumulated time of the collectors reported by {@link #getGCList()} in milliseconds, excluding the
+     * concurrent cycles running along with the application. Unlike {@link #getGCList()}, it keeps no state.
+     */
+    long getCollectionTime();
 }
@@ -22,11 +22,17 @@ import org.apache.skywalking.apm.network.language.agent.v3.GC;
 import org.apache.skywalking.apm.network.language.agent.v3.GCPhase;
 
 import java.lang.management.GarbageCollectorMXBean;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 public abstract class GCModule implements GCMetricAccessor {
     private List<GarbageCollectorMXBean> beans;
+    /**
+     * The young and old collectors found in {@link #beans} at the first collection.
+     */
+    private GarbageCollectorMXBean newGCBean;
+    private GarbageCollectorMXBean oldGCBean;
+    private volatile boolean resolved = false;
 
     private long lastOGCCount = 0;
     private long lastYGCCount = 0;
@@ -39,40 +45,62 @@ public abstract class GCModule implements GCMetricAccessor {
 
     @Override
     public List<GC> getGCList() {
-        List<GC> gcList = new LinkedList<GC>();
-        for (GarbageCollectorMXBean bean : beans) {
-            String name = bean.getName();
-            GCPhase phase;
-            long gcCount = 0;
-            long gcTime = 0;
-            if (name.equals(getNewGCName())) {
-                phase = GCPhase.NEW;
-                long collectionCount = bean.getCollectionCount();
-                gcCount = collectionCount - lastYGCCount;
-                lastYGCCount = collectionCount;
-
-                long time = bean.getCollectionTime();
-                gcTime = time - lastYGCCollectionTime;
-                lastYGCCollectionTime = time;
-            } else if (name.equals(getOldGCName())) {
-                phase = GCPhase.OLD;
-                long collectionCount = bean.getCollectionCount();
-                gcCount = collectionCount - lastOGCCount;
-                lastOGCCount = collectionCount;
-
-                long time = bean.getCollectionTime();
-                gcTime = time - lastOGCCollectionTime;
-                lastOGCCollectionTime = time;
-            } else {
-                continue;
-            }
+        resolve();
+
+        List<GC> gcList = new ArrayList<GC>(2);
+        if (newGCBean != null) {
+            long collectionCount = newGCBean.getCollectionCount();
+            long gcCount = collectionCount - lastYGCCount;
+            lastYGCCount = collectionCount;
+
+            long time = newGCBean.getCollectionTime();
+            long gcTime = time - lastYGCCollectionTime;
+            lastYGCCollectionTime = time;
+
+            gcList.add(GC.newBuilder().setPhase(GCPhase.NEW).setCount(gcCount).setTime(gcTime).build());
+        }
+        if (oldGCBean != null) {
+            long collectionCount = oldGCBean.getCollectionCount();
+            long gcCount = collectionCount - lastOGCCount;
+            lastOGCCount = collectionCount;
+
+            long time = oldGCBean.getCollectionTime();
+            long gcTime = time - lastOGCCollectionTime;
+            lastOGCCollectionTime = time;
 
-            gcList.add(GC.newBuilder().setPhase(phase).setCount(gcCount).setTime(gcTime).build());
+            gcList.add(GC.newBuilder().setPhase(GCPhase.OLD).setCount(gcCount).setTime(gcTime).build());
         }
 
         return gcList;
     }
 
+    @Override
+    public long getCollectionTime() {
+        resolve();
+        long time = 0;
+        if (newGCBean != null) {
+            time += Math.max(0, newGCBean.getCollectionTime());
+        }
+        if (oldGCBean != null) {
+            time += Math.max(0, oldGCBean.getCollectionTime());
+        }
+        return time;
+    }
+
+    private void resolve() {
+        if (!resolved) {
+            for (GarbageCollectorMXBean bean : beans) {
+                String name = bean.getName();
+                if (name.equals(getNewGCName())) {
+                    newGCBean = bean;
+                } else if (name.equals(getOldGCName())) {
+                    oldGCBean = bean;
+                }
+            }
+            resolved = true;
+        }
+    }
+
     protected abstract String getOldGCName();
 
     protected abstract String getNewGCName();
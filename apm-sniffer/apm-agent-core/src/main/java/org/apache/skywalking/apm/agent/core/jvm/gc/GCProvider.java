@@ -49,6 +49,14 @@ public enum GCProvider {
         return metricAccessor.getGCList();
     }
 
+    /**
+     * @return the accumulated pause time of the young and old collectors in milliseconds. Unlike {@link
+     * #getGCList()}, it keeps no state, so it could be read by other watchers at their own interval.
+     */
+    public long getCollectionTime() {
+        return metricAccessor.getCollectionTime();
+    }
+
     private GCMetricAccessor findByBeanName(String name) {
         if (name.indexOf("PS") > -1) {
             //Parallel (Old) collector ( -XX:+UseParallelOldGC )
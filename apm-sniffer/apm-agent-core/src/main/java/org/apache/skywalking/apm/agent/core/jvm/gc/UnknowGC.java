@@ -31,4 +31,9 @@ public class UnknowGC implements GCMetricAccessor {
         gcList.add(GC.newBuilder().setPhase(GCPhase.OLD).build());
         return gcList;
     }
+
+    @Override
+    public long getCollectionTime() {
+        return 0;
+    }
 }
@@ -66,4 +66,16 @@ public class ZGCModule implements GCMetricAccessor {
 
         return gcList;
     }
+
+    @Override
+    public long getCollectionTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean bean : beans) {
+            // the pauses only, the "ZGC" and "ZGC Cycles" beans count the concurrent cycles
+            if (bean.getName().endsWith("Pauses")) {
+                time += Math.max(0, bean.getCollectionTime());
+            }
+        }
+        return time;
+    }
 }
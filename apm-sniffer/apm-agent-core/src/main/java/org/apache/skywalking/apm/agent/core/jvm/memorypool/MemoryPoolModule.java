@@ -20,13 +20,18 @@ package org.apache.skywalking.apm.agent.core.jvm.memorypool;
 
 import java.lang.management.MemoryPoolMXBean;
 import java.lang.management.MemoryUsage;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import org.apache.skywalking.apm.network.language.agent.v3.MemoryPool;
 import org.apache.skywalking.apm.network.language.agent.v3.PoolType;
 
 public abstract class MemoryPoolModule implements MemoryPoolMetricsAccessor {
     private List<MemoryPoolMXBean> beans;
+    /**
+     * The beans of the known pools and their types, matched by name at the first collection.
+     */
+    private MemoryPoolMXBean[] poolBeans;
+    private PoolType[] poolTypes;
 
     public MemoryPoolModule(List<MemoryPoolMXBean> beans) {
         this.beans = beans;
@@ -34,7 +39,26 @@ public abstract class MemoryPoolModule implements MemoryPoolMetricsAccessor {
 
     @Override
     public List<MemoryPool> getMemoryPoolMetricsList() {
-        List<MemoryPool> poolList = new LinkedList<MemoryPool>();
+        if (poolBeans == null) {
+            resolvePools();
+        }
+        List<MemoryPool> poolList = new ArrayList<MemoryPool>(poolBeans.length);
+        for (int i = 0; i < poolBeans.length; i++) {
+            MemoryUsage usage = poolBeans[i].getUsage();
+            poolList.add(MemoryPool.newBuilder()
+                                   .setType(poolTypes[i])
+                                   .setInit(usage.getInit())
+                                   .setMax(usage.getMax())
+                                   .setCommitted(usage.getCommitted())
+                                   .setUsed(usage.getUsed())
+                                   .build());
+        }
+        return poolList;
+    }
+
+    private void resolvePools() {
+        List<MemoryPoolMXBean> knownBeans = new ArrayList<MemoryPoolMXBean>(beans.size());
+        List<PoolType> knownTypes = new ArrayList<PoolType>(beans.size());
         for (MemoryPoolMXBean bean : beans) {
             String name = bean.getName();
             PoolType type;
@@ -53,17 +77,11 @@ public abstract class MemoryPoolModule implements MemoryPoolMetricsAccessor {
             } else {
                 continue;
             }
-
-            MemoryUsage usage = bean.getUsage();
-            poolList.add(MemoryPool.newBuilder()
-                                   .setType(type)
-                                   .setInit(usage.getInit())
-                                   .setMax(usage.getMax())
-                                   .setCommitted(usage.getCommitted())
-                                   .setUsed(usage.getUsed())
-                                   .build());
+            knownBeans.add(bean);
+            knownTypes.add(type);
         }
-        return poolList;
+        poolTypes = knownTypes.toArray(new PoolType[0]);
+        poolBeans = knownBeans.toArray(new MemoryPoolMXBean[0]);
     }
 
     private boolean contains(String[] possibleNames, String name) {
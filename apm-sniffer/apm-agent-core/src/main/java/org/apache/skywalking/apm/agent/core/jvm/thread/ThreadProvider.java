@@ -19,16 +19,29 @@
 package org.apache.skywalking.apm.agent.core.jvm.thread;
 
 import java.lang.management.ManagementFactory;
-import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
 import org.apache.skywalking.apm.network.language.agent.v3.Thread;
 
+/**
+ * Counts the threads by states through {@link java.lang.Thread#getState()} of the threads enumerated from the root
+ * {@link ThreadGroup} into a reused array, instead of {@link ThreadMXBean#getThreadInfo(long[], int)}, which allocates
+ * one {@link java.lang.management.ThreadInfo} per thread and costs milliseconds on JVMs with thousands of threads. It is
+ * only called by the single JVM metrics collecting thread.
+ */
 public enum ThreadProvider {
     INSTANCE;
     private final ThreadMXBean threadMXBean;
+    private final ThreadGroup rootThreadGroup;
+    private java.lang.Thread[] threads = new java.lang.Thread[256];
+    private Thread lastThreadMetrics;
 
     ThreadProvider() {
         this.threadMXBean = ManagementFactory.getThreadMXBean();
+        ThreadGroup group = java.lang.Thread.currentThread().getThreadGroup();
+        while (group.getParent() != null) {
+            group = group.getParent();
+        }
+        this.rootThreadGroup = group;
     }
 
     public Thread getThreadMetrics() {
@@ -37,35 +50,45 @@ public enum ThreadProvider {
         int waitingStateThreadCount = 0;
         int timedWaitingStateThreadCount = 0;
 
-        ThreadInfo[] threadInfos = threadMXBean.getThreadInfo(threadMXBean.getAllThreadIds(), 0);
-        if (threadInfos != null) {
-            for (ThreadInfo threadInfo : threadInfos) {
-                if (threadInfo == null) {
-                    continue;
-                }
-                switch (threadInfo.getThreadState()) {
-                    case RUNNABLE:
-                        runnableStateThreadCount++;
-                        break;
-                    case BLOCKED:
-                        blockedStateThreadCount++;
-                        break;
-                    case WAITING:
-                        waitingStateThreadCount++;
-                        break;
-                    case TIMED_WAITING:
-                        timedWaitingStateThreadCount++;
-                        break;
-                    default:
-                        break;
-                    }
+        int size;
+        // the array is full, some threads may be missed
+        while ((size = rootThreadGroup.enumerate(threads, true)) == threads.length) {
+            threads = new java.lang.Thread[threads.length * 2];
+        }
+        for (int i = 0; i < size; i++) {
+            switch (threads[i].getState()) {
+                case RUNNABLE:
+                    runnableStateThreadCount++;
+                    break;
+                case BLOCKED:
+                    blockedStateThreadCount++;
+                    break;
+                case WAITING:
+                    waitingStateThreadCount++;
+                    break;
+                case TIMED_WAITING:
+                    timedWaitingStateThreadCount++;
+                    break;
+                default:
+                    break;
             }
+            // don't keep the terminated threads reachable
+            threads[i] = null;
         }
 
         int threadCount = threadMXBean.getThreadCount();
         int daemonThreadCount = threadMXBean.getDaemonThreadCount();
         int peakThreadCount = threadMXBean.getPeakThreadCount();
-        return Thread.newBuilder().setLiveCount(threadCount)
+        Thread last = lastThreadMetrics;
+        if (last != null && last.getLiveCount() == threadCount && last.getDaemonCount() == daemonThreadCount
+            && last.getPeakCount() == peakThreadCount
+            && last.getRunnableStateThreadCount() == runnableStateThreadCount
+            && last.getBlockedStateThreadCount() == blockedStateThreadCount
+            && last.getWaitingStateThreadCount() == waitingStateThreadCount
+            && last.getTimedWaitingStateThreadCount() == timedWaitingStateThreadCount) {
+            return last;
+        }
+        return lastThreadMetrics = Thread.newBuilder().setLiveCount(threadCount)
                 .setDaemonCount(daemonThreadCount)
                 .setPeakCount(peakThreadCount)
                 .setRunnableStateThreadCount(runnableStateThreadCount)
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.meter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+
+/**
+ * The built-in meters of the agent itself, describing the tracing pipeline from the span creation to the report. They
+ * are always counted, as the counters are striped {@link java.util.concurrent.atomic.DoubleAdder}s, and registered into
+ * {@link MeterService} to be reported with the user meters.
+ */
+public final class AgentMeters {
+    private static final List<Double> LATENCY_STEPS = Arrays.asList(
+        0d, 5d, 10d, 25d, 50d, 100d, 250d, 500d, 1000d, 2500d, 5000d, 10000d);
+
+    /**
+     * All created meters, registered into the {@link MeterService} once it is booted.
+     */
+    private static final List<BaseMeter> METERS = new CopyOnWriteArrayList<>();
+
+    private static volatile MeterService SERVICE;
+
+    public static final Counter CREATED_SPANS = counter("agent_created_spans", CounterMode.RATE);
+    public static final Counter FINISHED_SEGMENTS = counter("agent_finished_segments", CounterMode.RATE);
+    public static final Counter SAMPLED_CONTEXTS = counter(
+        "agent_created_contexts", CounterMode.RATE, new MeterTag("sampled", "true"));
+    public static final Counter IGNORED_CONTEXTS = counter(
+        "agent_created_contexts", CounterMode.RATE, new MeterTag("sampled", "false"));
+
+    private static final Map<String, DataCarrier<?>> CARRIERS = new ConcurrentHashMap<>();
+    private static final Map<String, Counter> DROPPED = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> CONSUME_LATENCY = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> STREAM_LATENCY = new ConcurrentHashMap<>();
+    private static final Map<String, Counter> INTERCEPTOR_ERRORS = new ConcurrentHashMap<>();
+    private static final Map<String, String> INTERCEPTOR_PLUGINS = new ConcurrentHashMap<>();
+
+    private AgentMeters() {
+    }
+
+    /**
+     * Report the occupancy of the given channel. Watching the same channel again replaces the carrier, as the
+     * reporters create a new one when they are booted again.
+     */
+    public static void watch(String channel, DataCarrier<?> carrier) {
+        if (CARRIERS.put(channel, carrier) == null) {
+            add(new Gauge(
+                new MeterId("agent_buffer_occupancy", MeterType.GAUGE,
+                            Collections.singletonList(new MeterTag("channel", channel))),
+                () -> {
+                    DataCarrier<?> current = CARRIERS.get(channel);
+                    return current == null ? 0d : (double) current.getBufferedCount();
+                }
+            ));
+        }
+    }
+
+    /**
+     * The data could not be produced into the channel, and is abandoned.
+     */
+    public static void dropped(String channel) {
+        DROPPED.computeIfAbsent(channel, c -> counter(
+            "agent_buffer_dropped", CounterMode.INCREMENT, new MeterTag("channel", c))).increment(1);
+    }
+
+    /**
+     * A batch of the channel has been consumed, which started at the given time in milliseconds.
+     */
+    public static void consumed(String channel, long startTime) {
+        CONSUME_LATENCY.computeIfAbsent(channel, c -> histogram("agent_consume_latency_ms", new MeterTag("channel", c)))
+                       .addValue(System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * A gRPC stream of the service has been completed, which started at the given time in milliseconds.
+     */
+    public static void streamed(String service, long startTime) {
+        STREAM_LATENCY.computeIfAbsent(service, s -> histogram("agent_grpc_stream_latency_ms", new MeterTag("service", s)))
+                      .addValue(System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * @return the occupancy of the fullest watched channel, from 0 to 1.
+     */
+    public static double getBufferOccupancy() {
+        double occupancy = 0;
+        for (DataCarrier<?> carrier : CARRIERS.values()) {
+            long capacity = carrier.getCapacity();
+            if (capacity > 0) {
+                occupancy = Math.max(occupancy, (double) carrier.getBufferedCount() / capacity);
+            }
+        }
+        return occupancy;
+    }
+
+    /**
+     * @return the number of the data dropped by the channel since the agent started.
+     */
+    public static double getDroppedCount(String channel) {
+        Counter counter = DROPPED.get(channel);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * Report the value of the getter, as a meter of the agent itself.
+     */
+    public static void gauge(String name, Supplier<Double> getter) {
+        add(new Gauge(new MeterId(name, MeterType.GAUGE, Collections.emptyList()), getter));
+    }
+
+    /**
+     * Bind the interceptor to the plugin defining it, for {@link #interceptorError(Object)}.
+     */
+    public static void registerInterceptor(String interceptorClassName, String pluginName) {
+        if (interceptorClassName != null && pluginName != null) {
+            INTERCEPTOR_PLUGINS.putIfAbsent(interceptorClassName, pluginName);
+        }
+    }
+
+    /**
+     * The interceptor threw an exception, which has been caught and logged by the dispatcher.
+     */
+    public static void interceptorError(Object interceptor) {
+        String plugin = interceptor == null ? null : INTERCEPTOR_PLUGINS.get(interceptor.getClass().getName());
+        if (plugin == null) {
+            plugin = "unknown";
+        }
+        INTERCEPTOR_ERRORS.computeIfAbsent(plugin, p -> counter(
+            "agent_interceptor_errors", CounterMode.INCREMENT, new MeterTag("plugin", p))).increment(1);
+    }
+
+    /**
+     * Register all existing meters, and the ones created later, into the service.
+     */
+    static synchronized void register(MeterService service) {
+        SERVICE = service;
+        for (BaseMeter meter : METERS) {
+            service.register(meter);
+        }
+    }
+
+    static synchronized void unregister() {
+        SERVICE = null;
+    }
+
+    private static Counter counter(String name, CounterMode mode, MeterTag... tags) {
+        return add(new Counter(new MeterId(name, MeterType.COUNTER, Arrays.asList(tags)), mode));
+    }
+
+    private static Histogram histogram(String name, MeterTag tag) {
+        return add(new Histogram(
+            new MeterId(name, MeterType.HISTOGRAM, Collections.singletonList(tag)), LATENCY_STEPS));
+    }
+
+    private static synchronized <T extends BaseMeter> T add(T meter) {
+        METERS.add(meter);
+        if (SERVICE != null) {
+            SERVICE.register(meter);
+        }
+        return meter;
+    }
+}
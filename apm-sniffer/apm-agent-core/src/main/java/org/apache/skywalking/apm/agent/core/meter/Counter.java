@@ -22,7 +22,7 @@ import org.apache.skywalking.apm.network.language.agent.v3.MeterData;
 import org.apache.skywalking.apm.network.language.agent.v3.MeterSingleValue;
 
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.DoubleAdder;
 
 /**
@@ -32,7 +32,10 @@ public class Counter extends BaseMeter {
 
     protected final DoubleAdder count;
     protected final CounterMode mode;
-    private final AtomicReference<Double> previous = new AtomicReference();
+    /**
+     * The raw bits of the value reported last time, in RATE mode.
+     */
+    private final AtomicLong previous = new AtomicLong(Double.doubleToRawLongBits(0d));
 
     public Counter(MeterId meterId, CounterMode mode) {
         super(meterId);
@@ -54,14 +57,11 @@ public class Counter extends BaseMeter {
         final double currentValue = get();
         double count;
         if (Objects.equals(mode, CounterMode.RATE)) {
-            final Double previousValue = previous.getAndSet(currentValue);
+            final double previousValue = Double.longBitsToDouble(
+                previous.getAndSet(Double.doubleToRawLongBits(currentValue)));
 
             // calculate the add count
-            if (previousValue == null) {
-                count = currentValue;
-            } else {
-                count = currentValue - previousValue;
-            }
+            count = currentValue - previousValue;
         } else {
             count = currentValue;
         }
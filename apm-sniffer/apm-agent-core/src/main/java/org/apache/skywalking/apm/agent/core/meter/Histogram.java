@@ -19,10 +19,9 @@
 package org.apache.skywalking.apm.agent.core.meter;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.stream.Collectors;
 import org.apache.skywalking.apm.network.language.agent.v3.MeterBucketValue;
 import org.apache.skywalking.apm.network.language.agent.v3.MeterData;
@@ -32,9 +31,24 @@ import org.apache.skywalking.apm.network.language.agent.v3.MeterHistogram;
  * Histogram represents the distribution of data. It includes the buckets representing continuous ranges of values, with
  * the num of collected values in every specific range. The ranges could start from any value(default 0) to positive
  * infinitive. They can be set through the constructor and immutable after that.
+ * <p>
+ * The counts are striped, every stripe keeps one row of bucket counts on its own cache lines, and the recording
+ * thread picks the stripe by its id, so the threads don't contend on the same counter. The bucket index is computed
+ * directly when the steps are linear or doubling, instead of the binary search.
  */
 public class Histogram extends BaseMeter {
+    private static final int MAX_STRIPES = 8;
+    /**
+     * Longs of one cache line, padding the rows of the stripes.
+     */
+    private static final int PADDING = 8;
+
     protected final Bucket[] buckets;
+    private final double[] bounds;
+    private final BucketLocator locator;
+    private final int stripeMask;
+    private final int stride;
+    private final AtomicLongArray counts;
 
     /**
      * @param meterId as the unique id of this meter instance
@@ -43,41 +57,92 @@ public class Histogram extends BaseMeter {
     public Histogram(MeterId meterId, List<Double> steps) {
         super(meterId);
         this.buckets = initBuckets(steps);
+        this.bounds = new double[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            bounds[i] = buckets[i].bucket;
+        }
+        this.locator = BucketLocator.of(bounds);
+
+        int stripes = 1;
+        int limit = Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors());
+        while (stripes * 2 <= limit) {
+            stripes *= 2;
+        }
+        this.stripeMask = stripes - 1;
+        this.stride = (bounds.length + PADDING - 1) / PADDING * PADDING + PADDING;
+        this.counts = new AtomicLongArray(PADDING + stripes * stride);
     }
 
     /**
      * Add value into the histogram, automatic analyze what bucket count need to be increment [step1, step2)
      */
     public void addValue(double value) {
-        Bucket bucket = findBucket(value);
-        if (bucket == null) {
+        int index = findBucket(value);
+        if (index < 0) {
             return;
         }
+        int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        counts.getAndIncrement(PADDING + stripe * stride + index);
+    }
 
-        bucket.increment(1L);
+    /**
+     * @return the index of the bucket [step(index), step(index + 1)) including the value, or -1 if the value is less
+     * than the min value.
+     */
+    int findBucket(double value) {
+        if (!(value >= bounds[0])) {
+            return -1;
+        }
+        int index = locator.locate(bounds, value);
+        // The computed index could be off by one because of the floating point error.
+        while (index + 1 < bounds.length && bounds[index + 1] <= value) {
+            index++;
+        }
+        while (index > 0 && bounds[index] > value) {
+            index--;
+        }
+        return index;
     }
 
     /**
-     * Using binary search the bucket
+     * @return the count of the bucket, summed from all stripes.
      */
-    private Bucket findBucket(double value) {
-        int low = 0;
-        int high = buckets.length - 1;
+    public long getCount(int index) {
+        long count = 0;
+        for (int stripe = 0; stripe <= stripeMask; stripe++) {
+            count += counts.get(PADDING + stripe * stride + index);
+        }
+        return count;
+    }
 
-        while (low <= high) {
-            int mid = (low + high) / 2;
-            if (buckets[mid].bucket < value)
-                low = mid + 1;
-            else if (buckets[mid].bucket > value)
-                high = mid - 1;
-            else
-                return buckets[mid];
+    /**
+     * Copy the count of every bucket into the given array, which length must be the bucket count at least.
+     */
+    public void snapshot(long[] bucketCounts) {
+        for (int i = 0; i < bounds.length; i++) {
+            bucketCounts[i] = getCount(i);
         }
+    }
 
-        // because using min value as bucket, need using previous bucket
-        low -= 1;
+    /**
+     * Move the count of every bucket into the given array, and reset the counts to zero. The values added meanwhile
+     * are never lost, they are either in this snapshot or in the next one.
+     */
+    public void snapshotAndReset(long[] bucketCounts) {
+        for (int i = 0; i < bounds.length; i++) {
+            long count = 0;
+            for (int stripe = 0; stripe <= stripeMask; stripe++) {
+                count += counts.getAndSet(PADDING + stripe * stride + i, 0);
+            }
+            bucketCounts[i] = count;
+        }
+    }
 
-        return low < buckets.length && low >= 0 ? buckets[low] : null;
+    /**
+     * @return the count of buckets
+     */
+    public int getBucketCount() {
+        return bounds.length;
     }
 
     private Bucket[] initBuckets(List<Double> steps) {
@@ -88,15 +153,13 @@ public class Histogram extends BaseMeter {
     public MeterData.Builder transform() {
         final MeterData.Builder builder = MeterData.newBuilder();
 
-        // get all values
-        List<MeterBucketValue> values = Arrays.stream(buckets)
-                                              .map(Histogram.Bucket::transform).collect(Collectors.toList());
-
-        return builder.setHistogram(MeterHistogram.newBuilder()
-                                                  .setName(getName())
-                                                  .addAllLabels(transformTags())
-                                                  .addAllValues(values)
-                                                  .build());
+        final MeterHistogram.Builder histogram = MeterHistogram.newBuilder()
+                                                               .setName(getName())
+                                                               .addAllLabels(transformTags());
+        for (int i = 0; i < buckets.length; i++) {
+            histogram.addValues(buckets[i].transform(getCount(i)));
+        }
+        return builder.setHistogram(histogram.build());
     }
 
     public static class Builder extends AbstractBuilder<Builder, Histogram> {
@@ -153,24 +216,19 @@ public class Histogram extends BaseMeter {
     }
 
     /**
-     * Histogram bucket
+     * Histogram bucket, the min value of the range. The count is kept by the {@link Histogram}.
      */
     protected static class Bucket {
         protected double bucket;
-        protected AtomicLong count = new AtomicLong();
 
         public Bucket(double bucket) {
             this.bucket = bucket;
         }
 
-        public void increment(long count) {
-            this.count.addAndGet(count);
-        }
-
-        public MeterBucketValue transform() {
+        public MeterBucketValue transform(long count) {
             return MeterBucketValue.newBuilder()
                                    .setBucket(bucket)
-                                   .setCount(count.get())
+                                   .setCount(count)
                                    .build();
         }
 
@@ -189,4 +247,58 @@ public class Histogram extends BaseMeter {
             return Objects.hash(bucket);
         }
     }
+
+    /**
+     * Guess the bucket index of a value, corrected by {@link #findBucket(double)}.
+     */
+    private interface BucketLocator {
+        /**
+         * Binary search, for any steps.
+         */
+        BucketLocator SEARCH = (bounds, value) -> {
+            int low = 0;
+            int high = bounds.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (bounds[mid] < value) {
+                    low = mid + 1;
+                } else if (bounds[mid] > value) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            // because using min value as bucket, need using previous bucket
+            return low - 1;
+        };
+
+        int locate(double[] bounds, double value);
+
+        /**
+         * The steps after the min value could be linear, or doubling from a positive step, the index of those is
+         * computed directly.
+         */
+        static BucketLocator of(double[] bounds) {
+            if (bounds.length < 4) {
+                return SEARCH;
+            }
+            final double first = bounds[1];
+            final double diff = bounds[2] - bounds[1];
+            boolean linear = diff > 0;
+            boolean doubling = first > 0;
+            for (int i = 2; i < bounds.length; i++) {
+                linear = linear && Math.abs(bounds[i] - bounds[i - 1] - diff) <= diff * 1e-9;
+                doubling = doubling && bounds[i] == bounds[i - 1] * 2;
+            }
+            final int last = bounds.length - 1;
+            if (linear) {
+                return (b, value) -> value < first ? 0 : (int) Math.min(last, 1 + (long) ((value - first) / diff));
+            }
+            if (doubling) {
+                return (b, value) -> value < first
+                    ? 0 : Math.min(last, 1 + Math.getExponent(value / first));
+            }
+            return SEARCH;
+        }
+    }
 }
@@ -63,6 +63,7 @@ public class MeterSender implements BootService, GRPCChannelListener {
 
     public void send(Map<MeterId, BaseMeter> meterMap, MeterService meterService) {
         if (status == GRPCChannelStatus.CONNECTED) {
+            final long startTime = System.currentTimeMillis();
             StreamObserver<MeterData> reportStreamObserver = null;
             final GRPCStreamServiceStatus status = new GRPCStreamServiceStatus(false);
             try {
@@ -106,6 +107,7 @@ public class MeterSender implements BootService, GRPCChannelListener {
                     reportStreamObserver.onCompleted();
                 }
                 status.wait4Finish();
+                AgentMeters.streamed("MeterReportService", startTime);
             }
         }
     }
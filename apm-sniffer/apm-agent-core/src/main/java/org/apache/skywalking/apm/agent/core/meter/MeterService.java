@@ -73,6 +73,9 @@ public class MeterService implements BootService, Runnable {
     @Override
     public void boot() {
         if (Config.Meter.ACTIVE) {
+            if (Config.Meter.AGENT_METERS_ACTIVE) {
+                AgentMeters.register(this);
+            }
             reportMeterFuture = Executors.newSingleThreadScheduledExecutor(
                 new DefaultNamedThreadFactory("MeterReportService")
             ).scheduleWithFixedDelay(new RunnableWithExceptionProtection(
@@ -88,6 +91,7 @@ public class MeterService implements BootService, Runnable {
 
     @Override
     public void shutdown() {
+        AgentMeters.unregister();
         if (reportMeterFuture != null) {
             reportMeterFuture.cancel(true);
         }
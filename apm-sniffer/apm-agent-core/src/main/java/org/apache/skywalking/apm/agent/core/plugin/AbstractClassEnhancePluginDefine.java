@@ -48,6 +48,11 @@ public abstract class AbstractClassEnhancePluginDefine {
      */
     public static final String CONTEXT_ATTR_NAME = "_$EnhancedClassField_ws";
 
+    /**
+     * The name of the plugin declaring this define in its <code>skywalking-plugin.def</code>.
+     */
+    private String pluginName;
+
     /**
      * Main entrance of enhancing the class.
      *
@@ -165,6 +170,17 @@ public abstract class AbstractClassEnhancePluginDefine {
         return false;
     }
 
+    /**
+     * @return the name of the plugin, or the class name of this define if it isn't loaded from a plugin definition.
+     */
+    public String getPluginName() {
+        return pluginName == null ? getClass().getName() : pluginName;
+    }
+
+    void setPluginName(String pluginName) {
+        this.pluginName = pluginName;
+    }
+
     /**
      * Constructor methods intercept point. See {@link ConstructorInterceptPoint}
      *
@@ -20,6 +20,7 @@ package org.apache.skywalking.apm.agent.core.plugin;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +30,7 @@ import net.bytebuddy.matcher.ElementMatcher;
 import org.apache.skywalking.apm.agent.core.plugin.bytebuddy.AbstractJunction;
 import org.apache.skywalking.apm.agent.core.plugin.match.ClassMatch;
 import org.apache.skywalking.apm.agent.core.plugin.match.IndirectMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.IndirectMatchIndex;
 import org.apache.skywalking.apm.agent.core.plugin.match.NameMatch;
 import org.apache.skywalking.apm.agent.core.plugin.match.ProtectiveShieldMatcher;
 
@@ -42,11 +44,14 @@ import static net.bytebuddy.matcher.ElementMatchers.not;
 public class PluginFinder {
     private final Map<String, LinkedList<AbstractClassEnhancePluginDefine>> nameMatchDefine = new HashMap<String, LinkedList<AbstractClassEnhancePluginDefine>>();
     private final List<AbstractClassEnhancePluginDefine> signatureMatchDefine = new ArrayList<AbstractClassEnhancePluginDefine>();
+    private final IndirectMatchIndex<AbstractClassEnhancePluginDefine> signatureMatchIndex = new IndirectMatchIndex<AbstractClassEnhancePluginDefine>();
     private final List<AbstractClassEnhancePluginDefine> bootstrapClassMatchDefine = new ArrayList<AbstractClassEnhancePluginDefine>();
+    private final List<String> pluginDefineNames = new ArrayList<String>();
     private static boolean IS_PLUGIN_INIT_COMPLETED = false;
 
     public PluginFinder(List<AbstractClassEnhancePluginDefine> plugins) {
         for (AbstractClassEnhancePluginDefine plugin : plugins) {
+            pluginDefineNames.add(plugin.getClass().getName());
             ClassMatch match = plugin.enhanceClass();
 
             if (match == null) {
@@ -63,6 +68,9 @@ public class PluginFinder {
                 pluginDefines.add(plugin);
             } else {
                 signatureMatchDefine.add(plugin);
+                if (match instanceof IndirectMatch) {
+                    signatureMatchIndex.add((IndirectMatch) match, plugin);
+                }
             }
 
             if (plugin.isBootstrapInstrumentation()) {
@@ -78,7 +86,7 @@ public class PluginFinder {
             matchedPlugins.addAll(nameMatchDefine.get(typeName));
         }
 
-        for (AbstractClassEnhancePluginDefine pluginDefine : signatureMatchDefine) {
+        for (AbstractClassEnhancePluginDefine pluginDefine : signatureMatchIndex.candidates(typeDescription)) {
             IndirectMatch match = (IndirectMatch) pluginDefine.enhanceClass();
             if (match.isMatch(typeDescription)) {
                 matchedPlugins.add(pluginDefine);
@@ -96,12 +104,27 @@ public class PluginFinder {
             }
         };
         judge = judge.and(not(isInterface()));
+        final Map<AbstractClassEnhancePluginDefine, ElementMatcher<? super TypeDescription>> signatureJunctions = new IdentityHashMap<AbstractClassEnhancePluginDefine, ElementMatcher<? super TypeDescription>>();
         for (AbstractClassEnhancePluginDefine define : signatureMatchDefine) {
             ClassMatch match = define.enhanceClass();
             if (match instanceof IndirectMatch) {
-                judge = judge.or(((IndirectMatch) match).buildJunction());
+                signatureJunctions.put(define, ((IndirectMatch) match).buildJunction());
             }
         }
+        if (!signatureJunctions.isEmpty()) {
+            // only the candidates from the index are checked, rather than every signature match
+            judge = judge.or(new AbstractJunction<TypeDescription>() {
+                @Override
+                public boolean matches(TypeDescription target) {
+                    for (AbstractClassEnhancePluginDefine define : signatureMatchIndex.candidates(target)) {
+                        if (signatureJunctions.get(define).matches(target)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+            });
+        }
         return new ProtectiveShieldMatcher(judge);
     }
 
@@ -109,6 +132,13 @@ public class PluginFinder {
         return bootstrapClassMatchDefine;
     }
 
+    /**
+     * @return the class names of all loaded plugin defines, in the loading order.
+     */
+    public List<String> getPluginDefineNames() {
+        return pluginDefineNames;
+    }
+
     public static void pluginInitCompleted() {
         IS_PLUGIN_INIT_COMPLETED = true;
     }
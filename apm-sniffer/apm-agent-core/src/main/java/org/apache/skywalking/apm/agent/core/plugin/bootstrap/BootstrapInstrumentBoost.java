@@ -66,6 +66,8 @@ public class BootstrapInstrumentBoost {
         "org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance",
         "org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.OverrideCallable",
         "org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResult",
+        "org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResultStack",
+        "org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.ParameterTypesCache",
 
         // interceptor v2
         "org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.v2.InstanceMethodsAroundInterceptorV2",
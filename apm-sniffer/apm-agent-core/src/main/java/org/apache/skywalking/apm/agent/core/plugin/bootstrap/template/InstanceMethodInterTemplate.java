@@ -30,6 +30,8 @@ import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.Bootstrap
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InstanceMethodsAroundInterceptor;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResult;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResultStack;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.ParameterTypesCache;
 
 /**
  * --------CLASS TEMPLATE---------
@@ -49,6 +51,7 @@ public class InstanceMethodInterTemplate {
 
     private static InstanceMethodsAroundInterceptor INTERCEPTOR;
     private static IBootstrapLog LOGGER;
+    private static final ParameterTypesCache PARAMETER_TYPES_CACHE = new ParameterTypesCache();
 
     /**
      * Intercept the target instance method.
@@ -68,10 +71,12 @@ public class InstanceMethodInterTemplate {
 
         prepare();
 
-        MethodInterceptResult result = new MethodInterceptResult();
+        Class<?>[] parameterTypes = PARAMETER_TYPES_CACHE.get(method);
+        MethodInterceptResultStack results = MethodInterceptResultStack.current();
+        MethodInterceptResult result = results.push();
         try {
             if (INTERCEPTOR != null) {
-                INTERCEPTOR.beforeMethod(targetObject, method, allArguments, method.getParameterTypes(), result);
+                INTERCEPTOR.beforeMethod(targetObject, method, allArguments, parameterTypes, result);
             }
         } catch (Throwable t) {
             if (LOGGER != null) {
@@ -79,17 +84,18 @@ public class InstanceMethodInterTemplate {
             }
         }
 
-        Object ret = null;
+        boolean isContinue = result.isContinue();
+        Object ret = result._ret();
+        results.pop();
+
         try {
-            if (!result.isContinue()) {
-                ret = result._ret();
-            } else {
+            if (isContinue) {
                 ret = zuper.call();
             }
         } catch (Throwable t) {
             try {
                 if (INTERCEPTOR != null) {
-                    INTERCEPTOR.handleMethodException(targetObject, method, allArguments, method.getParameterTypes(), t);
+                    INTERCEPTOR.handleMethodException(targetObject, method, allArguments, parameterTypes, t);
                 }
             } catch (Throwable t2) {
                 if (LOGGER != null) {
@@ -100,7 +106,7 @@ public class InstanceMethodInterTemplate {
         } finally {
             try {
                 if (INTERCEPTOR != null) {
-                    ret = INTERCEPTOR.afterMethod(targetObject, method, allArguments, method.getParameterTypes(), ret);
+                    ret = INTERCEPTOR.afterMethod(targetObject, method, allArguments, parameterTypes, ret);
                 }
             } catch (Throwable t) {
                 if (LOGGER != null) {
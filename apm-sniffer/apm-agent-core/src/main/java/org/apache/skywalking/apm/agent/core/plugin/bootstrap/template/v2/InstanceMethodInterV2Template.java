@@ -27,6 +27,7 @@ import net.bytebuddy.implementation.bind.annotation.This;
 import org.apache.skywalking.apm.agent.core.plugin.bootstrap.IBootstrapLog;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.BootstrapInterRuntimeAssist;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.ParameterTypesCache;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.v2.InstanceMethodsAroundInterceptorV2;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.v2.MethodInvocationContext;
 
@@ -42,6 +43,7 @@ public class InstanceMethodInterV2Template {
 
     private static InstanceMethodsAroundInterceptorV2 INTERCEPTOR;
     private static IBootstrapLog LOGGER;
+    private static final ParameterTypesCache PARAMETER_TYPES_CACHE = new ParameterTypesCache();
 
     /**
      * Intercept the target instance method.
@@ -61,10 +63,11 @@ public class InstanceMethodInterV2Template {
 
         prepare();
 
+        Class<?>[] parameterTypes = PARAMETER_TYPES_CACHE.get(method);
         MethodInvocationContext context = new MethodInvocationContext();
         try {
             if (INTERCEPTOR != null) {
-                INTERCEPTOR.beforeMethod(targetObject, method, allArguments, method.getParameterTypes(), context);
+                INTERCEPTOR.beforeMethod(targetObject, method, allArguments, parameterTypes, context);
             }
         } catch (Throwable t) {
             if (LOGGER != null) {
@@ -82,7 +85,7 @@ public class InstanceMethodInterV2Template {
         } catch (Throwable t) {
             try {
                 if (INTERCEPTOR != null) {
-                    INTERCEPTOR.handleMethodException(targetObject, method, allArguments, method.getParameterTypes(), t, context);
+                    INTERCEPTOR.handleMethodException(targetObject, method, allArguments, parameterTypes, t, context);
                 }
             } catch (Throwable t2) {
                 if (LOGGER != null) {
@@ -93,7 +96,7 @@ public class InstanceMethodInterV2Template {
         } finally {
             try {
                 if (INTERCEPTOR != null) {
-                    ret = INTERCEPTOR.afterMethod(targetObject, method, allArguments, method.getParameterTypes(), ret, context);
+                    ret = INTERCEPTOR.afterMethod(targetObject, method, allArguments, parameterTypes, ret, context);
                 }
             } catch (Throwable t) {
                 if (LOGGER != null) {
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.cache;
+
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.List;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.utility.JavaModule;
+
+/**
+ * The <code>CachedTypeMatcher</code> skips the delegated matcher for the classes which the {@link ClassMatchCache}
+ * knows as unmatched, and records the new unmatched ones. It only works with the classes hashed by the {@link
+ * ClassFileHashingStrategy}, the others are always delegated.
+ */
+public class CachedTypeMatcher implements AgentBuilder.RawMatcher {
+    private final AgentBuilder.RawMatcher delegate;
+    private final ClassMatchCache cache;
+
+    public CachedTypeMatcher(AgentBuilder.RawMatcher delegate, ClassMatchCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean matches(final TypeDescription typeDescription,
+                           final ClassLoader classLoader,
+                           final JavaModule module,
+                           final Class<?> classBeingRedefined,
+                           final ProtectionDomain protectionDomain) {
+        long classFileHash = ClassFileHashingStrategy.take(typeDescription.getName());
+        if (classFileHash == 0) {
+            return delegate.matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain);
+        }
+        long key = cache.key(typeDescription.getName(), classFileHash, superTypeNames(typeDescription));
+        if (key != 0 && cache.isUnmatched(key)) {
+            return false;
+        }
+        boolean matched = delegate.matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain);
+        if (!matched && key != 0) {
+            cache.recordUnmatched(key);
+        }
+        return matched;
+    }
+
+    /**
+     * The names are read without resolving the super types, which is lazy in the type pool.
+     */
+    private static List<String> superTypeNames(TypeDescription typeDescription) {
+        List<String> names = new ArrayList<>(4);
+        TypeDescription.Generic superClass = typeDescription.getSuperClass();
+        if (superClass != null) {
+            names.add(superClass.asErasure().getName());
+        }
+        for (TypeDefinition superInterface : typeDescription.getInterfaces()) {
+            names.add(superInterface.asErasure().getName());
+        }
+        return names;
+    }
+}
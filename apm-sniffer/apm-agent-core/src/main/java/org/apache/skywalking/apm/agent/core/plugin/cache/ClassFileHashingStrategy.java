@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.cache;
+
+import java.security.ProtectionDomain;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.pool.TypePool;
+import net.bytebuddy.utility.JavaModule;
+
+/**
+ * The <code>ClassFileHashingStrategy</code> hashes the class file being transformed, and hands the hash over to the
+ * {@link CachedTypeMatcher} on the same thread. The class file locating is delegated to the given strategy.
+ */
+public class ClassFileHashingStrategy implements AgentBuilder.ClassFileBufferStrategy {
+    private static final ThreadLocal<HashedClassFile> CURRENT = new ThreadLocal<HashedClassFile>() {
+        @Override
+        protected HashedClassFile initialValue() {
+            return new HashedClassFile();
+        }
+    };
+
+    private final AgentBuilder.ClassFileBufferStrategy delegate;
+
+    public ClassFileHashingStrategy(AgentBuilder.ClassFileBufferStrategy delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ClassFileLocator resolve(final String name,
+                                    final byte[] binaryRepresentation,
+                                    final ClassLoader classLoader,
+                                    final JavaModule module,
+                                    final ProtectionDomain protectionDomain) {
+        HashedClassFile current = CURRENT.get();
+        current.typeName = name;
+        current.hash = ClassMatchCache.hash(binaryRepresentation);
+        return delegate.resolve(name, binaryRepresentation, classLoader, module, protectionDomain);
+    }
+
+    @Override
+    public TypePool typePool(final AgentBuilder.PoolStrategy poolStrategy,
+                             final ClassFileLocator classFileLocator,
+                             final ClassLoader classLoader,
+                             final String name) {
+        return delegate.typePool(poolStrategy, classFileLocator, classLoader, name);
+    }
+
+    /**
+     * Take the hash of the class file of the given type, which is being transformed on the current thread.
+     *
+     * @return the hash, or 0 if the type isn't the one being transformed, such as the type of a retransformation.
+     */
+    static long take(String typeName) {
+        HashedClassFile current = CURRENT.get();
+        if (current.typeName == null) {
+            return 0;
+        }
+        long hash = typeName.equals(current.typeName) ? current.hash : 0;
+        current.typeName = null;
+        return hash;
+    }
+
+    private static class HashedClassFile {
+        private String typeName;
+        private long hash;
+    }
+}
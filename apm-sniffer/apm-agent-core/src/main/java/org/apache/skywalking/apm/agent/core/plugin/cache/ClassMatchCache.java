@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+
+/**
+ * The <code>ClassMatchCache</code> remembers the classes which matched none of the plugins, so the next start of the
+ * same application with the same agent skips the plugin matchers for them. Only the negative results are kept, the
+ * enhanced classes are always matched and transformed again.
+ * <p>
+ * A class is identified by a 64 bits key, mixed from its name, the hash of its class file and the keys of its direct
+ * super class and interfaces, which cover their own super types in the same way. A change of any ancestor changes the
+ * keys of all its sub types, so hierarchy based matches never read a stale result. A class is never cached if the key
+ * of a super type is unknown, because the super type has not gone through the matcher yet(the class file load hook
+ * runs before the JVM resolves the super types), except the <code>java.*</code> types of the JVM, which is covered by
+ * the fingerprint. A class name seen with different keys in one JVM(e.g. loaded by several class loaders with
+ * different class files) is never cached.
+ * <p>
+ * The results are saved into one file per fingerprint, which covers the agent version, the JVM, the activated plugins
+ * and the plugin settings. Any change of them starts a new cache file.
+ */
+public class ClassMatchCache {
+    private static final ILog LOGGER = LogManager.getLogger(ClassMatchCache.class);
+
+    private static final int MAGIC = 0x53574d43;
+    private static final int FORMAT_VERSION = 1;
+    private static final long AMBIGUOUS = 0;
+    private static final String FILE_PREFIX = "class-match-";
+    private static final String FILE_SUFFIX = ".cache";
+    private static final String PLATFORM_TYPE_PREFIX = "java.";
+
+    private final File file;
+    private final int maxSize;
+    /**
+     * The sorted keys loaded from the cache file, read only.
+     */
+    private final long[] loaded;
+    /**
+     * The keys of unmatched classes found in this JVM, but not in the loaded file.
+     */
+    private final Map<Long, Boolean> found = new ConcurrentHashMap<>();
+    private final AtomicInteger size;
+    /**
+     * The key of every class which has gone through the matcher, to build the keys of its sub types.
+     */
+    private final Map<String, Long> typeKeys = new ConcurrentHashMap<>();
+
+    private ClassMatchCache(File file, int maxSize, long[] loaded) {
+        this.file = file;
+        this.maxSize = maxSize;
+        this.loaded = loaded;
+        this.size = new AtomicInteger(loaded.length);
+    }
+
+    /**
+     * Open the cache of the given fingerprint in the directory, a missing or broken file begins an empty cache.
+     */
+    public static ClassMatchCache load(File dir, String fingerprint, int maxSize) {
+        File file = new File(dir, FILE_PREFIX + fingerprint + FILE_SUFFIX);
+        long[] loaded = new long[0];
+        if (file.isFile()) {
+            try {
+                loaded = read(file, maxSize);
+                LOGGER.info("Loaded {} unmatched classes from {}.", loaded.length, file);
+            } catch (IOException e) {
+                LOGGER.warn(e, "Class match cache file {} is broken, ignore it.", file);
+            }
+        }
+        return new ClassMatchCache(file, maxSize, loaded);
+    }
+
+    /**
+     * Build the key of a class, and remember it for the sub types.
+     *
+     * @param typeName        the name of the class
+     * @param classFileHash   the hash of the class file, see {@link #hash(byte[])}
+     * @param superTypeNames  the names of the direct super class and interfaces
+     * @return the key, or 0 if the class can't be cached, then its sub types can't either
+     */
+    public long key(String typeName, long classFileHash, List<String> superTypeNames) {
+        long key = mix(hash(typeName), classFileHash);
+        for (String superTypeName : superTypeNames) {
+            Long superKey = typeKeys.get(superTypeName);
+            if (superKey == null) {
+                if (!superTypeName.startsWith(PLATFORM_TYPE_PREFIX)) {
+                    // the ancestors of the super type are unknown, the class is matched every time
+                    return AMBIGUOUS;
+                }
+                // a type of the JVM, loaded before the agent
+                key = mix(key, hash(superTypeName));
+            } else if (superKey == AMBIGUOUS) {
+                key = AMBIGUOUS;
+                break;
+            } else {
+                key = mix(key, superKey);
+            }
+        }
+        if (key == AMBIGUOUS) {
+            typeKeys.put(typeName, AMBIGUOUS);
+            return AMBIGUOUS;
+        }
+        Long previous = typeKeys.putIfAbsent(typeName, key);
+        if (previous != null && previous != key) {
+            typeKeys.put(typeName, AMBIGUOUS);
+            return AMBIGUOUS;
+        }
+        return key;
+    }
+
+    /**
+     * @return true if the class of the key has been known as matching none of the plugins.
+     */
+    public boolean isUnmatched(long key) {
+        return Arrays.binarySearch(loaded, key) >= 0 || found.containsKey(key);
+    }
+
+    /**
+     * Remember the class of the key matches none of the plugins, until the cache is full.
+     */
+    public void recordUnmatched(long key) {
+        if (key == AMBIGUOUS || Arrays.binarySearch(loaded, key) >= 0) {
+            return;
+        }
+        if (size.get() < maxSize && found.putIfAbsent(key, Boolean.TRUE) == null) {
+            size.incrementAndGet();
+        }
+    }
+
+    /**
+     * Save the loaded and found keys. The file is written aside and moved in, so a crashed writer or a concurrent
+     * JVM never leaves a half written cache file.
+     */
+    public void save() {
+        if (found.isEmpty()) {
+            return;
+        }
+        long[] keys = new long[loaded.length + found.size()];
+        System.arraycopy(loaded, 0, keys, 0, loaded.length);
+        int count = loaded.length;
+        for (Long key : found.keySet()) {
+            if (count == keys.length) {
+                break;
+            }
+            keys[count++] = key;
+        }
+        File tmp = null;
+        try {
+            File dir = file.getParentFile();
+            if (!dir.exists() && !dir.mkdirs() && !dir.exists()) {
+                throw new IOException("Can't create directory " + dir);
+            }
+            tmp = File.createTempFile(FILE_PREFIX, ".tmp", dir);
+            write(tmp, keys, count);
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            LOGGER.info("Saved {} unmatched classes into {}.", count, file);
+        } catch (IOException e) {
+            LOGGER.warn(e, "Failed to save class match cache file {}.", file);
+            if (tmp != null) {
+                tmp.delete();
+            }
+        }
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    private static long[] read(File file, int maxSize) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unknown file format");
+            }
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Illegal size " + count);
+            }
+            long[] keys = new long[Math.min(count, maxSize)];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = in.readLong();
+            }
+            Arrays.sort(keys);
+            return keys;
+        }
+    }
+
+    private static void write(File file, long[] keys, int count) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                out.writeLong(keys[i]);
+            }
+        }
+    }
+
+    /**
+     * @return the hex fingerprint of the given parts, used to name the cache file.
+     */
+    public static String fingerprint(List<String> parts) {
+        long hash = 0x9E3779B97F4A7C15L;
+        for (String part : parts) {
+            hash = mix(hash, hash(part));
+        }
+        return Long.toHexString(hash);
+    }
+
+    /**
+     * @return the 64 bits hash of a class file, made of its CRC32 and Adler32 checksums.
+     */
+    public static long hash(byte[] classFile) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(classFile, 0, classFile.length);
+        Adler32 adler32 = new Adler32();
+        adler32.update(classFile, 0, classFile.length);
+        return crc32.getValue() << 32 | adler32.getValue();
+    }
+
+    /**
+     * FNV-1a of the chars.
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    static long mix(long hash, long value) {
+        long h = (hash ^ value) * 0xff51afd7ed558ccdL + Long.rotateLeft(hash, 31);
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        // 0 is reserved for the ambiguous classes
+        return h == AMBIGUOUS ? 1 : h;
+    }
+}
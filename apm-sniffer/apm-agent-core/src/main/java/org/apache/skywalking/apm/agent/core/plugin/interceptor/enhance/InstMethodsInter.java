@@ -29,6 +29,7 @@ import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 import org.apache.skywalking.apm.agent.core.plugin.PluginException;
 import org.apache.skywalking.apm.agent.core.plugin.loader.InterceptorInstanceLoader;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.meter.AgentMeters;
 
 /**
  * The actual byte-buddy's interceptor to intercept class instance methods. In this class, it provides a bridge between
@@ -37,6 +38,8 @@ import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 public class InstMethodsInter {
     private static final ILog LOGGER = LogManager.getLogger(InstMethodsInter.class);
 
+    private final ParameterTypesCache parameterTypesCache = new ParameterTypesCache();
+
     /**
      * An {@link InstanceMethodsAroundInterceptor} This name should only stay in {@link String}, the real {@link Class}
      * type will trigger classloader failure. If you want to know more, please check on books about Classloader or
@@ -71,32 +74,38 @@ public class InstMethodsInter {
         @Origin Method method) throws Throwable {
         EnhancedInstance targetObject = (EnhancedInstance) obj;
 
-        MethodInterceptResult result = new MethodInterceptResult();
+        Class<?>[] parameterTypes = parameterTypesCache.get(method);
+        MethodInterceptResultStack results = MethodInterceptResultStack.current();
+        MethodInterceptResult result = results.push();
         try {
-            interceptor.beforeMethod(targetObject, method, allArguments, method.getParameterTypes(), result);
+            interceptor.beforeMethod(targetObject, method, allArguments, parameterTypes, result);
         } catch (Throwable t) {
             LOGGER.error(t, "class[{}] before method[{}] intercept failure", obj.getClass(), method.getName());
+            AgentMeters.interceptorError(interceptor);
         }
 
-        Object ret = null;
+        boolean isContinue = result.isContinue();
+        Object ret = result._ret();
+        results.pop();
+
         try {
-            if (!result.isContinue()) {
-                ret = result._ret();
-            } else {
+            if (isContinue) {
                 ret = zuper.call();
             }
         } catch (Throwable t) {
             try {
-                interceptor.handleMethodException(targetObject, method, allArguments, method.getParameterTypes(), t);
+                interceptor.handleMethodException(targetObject, method, allArguments, parameterTypes, t);
             } catch (Throwable t2) {
                 LOGGER.error(t2, "class[{}] handle method[{}] exception failure", obj.getClass(), method.getName());
+                AgentMeters.interceptorError(interceptor);
             }
             throw t;
         } finally {
             try {
-                ret = interceptor.afterMethod(targetObject, method, allArguments, method.getParameterTypes(), ret);
+                ret = interceptor.afterMethod(targetObject, method, allArguments, parameterTypes, ret);
             } catch (Throwable t) {
                 LOGGER.error(t, "class[{}] after method[{}] intercept failure", obj.getClass(), method.getName());
+                AgentMeters.interceptorError(interceptor);
             }
         }
         return ret;
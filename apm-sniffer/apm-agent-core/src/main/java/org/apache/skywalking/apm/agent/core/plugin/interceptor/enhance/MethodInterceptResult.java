@@ -56,4 +56,9 @@ public class MethodInterceptResult {
     public Object _ret() {
         return ret;
     }
+
+    void reset() {
+        this.isContinue = true;
+        this.ret = null;
+    }
 }
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+/**
+ * The <code>MethodInterceptResultStack</code> holds the reusable {@link MethodInterceptResult}s of one thread, one
+ * for each level of the intercepted calls nested in the <code>beforeMethod</code> of interceptors.
+ * <p>
+ * A dispatcher pushes a result before calling <code>beforeMethod</code>, and pops it once it has read the result,
+ * before invoking the origin method. So the origin method and the other interceptors reuse the same levels.
+ */
+public class MethodInterceptResultStack {
+    private static final ThreadLocal<MethodInterceptResultStack> STACKS = new ThreadLocal<MethodInterceptResultStack>();
+
+    private MethodInterceptResult[] results = new MethodInterceptResult[4];
+    private int depth;
+
+    public static MethodInterceptResultStack current() {
+        MethodInterceptResultStack stack = STACKS.get();
+        if (stack == null) {
+            stack = new MethodInterceptResultStack();
+            STACKS.set(stack);
+        }
+        return stack;
+    }
+
+    /**
+     * @return a cleared result for the current level.
+     */
+    public MethodInterceptResult push() {
+        if (depth == results.length) {
+            MethodInterceptResult[] expanded = new MethodInterceptResult[depth * 2];
+            System.arraycopy(results, 0, expanded, 0, depth);
+            results = expanded;
+        }
+        MethodInterceptResult result = results[depth];
+        if (result == null) {
+            result = new MethodInterceptResult();
+            results[depth] = result;
+        }
+        depth++;
+        return result;
+    }
+
+    /**
+     * Release the result of the current level, and clear it to not retain the return value.
+     */
+    public void pop() {
+        results[--depth].reset();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.lang.reflect.Method;
+
+/**
+ * The <code>ParameterTypesCache</code> keeps the parameter types of the methods dispatched by one interceptor
+ * dispatcher, as {@link Method#getParameterTypes()} clones the array at every call. The origin {@link Method} passed
+ * to a dispatcher is cached by the enhanced class, so the methods are compared by identity.
+ * <p>
+ * The cached arrays are shared by all calls, the interceptors must not change them.
+ */
+public class ParameterTypesCache {
+    /**
+     * A dispatcher is bound to one intercept point, which rarely matches more methods than this.
+     */
+    private static final int MAX_METHODS = 16;
+
+    /**
+     * The methods and their parameter types, in turn. It is copied on write.
+     */
+    private volatile Object[] entries = new Object[0];
+
+    public Class<?>[] get(Method method) {
+        Object[] current = entries;
+        for (int i = 0; i < current.length; i += 2) {
+            if (current[i] == method) {
+                return (Class<?>[]) current[i + 1];
+            }
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        if (current.length < MAX_METHODS * 2) {
+            synchronized (this) {
+                current = entries;
+                if (current.length < MAX_METHODS * 2) {
+                    Object[] updated = new Object[current.length + 2];
+                    System.arraycopy(current, 0, updated, 0, current.length);
+                    updated[current.length] = method;
+                    updated[current.length + 1] = parameterTypes;
+                    entries = updated;
+                }
+            }
+        }
+        return parameterTypes;
+    }
+}
@@ -26,6 +26,7 @@ import net.bytebuddy.implementation.SuperMethodCall;
 import net.bytebuddy.implementation.bind.annotation.Morph;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
+import org.apache.skywalking.apm.agent.core.meter.AgentMeters;
 import org.apache.skywalking.apm.agent.core.plugin.AbstractClassEnhancePluginDefine;
 import org.apache.skywalking.apm.agent.core.plugin.EnhanceContext;
 import org.apache.skywalking.apm.agent.core.plugin.PluginException;
@@ -74,6 +75,7 @@ public abstract class ClassEnhancePluginDefineV2 extends AbstractClassEnhancePlu
                 throw new EnhanceException(
                     "no StaticMethodsAroundInterceptorV2 define to enhance class " + enhanceOriginClassName);
             }
+            AgentMeters.registerInterceptor(interceptor, getPluginName());
 
             if (staticMethodsInterceptV2Point.isOverrideArgs()) {
                 if (isBootstrapInstrumentation()) {
@@ -142,6 +144,7 @@ public abstract class ClassEnhancePluginDefineV2 extends AbstractClassEnhancePlu
 
         if (existedConstructorInterceptPoint) {
             for (ConstructorInterceptPoint constructorInterceptPoint : constructorInterceptPoints) {
+                AgentMeters.registerInterceptor(constructorInterceptPoint.getConstructorInterceptor(), getPluginName());
                 if (isBootstrapInstrumentation()) {
                     newClassBuilder = newClassBuilder.constructor(constructorInterceptPoint.getConstructorMatcher())
                                                      .intercept(SuperMethodCall.INSTANCE.andThen(MethodDelegation.withDefaultConfiguration()
@@ -164,6 +167,7 @@ public abstract class ClassEnhancePluginDefineV2 extends AbstractClassEnhancePlu
                     throw new EnhanceException(
                         "no InstanceMethodsAroundInterceptorV2 define to enhance class " + enhanceOriginClassName);
                 }
+                AgentMeters.registerInterceptor(interceptor, getPluginName());
                 ElementMatcher.Junction<MethodDescription> junction = not(isStatic()).and(
                     instanceMethodsInterceptV2Point.getMethodsMatcher());
                 if (instanceMethodsInterceptV2Point instanceof DeclaredInstanceMethodsInterceptV2Point) {
@@ -18,22 +18,31 @@
 
 package org.apache.skywalking.apm.agent.core.plugin.loader;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
-import lombok.RequiredArgsConstructor;
 import org.apache.skywalking.apm.agent.core.boot.AgentPackageNotFoundException;
 import org.apache.skywalking.apm.agent.core.boot.AgentPackagePath;
+import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
 import org.apache.skywalking.apm.agent.core.boot.PluginConfig;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.conf.SnifferConfigInitializer;
@@ -59,8 +68,16 @@ public class AgentClassLoader extends ClassLoader {
      */
     private static AgentClassLoader DEFAULT_LOADER;
 
+    /**
+     * The max threads to scan the plugin jars in parallel.
+     */
+    private static final int MAX_SCAN_THREADS = 8;
+
     private List<File> classpath;
-    private List<Jar> allJars;
+    /**
+     * The jars having each entry, built once at the first lookup.
+     */
+    private volatile Map<String, List<Jar>> entryIndex;
     private ReentrantLock jarScanLock = new ReentrantLock();
 
     public static AgentClassLoader getDefault() {
@@ -89,29 +106,26 @@ public class AgentClassLoader extends ClassLoader {
         Config.Plugin.MOUNT.forEach(mountFolder -> classpath.add(new File(agentDictionary, mountFolder)));
     }
 
+    /**
+     * @param classpath the folders of the jars, looked up in order.
+     */
+    AgentClassLoader(ClassLoader parent, List<File> classpath) {
+        super(parent);
+        this.classpath = classpath;
+    }
+
     @Override
     protected Class<?> findClass(String name) throws ClassNotFoundException {
-        List<Jar> allJars = getAllJars();
         String path = name.replace('.', '/').concat(".class");
-        for (Jar jar : allJars) {
-            JarEntry entry = jar.jarFile.getJarEntry(path);
-            if (entry == null) {
-                continue;
-            }
-            try {
-                URL classFileUrl = new URL("jar:file:" + jar.sourceFile.getAbsolutePath() + "!/" + path);
-                byte[] data;
-                try (final BufferedInputStream is = new BufferedInputStream(
-                    classFileUrl.openStream()); final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                    int ch;
-                    while ((ch = is.read()) != -1) {
-                        baos.write(ch);
-                    }
-                    data = baos.toByteArray();
+        List<Jar> jars = getEntryIndex().get(path);
+        if (jars != null) {
+            for (Jar jar : jars) {
+                try {
+                    byte[] data = readEntry(jar.jarFile, jar.jarFile.getJarEntry(path));
+                    return processLoadedClass(defineClass(name, data, 0, data.length));
+                } catch (IOException e) {
+                    LOGGER.error(e, "find class fail.");
                 }
-                return processLoadedClass(defineClass(name, data, 0, data.length));
-            } catch (IOException e) {
-                LOGGER.error(e, "find class fail.");
             }
         }
         throw new ClassNotFoundException("Can't find " + name);
@@ -119,14 +133,11 @@ public class AgentClassLoader extends ClassLoader {
 
     @Override
     protected URL findResource(String name) {
-        List<Jar> allJars = getAllJars();
-        for (Jar jar : allJars) {
-            JarEntry entry = jar.jarFile.getJarEntry(name);
-            if (entry != null) {
-                try {
-                    return new URL("jar:file:" + jar.sourceFile.getAbsolutePath() + "!/" + name);
-                } catch (MalformedURLException ignored) {
-                }
+        List<Jar> jars = getEntryIndex().get(name);
+        if (jars != null) {
+            try {
+                return new URL("jar:file:" + jars.get(0).sourceFile.getAbsolutePath() + "!/" + name);
+            } catch (MalformedURLException ignored) {
             }
         }
         return null;
@@ -135,10 +146,9 @@ public class AgentClassLoader extends ClassLoader {
     @Override
     protected Enumeration<URL> findResources(String name) throws IOException {
         List<URL> allResources = new LinkedList<>();
-        List<Jar> allJars = getAllJars();
-        for (Jar jar : allJars) {
-            JarEntry entry = jar.jarFile.getJarEntry(name);
-            if (entry != null) {
+        List<Jar> jars = getEntryIndex().get(name);
+        if (jars != null) {
+            for (Jar jar : jars) {
                 allResources.add(new URL("jar:file:" + jar.sourceFile.getAbsolutePath() + "!/" + name));
             }
         }
@@ -169,44 +179,196 @@ public class AgentClassLoader extends ClassLoader {
         return loadedClass;
     }
 
-    private List<Jar> getAllJars() {
-        if (allJars == null) {
+    private Map<String, List<Jar>> getEntryIndex() {
+        if (entryIndex == null) {
             jarScanLock.lock();
             try {
-                if (allJars == null) {
-                    allJars = doGetJars();
+                if (entryIndex == null) {
+                    long start = System.currentTimeMillis();
+                    List<Jar> jars = doGetJars();
+                    if (jars == null) {
+                        // the scan is interrupted, scan again at the next lookup
+                        return Collections.emptyMap();
+                    }
+                    entryIndex = indexJars(jars);
+                    LOGGER.info("{} jar files scanned and indexed in {} ms.", jars.size(), System.currentTimeMillis() - start);
                 }
             } finally {
                 jarScanLock.unlock();
             }
         }
 
-        return allJars;
+        return entryIndex;
     }
 
-    private LinkedList<Jar> doGetJars() {
-        LinkedList<Jar> jars = new LinkedList<>();
+    /**
+     * Open the jars and list their entries in parallel, the jars of every entry keep the order of the classpath.
+     *
+     * @return the opened jars, or null if the scan is interrupted, then all the jars opened by it are closed.
+     */
+    private List<Jar> doGetJars() {
+        List<File> jarFiles = new ArrayList<>();
         for (File path : classpath) {
             if (path.exists() && path.isDirectory()) {
                 String[] jarFileNames = path.list((dir, name) -> name.endsWith(".jar"));
                 for (String fileName : jarFileNames) {
-                    try {
-                        File file = new File(path, fileName);
-                        Jar jar = new Jar(new JarFile(file), file);
+                    jarFiles.add(new File(path, fileName));
+                }
+            }
+        }
+
+        List<Jar> jars = new ArrayList<>(jarFiles.size());
+        int threads = Math.min(jarFiles.size(), Math.min(Runtime.getRuntime().availableProcessors(), MAX_SCAN_THREADS));
+        if (threads <= 1) {
+            for (File file : jarFiles) {
+                Jar jar = openJar(file);
+                if (jar != null) {
+                    jars.add(jar);
+                }
+            }
+            return jars;
+        }
+
+        OpenedJars openedJars = new OpenedJars();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new DefaultNamedThreadFactory("AgentClassLoaderScan"));
+        try {
+            List<Future<Jar>> futures = new ArrayList<>(jarFiles.size());
+            for (File file : jarFiles) {
+                futures.add(executor.submit(() -> {
+                    Jar jar = openJar(file);
+                    if (jar != null && !openedJars.add(jar)) {
+                        jar.close();
+                        return null;
+                    }
+                    return jar;
+                }));
+            }
+            for (Future<Jar> future : futures) {
+                try {
+                    Jar jar = future.get();
+                    if (jar != null) {
                         jars.add(jar);
-                        LOGGER.info("{} loaded.", file.toString());
-                    } catch (IOException e) {
-                        LOGGER.error(e, "{} jar file can't be resolved", fileName);
                     }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    openedJars.abandon();
+                    return null;
+                } catch (ExecutionException e) {
+                    LOGGER.error(e.getCause(), "jar file scan failure.");
                 }
             }
+        } finally {
+            executor.shutdownNow();
         }
         return jars;
     }
 
-    @RequiredArgsConstructor
+    private static Jar openJar(File file) {
+        try {
+            JarFile jarFile = new JarFile(file);
+            List<String> entryNames = new ArrayList<>(jarFile.size());
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                entryNames.add(entries.nextElement().getName());
+            }
+            LOGGER.info("{} loaded.", file.toString());
+            return new Jar(jarFile, file, entryNames);
+        } catch (IOException e) {
+            LOGGER.error(e, "{} jar file can't be resolved", file.getName());
+            return null;
+        }
+    }
+
+    private static Map<String, List<Jar>> indexJars(List<Jar> jars) {
+        Map<String, List<Jar>> index = new HashMap<>();
+        for (Jar jar : jars) {
+            for (String entryName : jar.entryNames) {
+                List<Jar> entryJars = index.get(entryName);
+                if (entryJars == null) {
+                    // most of the entries are in one jar only
+                    index.put(entryName, Collections.singletonList(jar));
+                } else {
+                    if (entryJars.size() == 1) {
+                        entryJars = new ArrayList<>(entryJars);
+                        index.put(entryName, entryJars);
+                    }
+                    entryJars.add(jar);
+                }
+            }
+            jar.entryNames = null;
+        }
+        return index;
+    }
+
+    /**
+     * Read the entry in one go when its size is known, rather than copying through a stream of the jar URL.
+     */
+    private static byte[] readEntry(JarFile jarFile, JarEntry entry) throws IOException {
+        try (InputStream is = jarFile.getInputStream(entry)) {
+            long size = entry.getSize();
+            if (size >= 0 && size <= Integer.MAX_VALUE) {
+                byte[] data = new byte[(int) size];
+                new DataInputStream(is).readFully(data);
+                return data;
+            }
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = is.read(buffer)) != -1) {
+                baos.write(buffer, 0, length);
+            }
+            return baos.toByteArray();
+        }
+    }
+
     private static class Jar {
         private final JarFile jarFile;
         private final File sourceFile;
+        /**
+         * The names of the entries, released once indexed.
+         */
+        private List<String> entryNames;
+
+        private Jar(JarFile jarFile, File sourceFile, List<String> entryNames) {
+            this.jarFile = jarFile;
+            this.sourceFile = sourceFile;
+            this.entryNames = entryNames;
+        }
+
+        private void close() {
+            try {
+                jarFile.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * The jars opened by the scan threads. Once the scan is abandoned, they are closed, so are the ones opened later.
+     */
+    private static class OpenedJars {
+        private final List<Jar> jars = new ArrayList<>();
+        private boolean abandoned;
+
+        /**
+         * @return false if the scan is abandoned, then the jar should be closed by the caller.
+         */
+        private synchronized boolean add(Jar jar) {
+            if (abandoned) {
+                return false;
+            }
+            jars.add(jar);
+            return true;
+        }
+
+        private void abandon() {
+            List<Jar> opened;
+            synchronized (this) {
+                abandoned = true;
+                opened = new ArrayList<>(jars);
+                jars.clear();
+            }
+            opened.forEach(Jar::close);
+        }
     }
-}
\ No newline at end of file
+}
@@ -96,6 +96,10 @@ public class HierarchyMatch implements IndirectMatch {
 
     }
 
+    String[] getParentTypes() {
+        return parentTypes;
+    }
+
     public static IndirectMatch byHierarchyMatch(String... parentTypes) {
         return new HierarchyMatch(parentTypes);
     }
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.match;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
+
+/**
+ * The <code>IndirectMatchIndex</code> narrows the {@link IndirectMatch}es down to the candidates of a type, so the
+ * type isn't checked against every one of them.
+ * <p>
+ * {@link MultiClassNameMatch} is indexed by the class names, {@link PrefixMatch} by a prefix trie, {@link
+ * HierarchyMatch} by its first parent type, {@link ClassAnnotationMatch} and {@link MethodAnnotationMatch} by their
+ * first annotation. The other matches, such as {@link RegexMatch} and the logical ones, are candidates of every type.
+ * The candidates are only possible matches, they must still be checked by their own matchers.
+ *
+ * @param <T> the value bound to every match
+ */
+public class IndirectMatchIndex<T> {
+    private final List<T> values = new ArrayList<T>();
+    private final BitSet unindexed = new BitSet();
+    private final Map<String, BitSet> byName = new HashMap<String, BitSet>();
+    private final PrefixNode byPrefix = new PrefixNode();
+    private final Map<String, BitSet> bySuperType = new HashMap<String, BitSet>();
+    private final Map<String, BitSet> byClassAnnotation = new HashMap<String, BitSet>();
+    private final Map<String, BitSet> byMethodAnnotation = new HashMap<String, BitSet>();
+
+    public void add(IndirectMatch match, T value) {
+        int ordinal = values.size();
+        values.add(value);
+        if (match instanceof MultiClassNameMatch) {
+            for (String name : ((MultiClassNameMatch) match).getMatchClassNames()) {
+                bits(byName, name).set(ordinal);
+            }
+        } else if (match instanceof PrefixMatch) {
+            for (String prefix : ((PrefixMatch) match).getPrefixes()) {
+                byPrefix.getOrAdd(prefix).set(ordinal);
+            }
+        } else if (match instanceof HierarchyMatch) {
+            bits(bySuperType, ((HierarchyMatch) match).getParentTypes()[0]).set(ordinal);
+        } else if (match instanceof ClassAnnotationMatch) {
+            bits(byClassAnnotation, ((ClassAnnotationMatch) match).getAnnotations()[0]).set(ordinal);
+        } else if (match instanceof MethodAnnotationMatch) {
+            bits(byMethodAnnotation, ((MethodAnnotationMatch) match).getAnnotations()[0]).set(ordinal);
+        } else {
+            unindexed.set(ordinal);
+        }
+    }
+
+    /**
+     * @return the values of the matches which may match the type, in the adding order.
+     */
+    public List<T> candidates(TypeDescription typeDescription) {
+        BitSet candidates = (BitSet) unindexed.clone();
+        String name = typeDescription.getActualName();
+        or(candidates, byName.get(name));
+        byPrefix.collect(name, candidates);
+        if (!bySuperType.isEmpty()) {
+            collectSuperTypes(typeDescription, candidates);
+        }
+        if (!byClassAnnotation.isEmpty()) {
+            for (AnnotationDescription annotation : typeDescription.getDeclaredAnnotations()) {
+                or(candidates, byClassAnnotation.get(annotation.getAnnotationType().getActualName()));
+            }
+        }
+        if (!byMethodAnnotation.isEmpty()) {
+            for (MethodDescription.InDefinedShape method : typeDescription.getDeclaredMethods()) {
+                for (AnnotationDescription annotation : method.getDeclaredAnnotations()) {
+                    or(candidates, byMethodAnnotation.get(annotation.getAnnotationType().getActualName()));
+                }
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<T> result = new ArrayList<T>(candidates.cardinality());
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            result.add(values.get(i));
+        }
+        return result;
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Walk the type, its super classes and all interfaces once, which is shared by all hierarchy matches. A super
+     * type failing to be resolved stops the walk on its branch only, the candidates found so far are kept.
+     */
+    private void collectSuperTypes(TypeDescription typeDescription, BitSet candidates) {
+        Set<String> visited = new HashSet<String>();
+        Deque<TypeDefinition> pending = new ArrayDeque<TypeDefinition>();
+        pending.add(typeDescription);
+        while (!pending.isEmpty()) {
+            TypeDefinition type = pending.poll();
+            try {
+                String name = type.asErasure().getActualName();
+                if (!visited.add(name)) {
+                    continue;
+                }
+                or(candidates, bySuperType.get(name));
+                if ("java.lang.Object".equals(name)) {
+                    continue;
+                }
+                TypeDescription.Generic superClass = type.getSuperClass();
+                if (superClass != null) {
+                    pending.add(superClass);
+                }
+                for (TypeDescription.Generic superInterface : type.getInterfaces()) {
+                    pending.add(superInterface);
+                }
+            } catch (RuntimeException ignored) {
+                // the missing super types can't be matched by the hierarchy matches either
+            }
+        }
+    }
+
+    private static BitSet bits(Map<String, BitSet> index, String key) {
+        BitSet bits = index.get(key);
+        if (bits == null) {
+            bits = new BitSet();
+            index.put(key, bits);
+        }
+        return bits;
+    }
+
+    private static void or(BitSet candidates, BitSet bits) {
+        if (bits != null) {
+            candidates.or(bits);
+        }
+    }
+
+    /**
+     * A char trie node, the children are kept in arrays sorted by the char.
+     */
+    private static class PrefixNode {
+        private char[] chars = new char[0];
+        private PrefixNode[] children = new PrefixNode[0];
+        private BitSet bits;
+
+        private BitSet getOrAdd(String prefix) {
+            PrefixNode node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                char c = prefix.charAt(i);
+                int index = Arrays.binarySearch(node.chars, c);
+                if (index < 0) {
+                    index = -index - 1;
+                    node.chars = insert(node.chars, index, c);
+                    PrefixNode[] children = new PrefixNode[node.children.length + 1];
+                    System.arraycopy(node.children, 0, children, 0, index);
+                    System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+                    children[index] = new PrefixNode();
+                    node.children = children;
+                }
+                node = node.children[index];
+            }
+            if (node.bits == null) {
+                node.bits = new BitSet();
+            }
+            return node.bits;
+        }
+
+        private void collect(String name, BitSet candidates) {
+            PrefixNode node = this;
+            or(candidates, node.bits);
+            for (int i = 0; i < name.length() && node.chars.length > 0; i++) {
+                int index = Arrays.binarySearch(node.chars, name.charAt(i));
+                if (index < 0) {
+                    return;
+                }
+                node = node.children[index];
+                or(candidates, node.bits);
+            }
+        }
+
+        private static char[] insert(char[] chars, int index, char c) {
+            char[] result = new char[chars.length + 1];
+            System.arraycopy(chars, 0, result, 0, index);
+            result[index] = c;
+            System.arraycopy(chars, index, result, index + 1, chars.length - index);
+            return result;
+        }
+    }
+}
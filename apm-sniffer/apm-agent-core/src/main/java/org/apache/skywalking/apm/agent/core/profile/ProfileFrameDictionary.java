@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.profile;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Frame dictionary of one profile task. Every distinct stack frame is given an id, and its code signature is built
+ * only once, so a {@link TracingThreadSnapshot} keeps the frame ids instead of one string per frame.
+ * <p>
+ * Frames are registered by the {@link ProfileThread} only. The signatures are read when the snapshots are sent, after
+ * being handed over through the snapshot queue.
+ */
+public class ProfileFrameDictionary {
+    private final Map<StackTraceElement, Integer> ids = new HashMap<>();
+    private volatile String[] signatures = new String[256];
+    private int size = 0;
+
+    /**
+     * @return the id of the frame, registered at the first time.
+     */
+    public int register(StackTraceElement element) {
+        Integer id = ids.get(element);
+        if (id == null) {
+            String[] current = signatures;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = buildStackElementCodeSignature(element);
+            id = size++;
+            signatures = current;
+            ids.put(element, id);
+        }
+        return id;
+    }
+
+    public String getSignature(int id) {
+        return signatures[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * build thread stack element code signature
+     *
+     * @return code sign: className.methodName:lineNumber
+     */
+    private static String buildStackElementCodeSignature(StackTraceElement element) {
+        return element.getClassName() + "." + element.getMethodName() + ":" + element.getLineNumber();
+    }
+}
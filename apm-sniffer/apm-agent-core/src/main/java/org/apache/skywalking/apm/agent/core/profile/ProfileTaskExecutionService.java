@@ -91,7 +91,6 @@ public class ProfileTaskExecutionService implements BootService, TracingThreadLi
      * check and add {@link TracingContext} profiling
      */
     public ProfileStatusContext addProfiling(TracingContext tracingContext,
-                                             String traceSegmentId,
                                              String firstSpanOPName) {
         // get current profiling task, check need profiling
         final ProfileTaskExecutionContext executionContext = taskExecutionContext.get();
@@ -99,7 +98,8 @@ public class ProfileTaskExecutionService implements BootService, TracingThreadLi
             return ProfileStatusContext.createWithNone();
         }
 
-        return executionContext.attemptProfiling(tracingContext, traceSegmentId, firstSpanOPName);
+        // The segment id is only rendered when a profiling task is running.
+        return executionContext.attemptProfiling(tracingContext, tracingContext.getSegmentId(), firstSpanOPName);
     }
 
     /**
@@ -19,18 +19,30 @@
 package org.apache.skywalking.apm.agent.core.profile;
 
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Profile task process thread, dump the executing thread stack.
+ * <p>
+ * With {@link Config.Profile#BATCH_DUMP}, the stacks of all profiling threads are dumped by one {@link
+ * ThreadMXBean#getThreadInfo(long[], int)} call per period, which brings the JVM to one safepoint, instead of one
+ * {@link Thread#getStackTrace()} each.
  */
 public class ProfileThread implements Runnable {
 
     private static final ILog LOGGER = LogManager.getLogger(ProfileThread.class);
 
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
     // profiling task context
     private final ProfileTaskExecutionContext taskExecutionContext;
 
@@ -66,6 +78,7 @@ public class ProfileThread implements Runnable {
     private void profiling(ProfileTaskExecutionContext executionContext) throws InterruptedException {
 
         int maxSleepPeriod = executionContext.getTask().getThreadDumpPeriod();
+        final List<ThreadProfiler> batchProfilers = Config.Profile.BATCH_DUMP ? new ArrayList<>() : null;
 
         // run loop when current thread still running
         long currentLoopStartTime = -1;
@@ -89,19 +102,22 @@ public class ProfileThread implements Runnable {
                         break;
 
                     case PROFILING:
-                        // dump stack
-                        TracingThreadSnapshot snapshot = currentProfiler.buildSnapshot();
-                        if (snapshot != null) {
-                            profileTaskChannelService.addProfilingSnapshot(snapshot);
-                        } else {
-                            // tell execution context current tracing thread dump failed, stop it
-                            executionContext.stopTracingProfile(currentProfiler.tracingContext());
+                        if (batchProfilers != null) {
+                            batchProfilers.add(currentProfiler);
+                            break;
                         }
+                        // dump stack
+                        addSnapshot(executionContext, currentProfiler, currentProfiler.buildSnapshot());
                         break;
 
                 }
             }
 
+            if (batchProfilers != null && !batchProfilers.isEmpty()) {
+                dumpInBatch(executionContext, batchProfilers);
+                batchProfilers.clear();
+            }
+
             // sleep to next period
             // if out of period, sleep one period
             long needToSleep = (currentLoopStartTime + maxSleepPeriod) - System.currentTimeMillis();
@@ -110,4 +126,39 @@ public class ProfileThread implements Runnable {
         }
     }
 
+    /**
+     * dump the stacks of all profiling threads at once
+     */
+    private void dumpInBatch(ProfileTaskExecutionContext executionContext, List<ThreadProfiler> profilers) {
+        long[] threadIds = new long[profilers.size()];
+        for (int i = 0; i < threadIds.length; i++) {
+            threadIds[i] = profilers.get(i).profilingThreadId();
+        }
+
+        long currentTime = System.currentTimeMillis();
+        ThreadInfo[] threadInfos;
+        try {
+            threadInfos = THREAD_MX_BEAN.getThreadInfo(threadIds, Config.Profile.DUMP_MAX_STACK_DEPTH);
+        } catch (Exception e) {
+            // dump error ignore and make these profilers stop
+            threadInfos = new ThreadInfo[threadIds.length];
+        }
+
+        for (int i = 0; i < threadIds.length; i++) {
+            ThreadProfiler profiler = profilers.get(i);
+            StackTraceElement[] stackTrace = threadInfos[i] == null ? null : threadInfos[i].getStackTrace();
+            addSnapshot(executionContext, profiler, profiler.buildSnapshot(stackTrace, currentTime));
+        }
+    }
+
+    private void addSnapshot(ProfileTaskExecutionContext executionContext, ThreadProfiler profiler,
+                             TracingThreadSnapshot snapshot) {
+        if (snapshot != null) {
+            profileTaskChannelService.addProfilingSnapshot(snapshot);
+        } else {
+            // tell execution context current tracing thread dump failed, stop it
+            executionContext.stopTracingProfile(profiler.tracingContext());
+        }
+    }
+
 }
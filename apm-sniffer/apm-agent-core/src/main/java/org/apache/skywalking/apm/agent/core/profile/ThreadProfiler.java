@@ -19,7 +19,6 @@
 package org.apache.skywalking.apm.agent.core.profile;
 
 import com.google.common.base.Objects;
-import java.util.ArrayList;
 import java.util.concurrent.TimeUnit;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.TracingContext;
@@ -92,16 +91,33 @@ public class ThreadProfiler {
         StackTraceElement[] stackTrace;
         try {
             stackTrace = profilingThread.getStackTrace();
-
-            // stack depth is zero, means thread is already run finished
-            if (stackTrace.length == 0) {
-                return null;
-            }
         } catch (Exception e) {
             // dump error ignore and make this profiler stop
             return null;
         }
 
+        return toSnapshot(stackTrace, currentTime);
+    }
+
+    /**
+     * build thread snapshot from the stack dumped in batch with other profiling threads
+     *
+     * @param stackTrace the stack of {@link #profilingThreadId()}, null if the thread has gone
+     * @return snapshot, if null means dump snapshot error, should stop it
+     */
+    public TracingThreadSnapshot buildSnapshot(StackTraceElement[] stackTrace, long currentTime) {
+        if (!isProfilingContinuable()) {
+            return null;
+        }
+        return toSnapshot(stackTrace, currentTime);
+    }
+
+    private TracingThreadSnapshot toSnapshot(StackTraceElement[] stackTrace, long currentTime) {
+        // stack depth is zero, means thread is already run finished
+        if (stackTrace == null || stackTrace.length == 0) {
+            return null;
+        }
+
         // if is first dump, check is can start profiling
         if (dumpSequence == 0 && !executionContext.isStartProfileable()) {
             return null;
@@ -110,22 +126,15 @@ public class ThreadProfiler {
         int dumpElementCount = Math.min(stackTrace.length, Config.Profile.DUMP_MAX_STACK_DEPTH);
 
         // use inverted order, because thread dump is start with bottom
-        final ArrayList<String> stackList = new ArrayList<>(dumpElementCount);
-        for (int i = dumpElementCount - 1; i >= 0; i--) {
-            stackList.add(buildStackElementCodeSignature(stackTrace[i]));
+        final ProfileFrameDictionary frameDictionary = executionContext.getFrameDictionary();
+        final int[] frames = new int[dumpElementCount];
+        for (int i = dumpElementCount - 1, frame = 0; i >= 0; i--, frame++) {
+            frames[frame] = frameDictionary.register(stackTrace[i]);
         }
 
         String taskId = executionContext.getTask().getTaskId();
-        return new TracingThreadSnapshot(taskId, traceSegmentId, dumpSequence++, currentTime, stackList);
-    }
-
-    /**
-     * build thread stack element code signature
-     *
-     * @return code sign: className.methodName:lineNumber
-     */
-    private String buildStackElementCodeSignature(StackTraceElement element) {
-        return element.getClassName() + "." + element.getMethodName() + ":" + element.getLineNumber();
+        return new TracingThreadSnapshot(
+            taskId, traceSegmentId, dumpSequence++, currentTime, frameDictionary, frames);
     }
 
     /**
@@ -149,6 +158,10 @@ public class ThreadProfiler {
         return tracingContext;
     }
 
+    public long profilingThreadId() {
+        return profilingThread.getId();
+    }
+
     public ProfileStatusContext profilingStatus() {
         return profilingStatus;
     }
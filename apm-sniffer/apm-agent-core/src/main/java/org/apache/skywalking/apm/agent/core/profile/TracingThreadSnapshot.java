@@ -18,7 +18,6 @@
 
 package org.apache.skywalking.apm.agent.core.profile;
 
-import java.util.List;
 import org.apache.skywalking.apm.network.language.profile.v3.ThreadSnapshot;
 import org.apache.skywalking.apm.network.language.profile.v3.ThreadStack;
 
@@ -31,18 +30,22 @@ public class TracingThreadSnapshot {
     // dump info
     private final int sequence;
     private final long time;
-    private final List<String> stackList;
+    // frame ids of the stack, from bottom to top
+    private final ProfileFrameDictionary frameDictionary;
+    private final int[] frames;
 
     public TracingThreadSnapshot(String taskId,
                                  String traceSegmentId,
                                  int sequence,
                                  long time,
-                                 List<String> stackList) {
+                                 ProfileFrameDictionary frameDictionary,
+                                 int[] frames) {
         this.taskId = taskId;
         this.traceSegmentId = traceSegmentId;
         this.sequence = sequence;
         this.time = time;
-        this.stackList = stackList;
+        this.frameDictionary = frameDictionary;
+        this.frames = frames;
     }
 
     /**
@@ -60,8 +63,8 @@ public class TracingThreadSnapshot {
         builder.setSequence(sequence);
         // snapshot stack
         final ThreadStack.Builder stackBuilder = ThreadStack.newBuilder();
-        for (String codeSign : stackList) {
-            stackBuilder.addCodeSignatures(codeSign);
+        for (int frame : frames) {
+            stackBuilder.addCodeSignatures(frameDictionary.getSignature(frame));
         }
         builder.setStack(stackBuilder);
 
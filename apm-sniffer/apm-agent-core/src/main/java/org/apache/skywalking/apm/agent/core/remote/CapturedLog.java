@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.util.ThrowableTransformer;
+import org.apache.skywalking.apm.network.logging.v3.LogData;
+import org.apache.skywalking.apm.network.logging.v3.LogDataBody;
+import org.apache.skywalking.apm.network.logging.v3.LogTags;
+
+/**
+ * A log event captured by the logging toolkits on the application thread. It only holds the plain values read from
+ * the event and the tracing context, the protobuf {@link LogData} is built by the consumer of
+ * {@link LogReportServiceClient} in batches, off the application thread.
+ */
+public final class CapturedLog {
+    private final long timestamp;
+    private final String text;
+    private final String level;
+    private final String logger;
+    private final String thread;
+    private final String[] arguments;
+    private final Throwable throwable;
+    private final String endpoint;
+    private final String traceId;
+    private final String traceSegmentId;
+    private final int spanId;
+    /**
+     * The log built by the caller of the deprecated {@link LogReportServiceClient#produce(LogData.Builder)}.
+     */
+    private final LogData logData;
+
+    private CapturedLog(Builder builder) {
+        this.timestamp = builder.timestamp;
+        this.text = builder.text;
+        this.level = builder.level;
+        this.logger = builder.logger;
+        this.thread = builder.thread;
+        this.arguments = builder.arguments;
+        this.throwable = builder.throwable;
+        this.endpoint = builder.endpoint;
+        this.traceId = builder.traceId;
+        this.traceSegmentId = builder.traceSegmentId;
+        this.spanId = builder.spanId;
+        this.logData = null;
+    }
+
+    private CapturedLog(LogData logData) {
+        this.timestamp = logData.getTimestamp();
+        this.text = null;
+        this.level = null;
+        this.logger = null;
+        this.thread = null;
+        this.arguments = null;
+        this.throwable = null;
+        this.endpoint = null;
+        this.traceId = null;
+        this.traceSegmentId = null;
+        this.spanId = -1;
+        this.logData = logData;
+    }
+
+    /**
+     * @return the captured log of a {@link LogData} built by the caller, written as is by {@link #transform}.
+     */
+    static CapturedLog of(LogData logData) {
+        return new CapturedLog(logData);
+    }
+
+    /**
+     * Write this log into the given builder, which could be reused for the next log after {@link LogData.Builder#clear()}.
+     * The service name is left to the reporter.
+     */
+    public LogData.Builder transform(LogData.Builder builder) {
+        if (logData != null) {
+            return builder.mergeFrom(logData);
+        }
+        builder.setTimestamp(timestamp)
+               .setServiceInstance(Config.Agent.INSTANCE_NAME);
+
+        LogTags.Builder tags = builder.getTagsBuilder();
+        addTag(tags, "level", level);
+        addTag(tags, "logger", logger);
+        addTag(tags, "thread", thread);
+        if (arguments != null) {
+            for (int i = 0; i < arguments.length; i++) {
+                addTag(tags, "argument." + i, arguments[i]);
+            }
+        }
+        if (throwable != null) {
+            addTag(tags, "exception", ThrowableTransformer.INSTANCE.convert2String(throwable, 2048));
+        }
+
+        LogDataBody.Builder body = builder.getBodyBuilder().setType(LogDataBody.ContentCase.TEXT.name());
+        if (text != null) {
+            body.getTextBuilder().setText(text);
+        }
+        if (endpoint != null) {
+            builder.setEndpoint(endpoint);
+        }
+        if (traceId != null) {
+            builder.getTraceContextBuilder()
+                   .setTraceId(traceId)
+                   .setTraceSegmentId(traceSegmentId)
+                   .setSpanId(spanId);
+        }
+        return builder;
+    }
+
+    private static void addTag(LogTags.Builder tags, String key, String value) {
+        if (value != null) {
+            tags.addDataBuilder().setKey(key).setValue(value);
+        }
+    }
+
+    public static class Builder {
+        private final long timestamp;
+        private final String text;
+        private String level;
+        private String logger;
+        private String thread;
+        private String[] arguments;
+        private Throwable throwable;
+        private String endpoint;
+        private String traceId;
+        private String traceSegmentId;
+        private int spanId = -1;
+
+        public Builder(long timestamp, String text) {
+            this.timestamp = timestamp;
+            this.text = text;
+        }
+
+        public Builder level(String level) {
+            this.level = level;
+            return this;
+        }
+
+        public Builder logger(String logger) {
+            this.logger = logger;
+            return this;
+        }
+
+        public Builder thread(String thread) {
+            this.thread = thread;
+            return this;
+        }
+
+        /**
+         * @param arguments the string values of the log arguments, reported as the `argument.{index}` tags.
+         */
+        public Builder arguments(String[] arguments) {
+            this.arguments = arguments;
+            return this;
+        }
+
+        /**
+         * @param throwable reported as the `exception` tag, whose stack trace is formatted by the consumer.
+         */
+        public Builder throwable(Throwable throwable) {
+            this.throwable = throwable;
+            return this;
+        }
+
+        public Builder traceContext(String traceId, String traceSegmentId, int spanId) {
+            this.traceId = traceId;
+            this.traceSegmentId = traceSegmentId;
+            this.spanId = spanId;
+            return this;
+        }
+
+        /**
+         * Read the endpoint and, if there is an active span, the trace context of the current thread.
+         */
+        public Builder activeContext() {
+            this.endpoint = ContextManager.getPrimaryEndpointName();
+            int activeSpanId = ContextManager.getSpanId();
+            if (activeSpanId != -1) {
+                traceContext(ContextManager.getGlobalTraceId(), ContextManager.getSegmentId(), activeSpanId);
+            }
+            return this;
+        }
+
+        /**
+         * Read the endpoint of the current thread only, the trace context is set by {@link #traceContext}.
+         */
+        public Builder activeEndpoint() {
+            this.endpoint = ContextManager.getPrimaryEndpointName();
+            return this;
+        }
+
+        public CapturedLog build() {
+            return new CapturedLog(this);
+        }
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.zip.CRC32;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+
+/**
+ * A bounded FIFO queue of serialized records on the disk, which keeps the data a reporter can't send while the
+ * collector is unavailable, and survives agent restarts.
+ * <p>
+ * The records are appended to segment files named by an increasing sequence, each record is written as its length,
+ * its CRC32 and its bytes. A segment file is sealed when it reaches the file size, or when the reader catches up
+ * with it. The records are read by {@link #peek(int)} and removed by {@link #commit(int)} once they have been
+ * delivered, a segment file is deleted when all its records are committed. A file older than the TTL is deleted
+ * without being read. A record truncated by a crash ends its file, a record with an impossible length or a wrong
+ * CRC32 moves the file aside as {@code .corrupted}.
+ * <p>
+ * The delivery is at-least-once, the committed position in a file is not persisted, so the records of a partially
+ * committed file are read again after a restart.
+ */
+public class DiskSpillQueue {
+    private static final ILog LOGGER = LogManager.getLogger(DiskSpillQueue.class);
+
+    private static final String FILE_SUFFIX = ".spill";
+    private static final String CORRUPTED_SUFFIX = ".corrupted";
+    /**
+     * The length and the CRC32 in front of every record.
+     */
+    private static final int RECORD_HEADER_SIZE = 8;
+    /**
+     * Returned by {@link #readRecord(DataInputStream, File, long)} for a corrupted record.
+     */
+    private static final byte[] CORRUPTED = new byte[0];
+
+    private final File dir;
+    private final long maxBytes;
+    private final long maxFileBytes;
+    private final long ttlMillis;
+
+    /**
+     * All segment files, oldest first. The last one is the write file if the writer is open.
+     */
+    private final Deque<File> files = new ArrayDeque<>();
+    private long totalBytes;
+    private long nextSequence;
+
+    private File writeFile;
+    private DataOutputStream writer;
+    private long writeFileBytes;
+
+    /**
+     * The position of the first uncommitted record in the oldest file.
+     */
+    private long readOffset;
+    /**
+     * The position after every record returned by the last {@link #peek(int)}.
+     */
+    private final List<Position> peeked = new ArrayList<>();
+
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Open the queue, and recover the segment files left in the directory.
+     *
+     * @param maxBytes     the max bytes of all segment files, the records beyond it are rejected.
+     * @param maxFileBytes the size to seal a segment file at, the records larger than it are rejected.
+     * @param ttlMillis    the files not modified in this period are deleted without being read.
+     */
+    public DiskSpillQueue(File dir, long maxBytes, long maxFileBytes, long ttlMillis) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Can't create the spill directory " + dir);
+        }
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        this.maxFileBytes = maxFileBytes;
+        this.ttlMillis = ttlMillis;
+
+        File[] existing = dir.listFiles((d, name) -> name.endsWith(FILE_SUFFIX));
+        if (existing != null) {
+            Arrays.sort(existing);
+            for (File file : existing) {
+                try {
+                    long sequence = Long.parseLong(
+                        file.getName().substring(0, file.getName().length() - FILE_SUFFIX.length()));
+                    nextSequence = Math.max(nextSequence, sequence + 1);
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                files.addLast(file);
+                totalBytes += file.length();
+            }
+        }
+        if (!files.isEmpty()) {
+            LOGGER.info("Recover {} spill files of {} bytes from {}.", files.size(), totalBytes, dir);
+        }
+    }
+
+    /**
+     * Append the records, and flush them to the file.
+     *
+     * @return the number of appended records from the head of the list, the others are rejected because the queue is
+     * full, the record is larger than a file, or the file can't be written.
+     */
+    public synchronized int append(List<byte[]> records) {
+        int appended = 0;
+        try {
+            for (byte[] record : records) {
+                long size = RECORD_HEADER_SIZE + record.length;
+                if (totalBytes + size > maxBytes || size > maxFileBytes) {
+                    break;
+                }
+                if (writer == null || writeFileBytes > 0 && writeFileBytes + size > maxFileBytes) {
+                    openWriter();
+                }
+                crc.reset();
+                crc.update(record, 0, record.length);
+                writer.writeInt(record.length);
+                writer.writeInt((int) crc.getValue());
+                writer.write(record);
+                writeFileBytes += size;
+                totalBytes += size;
+                appended++;
+            }
+            if (writer != null) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            LOGGER.error(e, "Fail to append records to the spill file {}.", writeFile);
+            closeWriter();
+        }
+        return appended;
+    }
+
+    /**
+     * Read up to the given number of the uncommitted records, oldest first, without removing them. Every call reads
+     * from the first uncommitted record again.
+     */
+    public synchronized List<byte[]> peek(int maxRecords) {
+        List<byte[]> records = new ArrayList<>(Math.min(maxRecords, 64));
+        peeked.clear();
+        int fileIndex = 0;
+        long offset = readOffset;
+        for (File file : new ArrayList<>(files)) {
+            if (records.size() >= maxRecords) {
+                break;
+            }
+            if (file == writeFile) {
+                // seal the write file, the next record goes to a new file
+                closeWriter();
+            }
+            // nothing is read before the uncommitted records of the oldest file
+            boolean head = records.isEmpty() && fileIndex == 0;
+            if (head && System.currentTimeMillis() - file.lastModified() > ttlMillis) {
+                LOGGER.warn("Spill file {} expired, {} bytes are abandoned.", file, file.length());
+                deleteOldest();
+                offset = 0;
+                continue;
+            }
+            boolean corrupted = false;
+            try (DataInputStream reader = openReader(file, offset)) {
+                long fileLength = file.length();
+                while (records.size() < maxRecords) {
+                    byte[] record = readRecord(reader, file, fileLength - offset);
+                    if (record == null) {
+                        break;
+                    }
+                    if (record == CORRUPTED) {
+                        corrupted = true;
+                        break;
+                    }
+                    offset += RECORD_HEADER_SIZE + record.length;
+                    records.add(record);
+                    peeked.add(new Position(fileIndex, offset));
+                }
+            } catch (IOException e) {
+                LOGGER.error(e, "Fail to read the spill file {}.", file);
+                corrupted = true;
+            }
+            if (records.size() >= maxRecords) {
+                break;
+            }
+            if (corrupted) {
+                if (head && records.isEmpty()) {
+                    quarantineOldest();
+                    offset = 0;
+                    continue;
+                }
+                // the records before the corrupted one are committed first
+                break;
+            }
+            if (head && records.isEmpty()) {
+                // all records of the oldest file have been committed
+                deleteOldest();
+                offset = 0;
+                continue;
+            }
+            fileIndex++;
+            offset = 0;
+        }
+        return records;
+    }
+
+    /**
+     * Remove the given number of records from the head of the last {@link #peek(int)}, once they have been delivered.
+     */
+    public synchronized void commit(int count) {
+        if (count <= 0 || peeked.isEmpty()) {
+            return;
+        }
+        Position position = peeked.get(Math.min(count, peeked.size()) - 1);
+        for (int i = 0; i < position.fileIndex; i++) {
+            deleteOldest();
+        }
+        readOffset = position.offset;
+        peeked.clear();
+        File oldest = files.peekFirst();
+        if (oldest != null && oldest != writeFile && readOffset >= oldest.length()) {
+            // the sealed file has been read through
+            deleteOldest();
+        }
+    }
+
+    /**
+     * @return the bytes of the segment files, including the committed records of the oldest file.
+     */
+    public synchronized long size() {
+        return totalBytes;
+    }
+
+    public synchronized boolean isEmpty() {
+        return files.isEmpty();
+    }
+
+    /**
+     * Close the opened files, the uncommitted records are kept for the next start.
+     */
+    public synchronized void close() {
+        closeWriter();
+    }
+
+    private DataInputStream openReader(File file, long offset) throws IOException {
+        FileInputStream input = new FileInputStream(file);
+        try {
+            input.getChannel().position(offset);
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+        return new DataInputStream(new BufferedInputStream(input));
+    }
+
+    /**
+     * @param remaining the bytes left in the file from the record.
+     * @return the record, null at the end of the file or at a record truncated by a crash, or {@link #CORRUPTED}.
+     */
+    private byte[] readRecord(DataInputStream reader, File file, long remaining) throws IOException {
+        if (remaining < RECORD_HEADER_SIZE) {
+            // the end of the file, or a header truncated by a crash
+            return null;
+        }
+        int length;
+        int checksum;
+        try {
+            length = reader.readInt();
+            checksum = reader.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length < 0 || RECORD_HEADER_SIZE + (long) length > maxFileBytes) {
+            LOGGER.warn("Spill file {} has a corrupted record length {}.", file, length);
+            return CORRUPTED;
+        }
+        if (RECORD_HEADER_SIZE + (long) length > remaining) {
+            // a record truncated by a crash
+            return null;
+        }
+        byte[] record = new byte[length];
+        reader.readFully(record);
+        crc.reset();
+        crc.update(record, 0, length);
+        if ((int) crc.getValue() != checksum) {
+            LOGGER.warn("Spill file {} has a corrupted record.", file);
+            return CORRUPTED;
+        }
+        return record;
+    }
+
+    private void openWriter() throws IOException {
+        closeWriter();
+        writeFile = new File(dir, String.format("%019d%s", nextSequence++, FILE_SUFFIX));
+        writer = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(writeFile)));
+        writeFileBytes = 0;
+        files.addLast(writeFile);
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                LOGGER.error(e, "Fail to close the spill file {}.", writeFile);
+            }
+        }
+        writer = null;
+        writeFile = null;
+    }
+
+    private void deleteOldest() {
+        File file = removeOldest();
+        if (!file.delete()) {
+            LOGGER.warn("Fail to delete the spill file {}.", file);
+        }
+    }
+
+    /**
+     * Move the oldest file aside, the uncommitted records from the corrupted one are abandoned.
+     */
+    private void quarantineOldest() {
+        File file = removeOldest();
+        File quarantined = new File(dir, file.getName() + CORRUPTED_SUFFIX);
+        if (file.renameTo(quarantined)) {
+            LOGGER.warn("Spill file {} is corrupted, moved to {}.", file, quarantined);
+        } else if (!file.delete()) {
+            LOGGER.warn("Fail to delete the corrupted spill file {}.", file);
+        }
+    }
+
+    private File removeOldest() {
+        File file = files.pollFirst();
+        totalBytes = Math.max(0, totalBytes - file.length());
+        readOffset = 0;
+        peeked.clear();
+        return file;
+    }
+
+    private static class Position {
+        /**
+         * The index of the file from the oldest one.
+         */
+        private final int fileIndex;
+        private final long offset;
+
+        private Position(int fileIndex, long offset) {
+            this.fileIndex = fileIndex;
+            this.offset = offset;
+        }
+    }
+}
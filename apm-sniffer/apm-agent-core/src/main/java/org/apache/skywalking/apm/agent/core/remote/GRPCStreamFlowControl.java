@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+
+/**
+ * Back-pressure of a gRPC client stream. The request stream is attached through {@link
+ * ClientResponseObserver#beforeStart(ClientCallStreamObserver)}, and the sender calls {@link #wait4Ready} before every
+ * message, so it waits while the transport could not accept more messages without buffering them in memory.
+ */
+public class GRPCStreamFlowControl {
+    private final Object readyLock = new Object();
+    private volatile ClientCallStreamObserver<?> requestStream;
+
+    /**
+     * Must be called before the call starts, the on-ready handler can't be set after that.
+     */
+    public void attach(ClientCallStreamObserver<?> requestStream) {
+        this.requestStream = requestStream;
+        requestStream.setOnReadyHandler(this::notifyReady);
+    }
+
+    /**
+     * Wake up the waiting sender, when the stream becomes ready or finished.
+     */
+    public void notifyReady() {
+        synchronized (readyLock) {
+            readyLock.notifyAll();
+        }
+    }
+
+    /**
+     * Wait until the stream is ready to send.
+     *
+     * @param status        the stream is not waited anymore once it finished.
+     * @param maxWaitMillis the max time to wait.
+     * @return true if the next message could be sent.
+     */
+    public boolean wait4Ready(GRPCStreamServiceStatus status, long maxWaitMillis) {
+        ClientCallStreamObserver<?> stream = this.requestStream;
+        if (stream == null) {
+            // Flow control isn't supported, send directly.
+            return !status.isStatus();
+        }
+        long deadline = System.currentTimeMillis() + maxWaitMillis;
+        synchronized (readyLock) {
+            while (!stream.isReady() && !status.isStatus()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    readyLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return !status.isStatus();
+    }
+}
@@ -32,6 +32,7 @@ import org.apache.skywalking.apm.agent.core.conf.Config.Collector;
 import org.apache.skywalking.apm.agent.core.conf.Config.Log;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.meter.AgentMeters;
 import org.apache.skywalking.apm.agent.core.util.CollectionUtil;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
@@ -40,11 +41,17 @@ import org.apache.skywalking.apm.network.common.v3.Commands;
 import org.apache.skywalking.apm.network.logging.v3.LogData;
 import org.apache.skywalking.apm.network.logging.v3.LogReportServiceGrpc;
 
+/**
+ * Reports the logs captured by the logging toolkits. The application threads only produce {@link CapturedLog}s, which
+ * are transformed into {@link LogData} by the single consumer, reusing one builder per batch.
+ */
 @DefaultImplementor
-public class LogReportServiceClient implements BootService, GRPCChannelListener, IConsumer<LogData.Builder> {
+public class LogReportServiceClient implements BootService, GRPCChannelListener, IConsumer<CapturedLog> {
     private static final ILog LOGGER = LogManager.getLogger(LogReportServiceClient.class);
+    private static final String METER_CHANNEL = "log";
+    private static final String METER_SERVICE = "LogReportService";
 
-    private volatile DataCarrier<LogData.Builder> carrier;
+    private volatile DataCarrier<CapturedLog> carrier;
     private volatile GRPCChannelStatus status;
 
     private volatile LogReportServiceGrpc.LogReportServiceStub logReportServiceStub;
@@ -62,6 +69,7 @@ public class LogReportServiceClient implements BootService, GRPCChannelListener,
                                     BufferStrategy.IF_POSSIBLE
         );
         carrier.consume(this, 1);
+        AgentMeters.watch(METER_CHANNEL, carrier);
     }
 
     @Override
@@ -69,8 +77,19 @@ public class LogReportServiceClient implements BootService, GRPCChannelListener,
 
     }
 
+    /**
+     * @deprecated the {@link LogData} is built on the application thread, use {@link #produce(CapturedLog)} instead.
+     */
+    @Deprecated
     public void produce(LogData.Builder logData) {
-        if (Objects.nonNull(logData) && !carrier.produce(logData)) {
+        if (Objects.nonNull(logData)) {
+            produce(CapturedLog.of(logData.build()));
+        }
+    }
+
+    public void produce(CapturedLog log) {
+        if (Objects.nonNull(log) && !carrier.produce(log)) {
+            AgentMeters.dropped(METER_CHANNEL);
             if (LOGGER.isDebugEnable()) {
                 LOGGER.debug("One log has been abandoned, cause by buffer is full.");
             }
@@ -83,11 +102,12 @@ public class LogReportServiceClient implements BootService, GRPCChannelListener,
     }
 
     @Override
-    public void consume(final List<LogData.Builder> dataList) {
+    public void consume(final List<CapturedLog> dataList) {
         if (CollectionUtil.isEmpty(dataList)) {
             return;
         }
 
+        final long startTime = System.currentTimeMillis();
         if (GRPCChannelStatus.CONNECTED.equals(status)) {
             GRPCStreamServiceStatus status = new GRPCStreamServiceStatus(false);
 
@@ -118,7 +138,9 @@ public class LogReportServiceClient implements BootService, GRPCChannelListener,
                     });
 
             boolean isFirst = true;
-            for (final LogData.Builder logData : dataList) {
+            final LogData.Builder logData = LogData.newBuilder();
+            for (final CapturedLog log : dataList) {
+                log.transform(logData.clear());
                 if (isFirst) {
                     // Only set service name of the first element in one stream
                     // https://github.com/apache/skywalking-data-collect-protocol/blob/master/logging/Logging.proto
@@ -130,11 +152,13 @@ public class LogReportServiceClient implements BootService, GRPCChannelListener,
             }
             logDataStreamObserver.onCompleted();
             status.wait4Finish();
+            AgentMeters.streamed(METER_SERVICE, startTime);
         }
+        AgentMeters.consumed(METER_CHANNEL, startTime);
     }
 
     @Override
-    public void onError(final List<LogData.Builder> data, final Throwable t) {
+    public void onError(final List<CapturedLog> data, final Throwable t) {
         LOGGER.error(t, "Try to consume {} log data to sender, with unexpected exception.", data.size());
     }
 
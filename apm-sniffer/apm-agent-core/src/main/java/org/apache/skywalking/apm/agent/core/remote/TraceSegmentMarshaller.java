@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import com.google.protobuf.CodedOutputStream;
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+import io.grpc.protobuf.ProtoUtils;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.apache.skywalking.apm.agent.core.context.trace.SegmentObjectSerializer;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.network.common.v3.Commands;
+import org.apache.skywalking.apm.network.language.agent.v3.TraceSegmentReportServiceGrpc;
+
+/**
+ * Marshal the {@link TraceSegment} to the SegmentObject wire format by {@link SegmentObjectSerializer}, so the
+ * segments could be sent through {@link TraceSegmentReportServiceGrpc#getCollectMethod()} without {@link
+ * TraceSegment#transform()}. The agent only sends segments, so parsing is not supported.
+ */
+public class TraceSegmentMarshaller implements MethodDescriptor.Marshaller<TraceSegment> {
+    /**
+     * The same RPC as {@link TraceSegmentReportServiceGrpc#getCollectMethod()}, with {@link TraceSegment} as the
+     * request type.
+     */
+    public static final MethodDescriptor<TraceSegment, Commands> COLLECT_METHOD =
+        TraceSegmentReportServiceGrpc.getCollectMethod().toBuilder(
+            new TraceSegmentMarshaller(),
+            ProtoUtils.marshaller(Commands.getDefaultInstance())
+        ).build();
+
+    /**
+     * The same RPC as {@link TraceSegmentReportServiceGrpc#getCollectMethod()}, with the serialized SegmentObject as
+     * the request type, used to replay the segments spilled to {@link DiskSpillQueue}.
+     */
+    public static final MethodDescriptor<byte[], Commands> COLLECT_SERIALIZED_METHOD =
+        TraceSegmentReportServiceGrpc.getCollectMethod().toBuilder(
+            new SerializedSegmentMarshaller(),
+            ProtoUtils.marshaller(Commands.getDefaultInstance())
+        ).build();
+
+    @Override
+    public InputStream stream(final TraceSegment segment) {
+        return new SegmentInputStream(new SegmentObjectSerializer(segment));
+    }
+
+    /**
+     * Never called. A client call only streams its requests, the request marshaller is parsed by the server side of
+     * the method, and the agent registers {@link #COLLECT_METHOD} to no server. A {@link TraceSegment} could not be
+     * rebuilt from the wire format anyway, as the wire format drops its runtime states.
+     */
+    @Override
+    public TraceSegment parse(final InputStream stream) {
+        throw new UnsupportedOperationException("TraceSegment can't be parsed from the stream.");
+    }
+
+    /**
+     * gRPC drains the stream into its own buffer when the message is framed, the bytes are only materialized when the
+     * stream is read in the other way.
+     */
+    private static class SegmentInputStream extends InputStream implements Drainable, KnownLength {
+        private SegmentObjectSerializer serializer;
+        private ByteArrayInputStream partial;
+
+        private SegmentInputStream(final SegmentObjectSerializer serializer) {
+            this.serializer = serializer;
+        }
+
+        @Override
+        public int drainTo(final OutputStream target) throws IOException {
+            int written;
+            if (serializer != null) {
+                written = serializer.getSerializedSize();
+                if (written > 0) {
+                    CodedOutputStream output = CodedOutputStream.newInstance(
+                        target, Math.min(written, CodedOutputStream.DEFAULT_BUFFER_SIZE));
+                    serializer.writeTo(output);
+                    output.flush();
+                }
+                serializer = null;
+            } else if (partial != null) {
+                written = partial.available();
+                byte[] remaining = new byte[written];
+                partial.read(remaining, 0, written);
+                target.write(remaining);
+                partial = null;
+            } else {
+                written = 0;
+            }
+            return written;
+        }
+
+        @Override
+        public int read() {
+            materialize();
+            return partial == null ? -1 : partial.read();
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            materialize();
+            return partial == null ? -1 : partial.read(b, off, len);
+        }
+
+        @Override
+        public int available() {
+            if (serializer != null) {
+                return serializer.getSerializedSize();
+            }
+            return partial == null ? 0 : partial.available();
+        }
+
+        private void materialize() {
+            if (serializer != null) {
+                partial = new ByteArrayInputStream(serializer.toByteArray());
+                serializer = null;
+            }
+        }
+    }
+
+    private static class SerializedSegmentMarshaller implements MethodDescriptor.Marshaller<byte[]> {
+        @Override
+        public InputStream stream(final byte[] segment) {
+            return new ByteArrayInputStream(segment);
+        }
+
+        @Override
+        public byte[] parse(final InputStream stream) {
+            throw new UnsupportedOperationException("Serialized segment can't be parsed from the stream.");
+        }
+    }
+}
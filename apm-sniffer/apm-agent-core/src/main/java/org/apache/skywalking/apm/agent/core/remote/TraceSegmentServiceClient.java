@@ -19,26 +19,42 @@
 package org.apache.skywalking.apm.agent.core.remote;
 
 import io.grpc.Channel;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.ClientResponseObserver;
 import io.grpc.stub.StreamObserver;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
 import org.apache.skywalking.apm.agent.core.boot.DefaultImplementor;
+import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.commands.CommandService;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.TracingContext;
 import org.apache.skywalking.apm.agent.core.context.TracingContextListener;
+import org.apache.skywalking.apm.agent.core.context.trace.SegmentObjectSerializer;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.meter.AgentMeters;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
 import org.apache.skywalking.apm.network.common.v3.Commands;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
 import org.apache.skywalking.apm.network.language.agent.v3.TraceSegmentReportServiceGrpc;
+import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
+import org.apache.skywalking.apm.util.StringUtil;
 
 import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.BUFFER_SIZE;
 import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.CHANNEL_SIZE;
@@ -47,13 +63,23 @@ import static org.apache.skywalking.apm.agent.core.remote.GRPCChannelStatus.CONN
 @DefaultImplementor
 public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSegment>, TracingContextListener, GRPCChannelListener {
     private static final ILog LOGGER = LogManager.getLogger(TraceSegmentServiceClient.class);
+    public static final String METER_CHANNEL = "segment";
+    private static final String METER_SERVICE = "TraceSegmentReportService";
 
-    private long lastLogTime;
-    private long segmentUplinkedCounter;
-    private long segmentAbandonedCounter;
+    private final AtomicLong lastLogTime = new AtomicLong(System.currentTimeMillis());
+    /**
+     * Uplink status of every consumer thread, each of them sends its batches through its own stream.
+     */
+    private final Map<String, UplinkStreamStatus> uplinkStreams = new ConcurrentHashMap<>();
     private volatile DataCarrier<TraceSegment> carrier;
     private volatile TraceSegmentReportServiceGrpc.TraceSegmentReportServiceStub serviceStub;
     private volatile GRPCChannelStatus status = GRPCChannelStatus.DISCONNECT;
+    private volatile DiskSpillQueue spillQueue;
+    private volatile ScheduledExecutorService replayExecutor;
+    /**
+     * The failed replays in a row of the oldest spilled segments, only accessed by the replay thread.
+     */
+    private int replayAttempts;
 
     @Override
     public void prepare() {
@@ -62,11 +88,40 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
 
     @Override
     public void boot() {
-        lastLogTime = System.currentTimeMillis();
-        segmentUplinkedCounter = 0;
-        segmentAbandonedCounter = 0;
+        lastLogTime.set(System.currentTimeMillis());
+        uplinkStreams.clear();
         carrier = new DataCarrier<>(CHANNEL_SIZE, BUFFER_SIZE, BufferStrategy.IF_POSSIBLE);
-        carrier.consume(this, 1);
+        int uplinkStreamCount = Math.max(1, Math.min(Config.Collector.TRACE_SEGMENT_UPLINK_STREAMS, CHANNEL_SIZE));
+        if (uplinkStreamCount != Config.Collector.TRACE_SEGMENT_UPLINK_STREAMS) {
+            LOGGER.warn(
+                "collector.trace_segment_uplink_streams={} is out of range [1, buffer.channel_size={}], use {}.",
+                Config.Collector.TRACE_SEGMENT_UPLINK_STREAMS, CHANNEL_SIZE, uplinkStreamCount
+            );
+        }
+        carrier.consume(this, uplinkStreamCount);
+        AgentMeters.watch(METER_CHANNEL, carrier);
+
+        if (StringUtil.isNotBlank(Config.Buffer.SPILL_DIR)) {
+            try {
+                spillQueue = new DiskSpillQueue(
+                    new File(Config.Buffer.SPILL_DIR),
+                    Config.Buffer.SPILL_MAX_SIZE_MB * 1024L * 1024L,
+                    Config.Buffer.SPILL_FILE_SIZE_MB * 1024L * 1024L,
+                    TimeUnit.SECONDS.toMillis(Config.Buffer.SPILL_TTL_SECONDS)
+                );
+            } catch (IOException e) {
+                LOGGER.error(e, "Fail to open the spill directory {}, trace segments won't be spilled.",
+                             Config.Buffer.SPILL_DIR);
+            }
+        }
+        if (spillQueue != null) {
+            replayExecutor = Executors.newSingleThreadScheduledExecutor(
+                new DefaultNamedThreadFactory("TraceSegmentSpillReplay"));
+            replayExecutor.scheduleWithFixedDelay(new RunnableWithExceptionProtection(
+                this::replaySpilled,
+                t -> LOGGER.error(t, "Replay spilled trace segments failure.")
+            ), 1, 1, TimeUnit.SECONDS);
+        }
     }
 
     @Override
@@ -78,6 +133,12 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
     public void shutdown() {
         TracingContext.ListenerManager.remove(this);
         carrier.shutdownConsumers();
+        if (replayExecutor != null) {
+            replayExecutor.shutdownNow();
+        }
+        if (spillQueue != null) {
+            spillQueue.close();
+        }
     }
 
     @Override
@@ -87,42 +148,27 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
 
     @Override
     public void consume(List<TraceSegment> data) {
+        final long startTime = System.currentTimeMillis();
+        UplinkStreamStatus uplinkStream = uplinkStreams.computeIfAbsent(
+            Thread.currentThread().getName(), name -> new UplinkStreamStatus());
         if (CONNECTED.equals(status)) {
-            final GRPCStreamServiceStatus status = new GRPCStreamServiceStatus(false);
-            StreamObserver<SegmentObject> upstreamSegmentStreamObserver = serviceStub.withDeadlineAfter(
-                Config.Collector.GRPC_UPSTREAM_TIMEOUT, TimeUnit.SECONDS
-            ).collect(new StreamObserver<Commands>() {
-                @Override
-                public void onNext(Commands commands) {
-                    ServiceManager.INSTANCE.findService(CommandService.class)
-                                           .receiveCommand(commands);
-                }
-
-                @Override
-                public void onError(
-                    Throwable throwable) {
-                    status.finished();
-                    if (LOGGER.isErrorEnable()) {
-                        LOGGER.error(
-                            throwable,
-                            "Send UpstreamSegment to collector fail with a grpc internal exception."
-                        );
-                    }
-                    ServiceManager.INSTANCE
-                        .findService(GRPCChannelManager.class)
-                        .reportError(throwable);
-                }
-
-                @Override
-                public void onCompleted() {
-                    status.finished();
-                }
-            });
+            final UplinkObserver uplinkObserver = new UplinkObserver();
 
+            int sent = 0;
+            StreamObserver<TraceSegment> upstreamSegmentStreamObserver = newUpstreamSegmentStreamObserver(
+                uplinkObserver);
             try {
                 for (TraceSegment segment : data) {
-                    SegmentObject upstreamSegment = segment.transform();
-                    upstreamSegmentStreamObserver.onNext(upstreamSegment);
+                    if (!uplinkObserver.wait4Ready()) {
+                        // The stream completed or failed already, which has been logged by the observer.
+                        if (!uplinkObserver.isFinished() && !Thread.currentThread().isInterrupted()) {
+                            LOGGER.warn("Collector isn't ready to receive trace segments in {} seconds.",
+                                        Config.Collector.GRPC_UPSTREAM_TIMEOUT);
+                        }
+                        break;
+                    }
+                    upstreamSegmentStreamObserver.onNext(segment);
+                    sent++;
                 }
             } catch (Throwable t) {
                 LOGGER.error(t, "Transform and send UpstreamSegment to collector fail.");
@@ -130,27 +176,140 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
 
             upstreamSegmentStreamObserver.onCompleted();
 
-            status.wait4Finish();
-            segmentUplinkedCounter += data.size();
+            uplinkObserver.wait4Finish();
+            AgentMeters.streamed(METER_SERVICE, startTime);
+            if (uplinkObserver.isFailed()) {
+                // the sent segments are not acknowledged by the collector, as replaySpilled does
+                sent = 0;
+            }
+            int spilled = spill(data.subList(sent, data.size()));
+            uplinkStream.spilled.addAndGet(spilled);
+            uplinkStream.finishBatch(sent, data.size() - sent - spilled, System.currentTimeMillis() - startTime);
         } else {
-            segmentAbandonedCounter += data.size();
+            int spilled = spill(data);
+            uplinkStream.spilled.addAndGet(spilled);
+            uplinkStream.abandoned.addAndGet(data.size() - spilled);
         }
 
+        AgentMeters.consumed(METER_CHANNEL, startTime);
         printUplinkStatus();
     }
 
+    /**
+     * Append the segments to the spill queue, if it is enabled.
+     *
+     * @return the number of spilled segments from the head of the list.
+     */
+    private int spill(List<TraceSegment> segments) {
+        final DiskSpillQueue queue = spillQueue;
+        if (queue == null || segments.isEmpty()) {
+            return 0;
+        }
+        List<byte[]> records = new ArrayList<>(segments.size());
+        for (TraceSegment segment : segments) {
+            records.add(new SegmentObjectSerializer(segment).toByteArray());
+        }
+        return queue.append(records);
+    }
+
+    /**
+     * Send up to {@link Config.Buffer#SPILL_REPLAY_RATE} spilled segments in one stream, if the collector is
+     * connected. The sent segments are committed once the stream completes. If nothing could be sent for {@link
+     * Config.Buffer#SPILL_REPLAY_ATTEMPTS} times in a row, the segments are abandoned, so a segment the collector keeps
+     * rejecting doesn't block the queue.
+     */
+    private void replaySpilled() {
+        final DiskSpillQueue queue = spillQueue;
+        if (queue == null || !CONNECTED.equals(status) || queue.isEmpty()) {
+            return;
+        }
+        List<byte[]> segments = queue.peek(Config.Buffer.SPILL_REPLAY_RATE);
+        if (segments.isEmpty()) {
+            return;
+        }
+
+        final UplinkObserver uplinkObserver = new UplinkObserver();
+        StreamObserver<byte[]> upstreamSegmentStreamObserver = ClientCalls.asyncClientStreamingCall(
+            serviceStub.getChannel().newCall(
+                TraceSegmentMarshaller.COLLECT_SERIALIZED_METHOD,
+                serviceStub.getCallOptions()
+                           .withDeadlineAfter(Config.Collector.GRPC_UPSTREAM_TIMEOUT, TimeUnit.SECONDS)
+            ),
+            uplinkObserver
+        );
+        int sent = 0;
+        for (byte[] segment : segments) {
+            if (!uplinkObserver.wait4Ready()) {
+                break;
+            }
+            upstreamSegmentStreamObserver.onNext(segment);
+            sent++;
+        }
+        upstreamSegmentStreamObserver.onCompleted();
+        uplinkObserver.wait4Finish();
+
+        if (uplinkObserver.isFailed()) {
+            sent = 0;
+        }
+        if (sent > 0) {
+            replayAttempts = 0;
+            queue.commit(sent);
+            if (LOGGER.isDebugEnable()) {
+                LOGGER.debug("{} spilled trace segments have been replayed.", sent);
+            }
+        } else if (CONNECTED.equals(status) && ++replayAttempts >= Config.Buffer.SPILL_REPLAY_ATTEMPTS) {
+            // a failure caused by the disconnection doesn't count
+            replayAttempts = 0;
+            queue.commit(segments.size());
+            LOGGER.warn("{} spilled trace segments are abandoned after {} failed replays.",
+                        segments.size(), Config.Buffer.SPILL_REPLAY_ATTEMPTS);
+        }
+    }
+
+    /**
+     * Open a client stream of TraceSegmentReportService#collect. The segments are written in the wire format by
+     * {@link TraceSegmentMarshaller} directly if {@link Config.Collector#DIRECT_SEGMENT_SERIALIZATION} is true,
+     * otherwise, transformed to {@link SegmentObject}s first.
+     */
+    private StreamObserver<TraceSegment> newUpstreamSegmentStreamObserver(UplinkObserver commandsObserver) {
+        if (Config.Collector.DIRECT_SEGMENT_SERIALIZATION) {
+            return ClientCalls.asyncClientStreamingCall(
+                serviceStub.getChannel().newCall(
+                    TraceSegmentMarshaller.COLLECT_METHOD,
+                    serviceStub.getCallOptions()
+                               .withDeadlineAfter(Config.Collector.GRPC_UPSTREAM_TIMEOUT, TimeUnit.SECONDS)
+                ),
+                commandsObserver
+            );
+        }
+        final StreamObserver<SegmentObject> segmentObjectStreamObserver = serviceStub.withDeadlineAfter(
+            Config.Collector.GRPC_UPSTREAM_TIMEOUT, TimeUnit.SECONDS
+        ).collect(commandsObserver);
+        return new StreamObserver<TraceSegment>() {
+            @Override
+            public void onNext(TraceSegment segment) {
+                segmentObjectStreamObserver.onNext(segment.transform());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                segmentObjectStreamObserver.onError(throwable);
+            }
+
+            @Override
+            public void onCompleted() {
+                segmentObjectStreamObserver.onCompleted();
+            }
+        };
+    }
+
     private void printUplinkStatus() {
         long currentTimeMillis = System.currentTimeMillis();
-        if (currentTimeMillis - lastLogTime > 30 * 1000) {
-            lastLogTime = currentTimeMillis;
-            if (segmentUplinkedCounter > 0) {
-                LOGGER.debug("{} trace segments have been sent to collector.", segmentUplinkedCounter);
-                segmentUplinkedCounter = 0;
-            }
-            if (segmentAbandonedCounter > 0) {
-                LOGGER.debug(
-                    "{} trace segments have been abandoned, cause by no available channel.", segmentAbandonedCounter);
-                segmentAbandonedCounter = 0;
+        long lastLogTime = this.lastLogTime.get();
+        if (currentTimeMillis - lastLogTime > 30 * 1000 && this.lastLogTime.compareAndSet(
+            lastLogTime, currentTimeMillis)) {
+            for (Map.Entry<String, UplinkStreamStatus> entry : uplinkStreams.entrySet()) {
+                entry.getValue().print(entry.getKey());
             }
         }
     }
@@ -171,6 +330,7 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
             return;
         }
         if (!carrier.produce(traceSegment)) {
+            AgentMeters.dropped(METER_CHANNEL);
             if (LOGGER.isDebugEnable()) {
                 LOGGER.debug("One trace segment has been abandoned, cause by buffer is full.");
             }
@@ -185,4 +345,109 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
         }
         this.status = status;
     }
+
+    /**
+     * Receives the commands and the completion of one stream sending trace segments, and controls its flow.
+     */
+    private static class UplinkObserver implements ClientResponseObserver<Object, Commands> {
+        private final GRPCStreamServiceStatus status = new GRPCStreamServiceStatus(false);
+        private final GRPCStreamFlowControl flowControl = new GRPCStreamFlowControl();
+        private volatile boolean failed;
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<Object> requestStream) {
+            flowControl.attach(requestStream);
+        }
+
+        @Override
+        public void onNext(Commands commands) {
+            ServiceManager.INSTANCE.findService(CommandService.class)
+                                   .receiveCommand(commands);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            failed = true;
+            status.finished();
+            flowControl.notifyReady();
+            if (LOGGER.isErrorEnable()) {
+                LOGGER.error(
+                    throwable,
+                    "Send UpstreamSegment to collector fail with a grpc internal exception."
+                );
+            }
+            ServiceManager.INSTANCE
+                .findService(GRPCChannelManager.class)
+                .reportError(throwable);
+        }
+
+        @Override
+        public void onCompleted() {
+            status.finished();
+            flowControl.notifyReady();
+        }
+
+        private boolean wait4Ready() {
+            return flowControl.wait4Ready(status, TimeUnit.SECONDS.toMillis(Config.Collector.GRPC_UPSTREAM_TIMEOUT));
+        }
+
+        private void wait4Finish() {
+            status.wait4Finish();
+        }
+
+        private boolean isFailed() {
+            return failed;
+        }
+
+        private boolean isFinished() {
+            return status.isStatus();
+        }
+    }
+
+    /**
+     * Counters of one uplink stream, updated by its consumer thread, and reset when printed.
+     */
+    private static class UplinkStreamStatus {
+        private final AtomicLong uplinked = new AtomicLong();
+        private final AtomicLong abandoned = new AtomicLong();
+        private final AtomicLong spilled = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final AtomicLong batchLatency = new AtomicLong();
+        private final AtomicLong maxBatchLatency = new AtomicLong();
+
+        private void finishBatch(int uplinkedCount, int abandonedCount, long latency) {
+            uplinked.addAndGet(uplinkedCount);
+            abandoned.addAndGet(abandonedCount);
+            batches.incrementAndGet();
+            batchLatency.addAndGet(latency);
+            maxBatchLatency.accumulateAndGet(latency, Math::max);
+        }
+
+        private void print(String streamName) {
+            long uplinkedCount = uplinked.getAndSet(0);
+            long abandonedCount = abandoned.getAndSet(0);
+            long spilledCount = spilled.getAndSet(0);
+            long batchCount = batches.getAndSet(0);
+            long latency = batchLatency.getAndSet(0);
+            long maxLatency = maxBatchLatency.getAndSet(0);
+            if (uplinkedCount > 0) {
+                LOGGER.debug(
+                    "{} trace segments have been sent to collector by {} in {} batches, avg batch latency {}ms, max {}ms.",
+                    uplinkedCount, streamName, batchCount, batchCount == 0 ? 0 : latency / batchCount, maxLatency
+                );
+            }
+            if (spilledCount > 0) {
+                LOGGER.debug(
+                    "{} trace segments have been spilled by {}, cause by no available or ready channel.",
+                    spilledCount, streamName
+                );
+            }
+            if (abandonedCount > 0) {
+                LOGGER.debug(
+                    "{} trace segments have been abandoned by {}, cause by no available or ready channel.",
+                    abandonedCount, streamName
+                );
+            }
+        }
+    }
 }
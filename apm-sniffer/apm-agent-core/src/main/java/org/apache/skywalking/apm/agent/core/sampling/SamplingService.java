@@ -41,6 +41,9 @@ import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
  * send all of them to collector, if SAMPLING is on.
  * <p>
  * By default, SAMPLING is on, and  {@link Config.Agent#SAMPLE_N_PER_3_SECS }
+ * <p>
+ * With {@link SamplingPolicy#TOKEN_BUCKET}, the budget applies to every endpoint independently, and is refilled
+ * continuously by the {@link TokenBucketSampler}.
  */
 @DefaultImplementor
 public class SamplingService implements BootService {
@@ -48,6 +51,7 @@ public class SamplingService implements BootService {
 
     private volatile boolean on = false;
     private volatile AtomicInteger samplingFactorHolder;
+    private volatile TokenBucketSampler tokenBucketSampler;
     private volatile ScheduledFuture<?> scheduledFuture;
 
     private SamplingRateWatcher samplingRateWatcher;
@@ -89,6 +93,10 @@ public class SamplingService implements BootService {
      */
     public boolean trySampling(String operationName) {
         if (on) {
+            TokenBucketSampler sampler = tokenBucketSampler;
+            if (sampler != null) {
+                return sampler.tryAcquire(operationName);
+            }
             int factor = samplingFactorHolder.get();
             if (factor < samplingRateWatcher.getSamplingRate()) {
                 return samplingFactorHolder.compareAndSet(factor, factor + 1);
@@ -102,15 +110,22 @@ public class SamplingService implements BootService {
     /**
      * Increase the sampling factor by force, to avoid sampling too many traces. If many distributed traces require
      * sampled, the trace beginning at local, has less chance to be sampled.
+     * <p>
+     * The endpoint buckets of {@link SamplingPolicy#TOKEN_BUCKET} only limit the traces beginning at local, so they are
+     * not charged here.
      */
     public void forceSampled() {
-        if (on) {
+        if (on && tokenBucketSampler == null) {
             samplingFactorHolder.incrementAndGet();
         }
     }
 
     private void resetSamplingFactor() {
         samplingFactorHolder = new AtomicInteger(0);
+        TokenBucketSampler sampler = tokenBucketSampler;
+        if (sampler != null) {
+            sampler.evictIdle();
+        }
     }
 
     /**
@@ -118,6 +133,13 @@ public class SamplingService implements BootService {
      */
     public void handleSamplingRateChanged() {
         if (samplingRateWatcher.getSamplingRate() > 0) {
+            if (Config.Agent.SAMPLE_POLICY == SamplingPolicy.TOKEN_BUCKET) {
+                TokenBucketSampler sampler = tokenBucketSampler;
+                if (sampler == null || sampler.getSamplesPer3Secs() != samplingRateWatcher.getSamplingRate()) {
+                    tokenBucketSampler = new TokenBucketSampler(
+                        samplingRateWatcher.getSamplingRate(), Config.Agent.SAMPLE_ENDPOINT_LIMIT);
+                }
+            }
             if (!on) {
                 on = true;
                 this.resetSamplingFactor();
@@ -134,6 +156,7 @@ public class SamplingService implements BootService {
                     scheduledFuture.cancel(true);
                 }
                 on = false;
+                tokenBucketSampler = null;
             }
         }
     }
@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.skywalking.apm.agent.core.boot.BootService;
+import org.apache.skywalking.apm.agent.core.boot.DefaultImplementor;
+import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.TracingContext;
+import org.apache.skywalking.apm.agent.core.context.trace.TailSamplingPolicy;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.meter.Counter;
+import org.apache.skywalking.apm.agent.core.meter.MeterFactory;
+import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
+
+/**
+ * With {@link Config.TailSampling#ACTIVE}, every context is traced, and the sampling decision is made when the {@link
+ * TraceSegment} finishes. A segment that the {@link TailSamplingPolicy} keeps is reported at once, together with the
+ * buffered segments of the same trace. Others wait in memory for {@link Config.TailSampling#DECISION_WAIT}, in case
+ * another segment of their trace is kept, then take the {@link SamplingService} budget as base rate, or are dropped.
+ * <p>
+ * The buffer is limited by segment and span count. A segment which can't be buffered takes the base rate at once.
+ */
+@DefaultImplementor
+public class TailSamplingService implements BootService {
+    private static final ILog LOGGER = LogManager.getLogger(TailSamplingService.class);
+
+    enum Decision {
+        LATENCY(true), ERROR(true), TAG(true), CROSS_PROCESS(true), TRACE(true), BASE_RATE(true), SAMPLED_OUT(false),
+        BUFFER_FULL(false);
+
+        private final boolean kept;
+
+        Decision(boolean kept) {
+            this.kept = kept;
+        }
+    }
+
+    private volatile boolean active = false;
+    private TailSamplingPolicy policy;
+    private SamplingService samplingService;
+    private final Map<String, PendingTrace> pendingTraces = new ConcurrentHashMap<>();
+    private final AtomicInteger bufferedSegments = new AtomicInteger();
+    private final AtomicInteger bufferedSpans = new AtomicInteger();
+    private final Map<Decision, Counter> decisionCounters = new EnumMap<>(Decision.class);
+
+    private ScheduledExecutorService service;
+    private volatile ScheduledFuture<?> scheduledFuture;
+
+    @Override
+    public void prepare() {
+    }
+
+    @Override
+    public void boot() {
+        if (!Config.TailSampling.ACTIVE) {
+            return;
+        }
+        policy = new TailSamplingPolicy(
+            Config.TailSampling.LATENCY_THRESHOLD, Config.TailSampling.KEEP_ERROR, Config.TailSampling.KEEP_TAGS,
+            Config.TailSampling.KEEP_CROSS_PROCESS
+        );
+        samplingService = ServiceManager.INSTANCE.findService(SamplingService.class);
+        for (Decision decision : Decision.values()) {
+            decisionCounters.put(decision, MeterFactory.counter("tail_sampling_segments")
+                                                       .tag("decision", decision.kept ? "kept" : "dropped")
+                                                       .tag("reason", decision.name().toLowerCase())
+                                                       .build());
+        }
+        MeterFactory.gauge("tail_sampling_buffered_segments", () -> (double) bufferedSegments.get()).build();
+        MeterFactory.gauge("tail_sampling_buffered_spans", () -> (double) bufferedSpans.get()).build();
+
+        service = Executors.newSingleThreadScheduledExecutor(new DefaultNamedThreadFactory("TailSamplingService"));
+        long period = Math.max(100, Math.min(1000, Config.TailSampling.DECISION_WAIT / 2));
+        scheduledFuture = service.scheduleAtFixedRate(new RunnableWithExceptionProtection(
+            this::expire, t -> LOGGER.error("Expire tail sampling buffer failure.", t)), period, period,
+                                                      TimeUnit.MILLISECONDS);
+        active = true;
+    }
+
+    @Override
+    public void onComplete() {
+    }
+
+    /**
+     * Shut down before the reporters of the default priority, so the buffered segments are flushed to the listeners
+     * still registered.
+     */
+    @Override
+    public int priority() {
+        return 1;
+    }
+
+    @Override
+    public void shutdown() {
+        active = false;
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(true);
+            service.shutdown();
+        }
+        // Don't lose the buffered segments, the base rate decides as they expire.
+        expire(Long.MAX_VALUE);
+    }
+
+    /**
+     * @return true if the finished segments should be given to {@link #offer(TraceSegment)}, rather than the {@link
+     * TracingContext.ListenerManager}.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Decide, or buffer, the finished segment. Called by the thread finishing the {@link TracingContext}.
+     */
+    public void offer(TraceSegment segment) {
+        String traceId = segment.getRelatedGlobalTrace().getId();
+        TailSamplingPolicy.Reason reason = policy.decide(segment);
+        if (reason != null) {
+            PendingTrace trace = pendingTraces.computeIfAbsent(traceId, id -> new PendingTrace());
+            List<TraceSegment> released = trace.keep();
+            if (released != null) {
+                release(released);
+                for (TraceSegment buffered : released) {
+                    report(buffered, Decision.TRACE);
+                }
+            }
+            report(segment, Decision.valueOf(reason.name()));
+            return;
+        }
+
+        int spanCount = TailSamplingPolicy.getSpanCount(segment);
+        if (!reserve(spanCount)) {
+            report(segment, baseRate(segment) ? Decision.BASE_RATE : Decision.BUFFER_FULL);
+            return;
+        }
+        while (true) {
+            PendingTrace trace = pendingTraces.computeIfAbsent(traceId, id -> new PendingTrace());
+            PendingTrace.State state = trace.buffer(segment);
+            if (state == PendingTrace.State.BUFFERED) {
+                return;
+            }
+            if (state == PendingTrace.State.KEPT) {
+                bufferedSegments.decrementAndGet();
+                bufferedSpans.addAndGet(-spanCount);
+                report(segment, Decision.TRACE);
+                return;
+            }
+            // The trace has just expired and been removed, buffer the segment into a new one.
+        }
+    }
+
+    private boolean reserve(int spanCount) {
+        if (bufferedSegments.incrementAndGet() > Config.TailSampling.BUFFER_SEGMENT_LIMIT
+            || bufferedSpans.addAndGet(spanCount) > Config.TailSampling.BUFFER_SPAN_LIMIT) {
+            bufferedSegments.decrementAndGet();
+            bufferedSpans.addAndGet(-spanCount);
+            return false;
+        }
+        return true;
+    }
+
+    private void release(List<TraceSegment> segments) {
+        int spanCount = 0;
+        for (TraceSegment segment : segments) {
+            spanCount += TailSamplingPolicy.getSpanCount(segment);
+        }
+        bufferedSegments.addAndGet(-segments.size());
+        bufferedSpans.addAndGet(-spanCount);
+    }
+
+    private boolean baseRate(TraceSegment segment) {
+        return samplingService.trySampling(TailSamplingPolicy.getEndpointName(segment));
+    }
+
+    private void report(TraceSegment segment, Decision decision) {
+        Counter counter = decisionCounters.get(decision);
+        if (counter != null) {
+            counter.increment(1);
+        }
+        if (decision.kept) {
+            TracingContext.ListenerManager.notifyFinish(segment);
+        }
+    }
+
+    private void expire() {
+        expire(System.currentTimeMillis() - Config.TailSampling.DECISION_WAIT);
+    }
+
+    void expire(long createdBefore) {
+        Iterator<Map.Entry<String, PendingTrace>> iterator = pendingTraces.entrySet().iterator();
+        while (iterator.hasNext()) {
+            PendingTrace trace = iterator.next().getValue();
+            if (trace.createTime > createdBefore) {
+                continue;
+            }
+            iterator.remove();
+            List<TraceSegment> expired = trace.close();
+            if (expired.isEmpty()) {
+                continue;
+            }
+            release(expired);
+            for (TraceSegment segment : expired) {
+                report(segment, baseRate(segment) ? Decision.BASE_RATE : Decision.SAMPLED_OUT);
+            }
+        }
+    }
+
+    int getBufferedSegments() {
+        return bufferedSegments.get();
+    }
+
+    /**
+     * The buffered segments of one trace. Once any of them is kept, the following segments of the trace are reported
+     * directly until the trace expires.
+     */
+    private static class PendingTrace {
+        enum State {
+            BUFFERED, KEPT, CLOSED
+        }
+
+        private final long createTime = System.currentTimeMillis();
+        private List<TraceSegment> segments = new ArrayList<>(2);
+        private boolean kept = false;
+
+        synchronized State buffer(TraceSegment segment) {
+            if (kept) {
+                return State.KEPT;
+            }
+            if (segments == null) {
+                return State.CLOSED;
+            }
+            segments.add(segment);
+            return State.BUFFERED;
+        }
+
+        /**
+         * @return the buffered segments to report, or null if they have been reported or expired.
+         */
+        synchronized List<TraceSegment> keep() {
+            if (kept || segments == null) {
+                return null;
+            }
+            kept = true;
+            List<TraceSegment> released = segments;
+            segments = null;
+            return released;
+        }
+
+        synchronized List<TraceSegment> close() {
+            List<TraceSegment> expired = segments == null ? Collections.emptyList() : segments;
+            segments = null;
+            kept = false;
+            return expired;
+        }
+    }
+}
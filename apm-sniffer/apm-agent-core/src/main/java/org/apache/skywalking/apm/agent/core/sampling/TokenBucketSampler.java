@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admits N segments per 3 seconds for every endpoint, the first operation name of the tracing context. Each endpoint
+ * owns a token bucket refilled continuously, so the budget is spread over the window instead of being exhausted in
+ * its first milliseconds, and a hot endpoint can't starve the others.
+ * <p>
+ * At most {@code maxEndpoints} buckets are kept, the endpoints beyond that share one overflow bucket. A bucket which
+ * is full again behaves exactly like a new one, so {@link #evictIdle()} drops those without losing any state.
+ */
+public class TokenBucketSampler {
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(3);
+
+    private final int samplesPer3Secs;
+    private final int maxEndpoints;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Bucket overflow;
+
+    public TokenBucketSampler(int samplesPer3Secs, int maxEndpoints) {
+        this.samplesPer3Secs = samplesPer3Secs;
+        this.maxEndpoints = maxEndpoints;
+        this.overflow = new Bucket(samplesPer3Secs, System.nanoTime());
+    }
+
+    public int getSamplesPer3Secs() {
+        return samplesPer3Secs;
+    }
+
+    public boolean tryAcquire(String endpoint) {
+        return tryAcquire(endpoint, System.nanoTime());
+    }
+
+    boolean tryAcquire(String endpoint, long now) {
+        return findBucket(endpoint, now).tryAcquire(now);
+    }
+
+    /**
+     * Remove the buckets of the endpoints which have not been sampled since their bucket was refilled.
+     */
+    public void evictIdle() {
+        evictIdle(System.nanoTime());
+    }
+
+    void evictIdle(long now) {
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private Bucket findBucket(String endpoint, long now) {
+        if (endpoint == null) {
+            return overflow;
+        }
+        Bucket bucket = buckets.get(endpoint);
+        if (bucket == null) {
+            if (buckets.size() >= maxEndpoints) {
+                return overflow;
+            }
+            bucket = buckets.computeIfAbsent(endpoint, key -> new Bucket(samplesPer3Secs, now));
+        }
+        return bucket;
+    }
+
+    /**
+     * A token bucket kept as a single "theoretical arrival time" (GCRA): a token is taken by moving it one emission
+     * interval forward with one CAS, and the bucket is empty when it runs ahead of now by more than the burst
+     * tolerance. The whole state is one long, so no burst can take more than the budget of the endpoint.
+     */
+    static class Bucket {
+        private final long emissionIntervalNanos;
+        private final long toleranceNanos;
+        private final AtomicLong arrival;
+
+        Bucket(int samplesPer3Secs, long now) {
+            this.emissionIntervalNanos = WINDOW_NANOS / samplesPer3Secs;
+            // Keep at most one second of the budget as burst, so admissions are spread across the window.
+            long burst = Math.max(1, samplesPer3Secs / 3);
+            this.toleranceNanos = emissionIntervalNanos * (burst - 1);
+            this.arrival = new AtomicLong(now);
+        }
+
+        boolean tryAcquire(long now) {
+            while (true) {
+                long current = arrival.get();
+                if (current - now > toleranceNanos) {
+                    return false;
+                }
+                long next = (current - now < 0 ? now : current) + emissionIntervalNanos;
+                if (arrival.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        boolean isIdle(long now) {
+            return arrival.get() - now <= 0;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Allocation of the active span stack and the finished span list of a typical segment, one entry span with 20 exit
+ * spans, stored in the previous linked lists and in the current array-backed lists. Run with {@link GCProfiler} and
+ * compare the gc.alloc.rate.norm.
+ */
+public class SpanStorageBenchmark {
+    private static final int EXIT_SPANS = 20;
+    private static final Object SPAN = new Object();
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void linkedListStorage(Blackhole bh) {
+        LinkedList<Object> activeSpanStack = new LinkedList<>();
+        LinkedList<Object> spans = new LinkedList<>();
+        activeSpanStack.addLast(SPAN);
+        for (int i = 0; i < EXIT_SPANS; i++) {
+            activeSpanStack.addLast(SPAN);
+            bh.consume(activeSpanStack.getLast());
+            spans.add(activeSpanStack.removeLast());
+        }
+        spans.add(activeSpanStack.removeLast());
+        bh.consume(spans);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void arrayListStorage(Blackhole bh) {
+        ArrayList<Object> activeSpanStack = new ArrayList<>(8);
+        ArrayList<Object> spans = new ArrayList<>();
+        activeSpanStack.add(SPAN);
+        for (int i = 0; i < EXIT_SPANS; i++) {
+            activeSpanStack.add(SPAN);
+            bh.consume(activeSpanStack.get(activeSpanStack.size() - 1));
+            spans.add(activeSpanStack.remove(activeSpanStack.size() - 1));
+        }
+        spans.add(activeSpanStack.remove(activeSpanStack.size() - 1));
+        bh.consume(spans);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(SpanStorageBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
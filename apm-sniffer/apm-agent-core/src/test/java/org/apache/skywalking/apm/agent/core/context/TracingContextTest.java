@@ -18,12 +18,18 @@
 
 package org.apache.skywalking.apm.agent.core.context;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.conf.dynamic.watcher.SpanLimitWatcher;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
 import org.apache.skywalking.apm.agent.core.test.tools.AgentServiceRule;
+import org.apache.skywalking.apm.network.common.v3.KeyStringValuePair;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -80,4 +86,54 @@ public class TracingContextTest {
         }
     }
 
+    @Test
+    public void testExitSpanAggregation() {
+        final List<TraceSegment> segments = new ArrayList<>();
+        TracingContextListener listener = segments::add;
+        TracingContext.ListenerManager.add(listener);
+        Config.Agent.EXIT_SPAN_AGGREGATION = true;
+        try {
+            TracingContext tracingContext = new TracingContext("/url", spanLimitWatcher);
+            AbstractSpan span = tracingContext.createEntrySpan("/url");
+
+            for (int i = 0; i < 2; i++) {
+                AbstractSpan localSpan = tracingContext.createLocalSpan("/java-bean");
+                for (int j = 0; j < 1000; j++) {
+                    AbstractSpan exitSpan = tracingContext.createExitSpan("/redis", "localhost");
+                    tracingContext.stopSpan(exitSpan);
+                }
+                AbstractSpan taggedSpan = tracingContext.createExitSpan("/redis", "localhost");
+                taggedSpan.tag(Tags.DB_STATEMENT, "GET key");
+                tracingContext.stopSpan(taggedSpan);
+                AbstractSpan errorSpan = tracingContext.createExitSpan("/redis", "localhost").errorOccurred();
+                tracingContext.stopSpan(errorSpan);
+                AbstractSpan injectedSpan = tracingContext.createExitSpan("/redis", "localhost");
+                tracingContext.inject(injectedSpan, new ContextCarrier());
+                tracingContext.stopSpan(injectedSpan);
+                tracingContext.stopSpan(localSpan);
+            }
+
+            tracingContext.stopSpan(span);
+
+            Assert.assertEquals(1, segments.size());
+            SegmentObject segment = segments.get(0).transform();
+            // entry, and local, aggregated, tagged, error and injected exit spans per loop
+            Assert.assertEquals(11, segment.getSpansCount());
+            int aggregated = 0;
+            for (SpanObject spanObject : segment.getSpansList()) {
+                Assert.assertTrue(spanObject.getSpanId() < segment.getSpansCount());
+                for (KeyStringValuePair tag : spanObject.getTagsList()) {
+                    if ("aggregated.count".equals(tag.getKey())) {
+                        Assert.assertEquals("1000", tag.getValue());
+                        aggregated++;
+                    }
+                }
+            }
+            Assert.assertEquals(2, aggregated);
+        } finally {
+            Config.Agent.EXIT_SPAN_AGGREGATION = false;
+            TracingContext.ListenerManager.remove(listener);
+        }
+    }
+
 }
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.ids;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * A {@link TraceSegment} generates a segment id and a new trace id. The eager benchmarks render both ids as string,
+ * as the segment did before {@link GlobalId}. Most segments of the entry spans with propagated context never render
+ * the new trace id.
+ */
+@Fork(value = 1, warmups = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class GlobalIdGeneratorBenchmark {
+    @Benchmark
+    public void eagerSegmentIds(Blackhole bh) {
+        bh.consume(GlobalIdGenerator.generate());
+        bh.consume(GlobalIdGenerator.generate());
+    }
+
+    @Benchmark
+    public void lazySegmentIds(Blackhole bh) {
+        bh.consume(GlobalIdGenerator.generateId());
+        bh.consume(GlobalIdGenerator.generateId());
+    }
+
+    @Benchmark
+    public void newTraceSegment(Blackhole bh) {
+        bh.consume(new TraceSegment());
+    }
+
+    @Benchmark
+    public void newTraceSegmentWithSegmentIdRendered(Blackhole bh) {
+        TraceSegment segment = new TraceSegment();
+        bh.consume(segment.getTraceSegmentId());
+    }
+
+    @Benchmark
+    public void newTraceSegmentWithAllIdsRendered(Blackhole bh) {
+        TraceSegment segment = new TraceSegment();
+        bh.consume(segment.getTraceSegmentId());
+        bh.consume(segment.getRelatedGlobalTrace().getId());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(GlobalIdGeneratorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.ids;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GlobalIdGeneratorTest {
+    @Test
+    public void testGenerateId() {
+        GlobalId globalId = GlobalIdGenerator.generateId();
+        String id = globalId.getId();
+
+        assertTrue(id, id.matches("[0-9a-f]{32}\\.\\d+\\.\\d+"));
+        String[] parts = id.split("\\.");
+        assertEquals(String.valueOf(Thread.currentThread().getId()), parts[1]);
+        assertEquals(String.valueOf(globalId.getSequence()), parts[2]);
+        assertSame(id, globalId.getId());
+    }
+
+    @Test
+    public void testSameFormatAsGenerate() {
+        String id = GlobalIdGenerator.generate();
+        String lazyId = GlobalIdGenerator.generateId().getId();
+
+        assertNotEquals(id, lazyId);
+        assertEquals(id.substring(0, id.lastIndexOf('.')), lazyId.substring(0, lazyId.lastIndexOf('.')));
+    }
+
+    @Test
+    public void testNewDistributedTraceId() {
+        NewDistributedTraceId traceId = new NewDistributedTraceId();
+        assertEquals(traceId, new PropagatedTraceId(traceId.getId()));
+        assertEquals(traceId.hashCode(), new PropagatedTraceId(traceId.getId()).hashCode());
+    }
+}
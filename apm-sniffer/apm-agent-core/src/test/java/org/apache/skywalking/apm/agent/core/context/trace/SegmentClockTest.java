@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.trace;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SegmentClockTest {
+
+    @Test
+    public void testFollowsWallClock() {
+        long before = System.currentTimeMillis();
+        SegmentClock clock = new SegmentClock();
+        long after = System.currentTimeMillis();
+
+        Assert.assertTrue(clock.getBaseMillis() >= before && clock.getBaseMillis() <= after);
+        long now = clock.currentTimeMillis();
+        Assert.assertTrue(now >= clock.getBaseMillis());
+        Assert.assertTrue(now - System.currentTimeMillis() < 50);
+    }
+
+    @Test
+    public void testMicrosecondsAreMonotonic() {
+        SegmentClock clock = new SegmentClock();
+        long previous = clock.currentTimeMicros();
+        for (int i = 0; i < 10000; i++) {
+            long current = clock.currentTimeMicros();
+            Assert.assertTrue(current >= previous);
+            previous = current;
+        }
+        Assert.assertEquals(clock.currentTimeMicros() / 1000, clock.currentTimeMillis(), 1);
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.trace;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import io.grpc.Drainable;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.ContextCarrier;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.ContextSnapshot;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.agent.core.remote.TraceSegmentMarshaller;
+import org.apache.skywalking.apm.agent.core.test.tools.AgentServiceRule;
+import org.apache.skywalking.apm.agent.core.test.tools.SegmentStorage;
+import org.apache.skywalking.apm.agent.core.test.tools.SegmentStoragePoint;
+import org.apache.skywalking.apm.agent.core.test.tools.TracingSegmentRunner;
+import org.apache.skywalking.apm.network.common.v3.KeyStringValuePair;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
+import org.apache.skywalking.apm.network.trace.component.ComponentsDefine;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(TracingSegmentRunner.class)
+public class SegmentObjectSerializerTest {
+
+    @SegmentStoragePoint
+    private SegmentStorage tracingData;
+
+    @Rule
+    public AgentServiceRule agentServiceRule = new AgentServiceRule();
+
+    @BeforeClass
+    public static void beforeClass() {
+        Config.Agent.KEEP_TRACING = true;
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        Config.Agent.KEEP_TRACING = false;
+        ServiceManager.INSTANCE.shutdown();
+    }
+
+    @Test
+    public void testSingleSpanSegment() {
+        ContextManager.createEntrySpan("/single", null);
+        ContextManager.stopSpan();
+
+        assertSameAsTransform(tracingData.getTraceSegments().get(0));
+    }
+
+    @Test
+    public void testCrossProcessSegment() {
+        ContextCarrier contextCarrier = new ContextCarrier().deserialize(
+            "1-My40LjU=-MS4yLjM=-3-c2VydmljZQ==-aW5zdGFuY2U=-L2FwcA==-MTI3LjAuMC4xOjgwODA=",
+            ContextCarrier.HeaderVersion.v3
+        );
+        assertTrue(contextCarrier.isValid());
+
+        AbstractSpan entrySpan = ContextManager.createEntrySpan("/testEntry", contextCarrier);
+        entrySpan.setComponent(ComponentsDefine.TOMCAT);
+        Tags.HTTP.METHOD.set(entrySpan, "GET");
+        Tags.URL.set(entrySpan, "127.0.0.1:8080");
+        Tags.HTTP_RESPONSE_STATUS_CODE.set(entrySpan, 500);
+        SpanLayer.asHttp(entrySpan);
+        entrySpan.errorOccurred();
+
+        AbstractSpan localSpan = ContextManager.createLocalSpan("/local/中文");
+        localSpan.tag("nullable", null);
+        Map<String, String> fields = new HashMap<>();
+        fields.put("event", "info");
+        localSpan.log(1L, fields);
+
+        ContextCarrier injectContextCarrier = new ContextCarrier();
+        AbstractSpan exitSpan = ContextManager.createExitSpan(
+            "/testExit", injectContextCarrier, "127.0.0.1:12800");
+        exitSpan.log(new RuntimeException("exception"));
+        exitSpan.setComponent(ComponentsDefine.HTTPCLIENT);
+        SpanLayer.asRPCFramework(exitSpan);
+        exitSpan.skipAnalysis();
+
+        ContextManager.stopSpan();
+        ContextManager.stopSpan();
+        ContextManager.stopSpan();
+
+        assertSameAsTransform(tracingData.getTraceSegments().get(0));
+    }
+
+    @Test
+    public void testExitSpanDurationMicros() {
+        ContextManager.createEntrySpan("/entry", null);
+        ContextManager.createExitSpan("/exit", "127.0.0.1:6379");
+        ContextManager.stopSpan();
+        ContextManager.stopSpan();
+
+        TraceSegment segment = tracingData.getTraceSegments().get(0);
+        assertSameAsTransform(segment);
+        SegmentObject segmentObject = segment.transform();
+        assertEquals(1, countDurationMicrosTags(segmentObject.getSpans(0)));
+        assertEquals(0, countDurationMicrosTags(segmentObject.getSpans(1)));
+
+        Config.Agent.REPORT_DURATION_MICROS = false;
+        try {
+            assertSameAsTransform(segment);
+            assertEquals(0, countDurationMicrosTags(segment.transform().getSpans(0)));
+        } finally {
+            Config.Agent.REPORT_DURATION_MICROS = true;
+        }
+    }
+
+    @Test
+    public void testCrossThreadSegment() throws InterruptedException {
+        ContextManager.createEntrySpan("/parent", null);
+        final ContextSnapshot snapshot = ContextManager.capture();
+        Thread thread = new Thread(() -> {
+            AbstractSpan span = ContextManager.createLocalSpan("/child");
+            ContextManager.continued(snapshot);
+            SpanLayer.asCache(span);
+            ContextManager.stopSpan();
+        });
+        thread.start();
+        thread.join();
+        ContextManager.stopSpan();
+
+        assertEquals(2, tracingData.getTraceSegments().size());
+        for (TraceSegment segment : tracingData.getTraceSegments()) {
+            assertSameAsTransform(segment);
+        }
+    }
+
+    private static int countDurationMicrosTags(SpanObject span) {
+        int count = 0;
+        for (KeyStringValuePair tag : span.getTagsList()) {
+            if (AbstractTracingSpan.DURATION_MICROS_TAG.equals(tag.getKey())) {
+                assertTrue(Long.parseLong(tag.getValue()) >= 0);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void assertSameAsTransform(TraceSegment segment) {
+        byte[] expected = segment.transform().toByteArray();
+        SegmentObjectSerializer serializer = new SegmentObjectSerializer(segment);
+
+        assertEquals(expected.length, serializer.getSerializedSize());
+        assertArrayEquals(expected, serializer.toByteArray());
+        assertArrayEquals(expected, drain(segment));
+        assertArrayEquals(expected, read(segment));
+    }
+
+    private byte[] drain(TraceSegment segment) {
+        try {
+            InputStream stream = TraceSegmentMarshaller.COLLECT_METHOD.streamRequest(segment);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ((Drainable) stream).drainTo(output);
+            return output.toByteArray();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private byte[] read(TraceSegment segment) {
+        try {
+            InputStream stream = TraceSegmentMarshaller.COLLECT_METHOD.streamRequest(segment);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            int b;
+            while ((b = stream.read()) != -1) {
+                output.write(b);
+            }
+            return output.toByteArray();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
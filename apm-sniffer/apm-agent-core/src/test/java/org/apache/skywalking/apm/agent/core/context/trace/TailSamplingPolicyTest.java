@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.trace;
+
+import org.apache.skywalking.apm.agent.core.context.CarrierItem;
+import org.apache.skywalking.apm.agent.core.context.ContextCarrier;
+import org.apache.skywalking.apm.agent.core.context.SW8CarrierItem;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TailSamplingPolicyTest {
+
+    @Test
+    public void testCrossProcessParentIsKeptOnlyIfEnabled() {
+        TraceSegment segment = new TraceSegment();
+        segment.ref(new TraceSegmentRef(carrier()));
+
+        Assert.assertNull(new TailSamplingPolicy(0, true, "", false).decide(segment));
+        Assert.assertEquals(
+            TailSamplingPolicy.Reason.CROSS_PROCESS, new TailSamplingPolicy(0, true, "", true).decide(segment));
+    }
+
+    @Test
+    public void testSegmentWithoutParentIsNotKept() {
+        Assert.assertNull(new TailSamplingPolicy(0, true, "", true).decide(new TraceSegment()));
+    }
+
+    private static ContextCarrier carrier() {
+        ContextCarrier carrier = new ContextCarrier();
+        CarrierItem next = carrier.items();
+        while (next.hasNext()) {
+            next = next.next();
+            if (SW8CarrierItem.HEADER_NAME.equals(next.getHeadKey())) {
+                next.setHeadValue("1-My40LjU=-MS4yLjM=-3-c2VydmljZQ==-aW5zdGFuY2U=-L2FwcA==-MTI3LjAuMC4xOjgwODA=");
+            }
+        }
+        return carrier;
+    }
+}
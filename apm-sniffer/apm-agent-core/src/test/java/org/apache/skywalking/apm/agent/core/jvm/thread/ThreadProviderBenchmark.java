@@ -18,19 +18,64 @@
 
 package org.apache.skywalking.apm.agent.core.jvm.thread;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
-import java.util.concurrent.TimeUnit;
-
+/**
+ * Counting the thread states of a JVM with the given number of extra parked threads, through the per thread {@link
+ * ThreadInfo}s the provider used to get, and through the provider enumerating the threads. Run with {@link GCProfiler}
+ * and compare the gc.alloc.rate.norm too.
+ */
+@State(Scope.Benchmark)
 public class ThreadProviderBenchmark {
+    @Param({"0", "3000"})
+    private int extraThreads;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    @Setup(Level.Trial)
+    public void startThreads() {
+        running = true;
+        for (int i = 0; i < extraThreads; i++) {
+            Thread thread = new Thread(() -> {
+                while (running) {
+                    LockSupport.park();
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopThreads() {
+        running = false;
+        threads.forEach(LockSupport::unpark);
+        threads.clear();
+    }
 
     @Benchmark
     @Fork(value = 5, warmups = 3)
@@ -40,8 +85,24 @@ public class ThreadProviderBenchmark {
         bh.consume(ThreadProvider.INSTANCE.getThreadMetrics());
     }
 
+    @Benchmark
+    @Fork(value = 5, warmups = 3)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @BenchmarkMode(Mode.Throughput)
+    public void getThreadInfos(Blackhole bh) {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        int runnable = 0;
+        for (ThreadInfo threadInfo : threadMXBean.getThreadInfo(threadMXBean.getAllThreadIds(), 0)) {
+            if (threadInfo != null && threadInfo.getThreadState() == Thread.State.RUNNABLE) {
+                runnable++;
+            }
+        }
+        bh.consume(runnable);
+    }
+
     public static void main(String[] args) throws Exception {
         Options opt = new OptionsBuilder().include(ThreadProviderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
                 .build();
         new Runner(opt).run();
     }
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.meter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import org.apache.skywalking.apm.agent.core.context.util.FieldGetter;
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AgentMetersTest {
+    private final MeterService meterService = new MeterService();
+
+    @After
+    public void after() {
+        AgentMeters.unregister();
+    }
+
+    @Test
+    public void testRegisterExistingAndLaterMeters() throws Exception {
+        AgentMeters.register(meterService);
+        final Map<MeterId, BaseMeter> meterMap = FieldGetter.getValue(meterService, "meterMap");
+        Assert.assertSame(AgentMeters.CREATED_SPANS, meterMap.get(AgentMeters.CREATED_SPANS.getId()));
+        Assert.assertSame(AgentMeters.SAMPLED_CONTEXTS, meterMap.get(AgentMeters.SAMPLED_CONTEXTS.getId()));
+        Assert.assertSame(AgentMeters.IGNORED_CONTEXTS, meterMap.get(AgentMeters.IGNORED_CONTEXTS.getId()));
+
+        AgentMeters.dropped("test-register");
+        AgentMeters.dropped("test-register");
+        final Counter dropped = (Counter) meterMap.get(new MeterId(
+            "agent_buffer_dropped", MeterType.COUNTER, Arrays.asList(new MeterTag("channel", "test-register"))));
+        Assert.assertNotNull(dropped);
+        Assert.assertEquals(2d, dropped.get(), 0d);
+    }
+
+    @Test
+    public void testInterceptorErrorsByPlugin() throws Exception {
+        AgentMeters.register(meterService);
+        AgentMeters.registerInterceptor(TestInterceptor.class.getName(), "test-plugin");
+
+        AgentMeters.interceptorError(new TestInterceptor());
+        AgentMeters.interceptorError(new Object());
+
+        final Map<MeterId, BaseMeter> meterMap = FieldGetter.getValue(meterService, "meterMap");
+        final Counter errors = (Counter) meterMap.get(new MeterId(
+            "agent_interceptor_errors", MeterType.COUNTER, Arrays.asList(new MeterTag("plugin", "test-plugin"))));
+        Assert.assertEquals(1d, errors.get(), 0d);
+        Assert.assertNotNull(meterMap.get(new MeterId(
+            "agent_interceptor_errors", MeterType.COUNTER, Arrays.asList(new MeterTag("plugin", "unknown")))));
+    }
+
+    @Test
+    public void testWatchReplacedCarrier() throws Exception {
+        AgentMeters.register(meterService);
+        final DataCarrier<String> first = new DataCarrier<>(1, 10);
+        first.produce("a");
+        AgentMeters.watch("test-watch", first);
+        final DataCarrier<String> second = new DataCarrier<>(1, 10);
+        second.produce("a");
+        second.produce("b");
+        AgentMeters.watch("test-watch", second);
+
+        final Map<MeterId, BaseMeter> meterMap = FieldGetter.getValue(meterService, "meterMap");
+        final Gauge occupancy = (Gauge) meterMap.get(new MeterId(
+            "agent_buffer_occupancy", MeterType.GAUGE, Collections.singletonList(new MeterTag("channel", "test-watch"))));
+        Assert.assertEquals(2d, occupancy.get(), 0d);
+    }
+
+    private static class TestInterceptor {
+    }
+}
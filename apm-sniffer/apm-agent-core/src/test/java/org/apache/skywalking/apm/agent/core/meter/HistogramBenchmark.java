@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.meter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 32 threads recording into one histogram of doubling steps, with one {@link AtomicLong} per bucket found by binary
+ * search as before, and with the striped {@link Histogram}.
+ */
+@State(Scope.Benchmark)
+public class HistogramBenchmark {
+    private static final List<Double> STEPS = Arrays.asList(
+        0d, 1d, 2d, 4d, 8d, 16d, 32d, 64d, 128d, 256d, 512d, 1024d, 2048d, 4096d);
+
+    private final Histogram histogram = new Histogram(
+        new MeterId("benchmark", MeterType.HISTOGRAM, Collections.emptyList()), STEPS);
+    private final double[] bounds = STEPS.stream().mapToDouble(Double::doubleValue).toArray();
+    private final AtomicLong[] atomicBuckets = new AtomicLong[bounds.length];
+
+    {
+        for (int i = 0; i < atomicBuckets.length; i++) {
+            atomicBuckets[i] = new AtomicLong();
+        }
+    }
+
+    @Benchmark
+    @Threads(32)
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void atomicBucketsAddValue() {
+        double value = ThreadLocalRandom.current().nextInt(5000);
+        int low = 0;
+        int high = bounds.length - 1;
+        while (low <= high) {
+            int mid = (low + high) / 2;
+            if (bounds[mid] < value) {
+                low = mid + 1;
+            } else if (bounds[mid] > value) {
+                high = mid - 1;
+            } else {
+                atomicBuckets[mid].incrementAndGet();
+                return;
+            }
+        }
+        atomicBuckets[low - 1].incrementAndGet();
+    }
+
+    @Benchmark
+    @Threads(32)
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void stripedHistogramAddValue() {
+        histogram.addValue(ThreadLocalRandom.current().nextInt(5000));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(HistogramBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+}
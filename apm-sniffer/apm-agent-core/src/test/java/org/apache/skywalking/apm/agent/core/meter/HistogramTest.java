@@ -18,7 +18,9 @@
 
 package org.apache.skywalking.apm.agent.core.meter;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
@@ -80,6 +82,55 @@ public class HistogramTest {
         verifyHistogram("test", labels, Arrays.asList(1d, 2d, 5d), Arrays.asList(1L, 2L, 2L), histogram.transform());
     }
 
+    @Test
+    public void testFindBucket() {
+        final List<List<Double>> stepsList = Arrays.asList(
+            Arrays.asList(10d, 20d, 30d, 40d, 50d),
+            Arrays.asList(1d, 2d, 4d, 8d, 16d, 32d),
+            Arrays.asList(1d, 3d, 7d, 20d, 100d)
+        );
+        for (List<Double> steps : stepsList) {
+            final Histogram histogram = new Histogram(
+                new MeterId("test", MeterType.HISTOGRAM, Collections.emptyList()), withMinValue(steps));
+            Assert.assertEquals(-1, histogram.findBucket(-1));
+            for (double value = 0; value < 200; value += 0.5) {
+                int expected = 0;
+                for (int i = 0; i < steps.size(); i++) {
+                    if (steps.get(i) <= value) {
+                        expected = i + 1;
+                    }
+                }
+                Assert.assertEquals("value " + value + " of " + steps, expected, histogram.findBucket(value));
+            }
+        }
+    }
+
+    @Test
+    public void testSnapshotAndReset() {
+        final Histogram histogram = MeterFactory.histogram("test").steps(Arrays.asList(2d, 5d)).build();
+        histogram.addValue(1);
+        histogram.addValue(3);
+        histogram.addValue(3);
+
+        final long[] counts = new long[histogram.getBucketCount()];
+        histogram.snapshot(counts);
+        Assert.assertArrayEquals(new long[] {1, 2, 0}, counts);
+
+        histogram.snapshotAndReset(counts);
+        Assert.assertArrayEquals(new long[] {1, 2, 0}, counts);
+
+        histogram.addValue(6);
+        histogram.snapshotAndReset(counts);
+        Assert.assertArrayEquals(new long[] {0, 0, 1}, counts);
+    }
+
+    private static List<Double> withMinValue(List<Double> steps) {
+        final List<Double> buckets = new ArrayList<>();
+        buckets.add(0d);
+        buckets.addAll(steps);
+        return buckets;
+    }
+
     /**
      * Check histogram message
      */
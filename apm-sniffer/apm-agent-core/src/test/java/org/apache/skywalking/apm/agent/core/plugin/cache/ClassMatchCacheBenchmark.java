@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.pool.TypePool;
+import org.apache.skywalking.apm.agent.core.plugin.match.HierarchyMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.ProtectiveShieldMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Simulates the matching stage of an application start, every class goes through the class file hashing and the
+ * plugin matchers, without and with a warm class match cache. The matchers are hierarchy matches, which resolve the
+ * super types of every class through the type pool, like most of the plugins do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClassMatchCacheBenchmark {
+    private static final Class<?>[] CLASSES = {
+        java.util.ArrayList.class, java.util.LinkedList.class, java.util.HashMap.class, java.util.TreeMap.class,
+        java.util.concurrent.ConcurrentHashMap.class, java.util.concurrent.ThreadPoolExecutor.class,
+        java.util.concurrent.ScheduledThreadPoolExecutor.class, java.io.BufferedInputStream.class,
+        java.io.BufferedReader.class, java.io.PrintStream.class, java.net.URLClassLoader.class,
+        java.net.HttpURLConnection.class, java.util.zip.ZipFile.class, java.util.Formatter.class,
+        java.text.SimpleDateFormat.class, java.math.BigDecimal.class
+    };
+
+    @State(Scope.Benchmark)
+    public static class MatchState {
+        private byte[][] classFiles;
+        private AgentBuilder.RawMatcher plain;
+        private AgentBuilder.RawMatcher cached;
+        private ClassFileHashingStrategy hashing;
+
+        @Setup
+        public void setup() throws IOException {
+            classFiles = new byte[CLASSES.length][];
+            for (int i = 0; i < CLASSES.length; i++) {
+                classFiles[i] = read(CLASSES[i]);
+            }
+            ElementMatcher.Junction judge = HierarchyMatch.byHierarchyMatch("javax.servlet.Servlet").buildJunction();
+            for (String parentType : new String[] {
+                "javax.servlet.Filter", "java.sql.Driver", "java.sql.Connection", "org.apache.http.HttpClient",
+                "feign.Client", "org.springframework.web.servlet.HandlerAdapter", "io.grpc.ClientCall",
+                "com.mongodb.client.MongoClient", "redis.clients.jedis.commands.JedisCommands"
+            }) {
+                judge = judge.or(HierarchyMatch.byHierarchyMatch(parentType).buildJunction());
+            }
+            plain = new AgentBuilder.RawMatcher.ForElementMatchers(new ProtectiveShieldMatcher(judge));
+            hashing = new ClassFileHashingStrategy(AgentBuilder.ClassFileBufferStrategy.Default.RETAINING);
+            cached = new CachedTypeMatcher(plain, ClassMatchCache.load(
+                Files.createTempDirectory("class-match-cache").toFile(), "benchmark", 1000));
+            // warm up the cache, as the previous start would have saved it
+            match(cached);
+        }
+
+        private int match(AgentBuilder.RawMatcher matcher) {
+            int matched = 0;
+            for (int i = 0; i < CLASSES.length; i++) {
+                String name = CLASSES[i].getName();
+                ClassFileLocator locator = new ClassFileLocator.Compound(
+                    hashing.resolve(name, classFiles[i], null, null, null),
+                    ClassFileLocator.ForClassLoader.ofSystemLoader()
+                );
+                TypeDescription typeDescription = new TypePool.Default.WithLazyResolution(
+                    new TypePool.CacheProvider.Simple(), locator, TypePool.Default.ReaderMode.FAST).describe(name)
+                                                                                                  .resolve();
+                if (matcher.matches(typeDescription, null, null, null, null)) {
+                    matched++;
+                }
+            }
+            return matched;
+        }
+
+        private static byte[] read(Class<?> clazz) throws IOException {
+            try (InputStream in = ClassLoader.getSystemResourceAsStream(clazz.getName().replace('.', '/') + ".class")) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int length;
+                while ((length = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, length);
+                }
+                return out.toByteArray();
+            }
+        }
+    }
+
+    @Benchmark
+    public void withoutCache(Blackhole bh, MatchState state) {
+        bh.consume(state.match(state.plain));
+    }
+
+    @Benchmark
+    public void withCache(Blackhole bh, MatchState state) {
+        bh.consume(state.match(state.cached));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(ClassMatchCacheBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
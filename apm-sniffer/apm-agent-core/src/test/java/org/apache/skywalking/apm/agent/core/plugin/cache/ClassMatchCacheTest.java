@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.cache;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassMatchCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        File dir = folder.newFolder();
+        ClassMatchCache cache = ClassMatchCache.load(dir, "test", 100);
+        long key = cache.key("a.B", 1L, Collections.singletonList("java.lang.Object"));
+        Assert.assertFalse(cache.isUnmatched(key));
+        cache.recordUnmatched(key);
+        Assert.assertTrue(cache.isUnmatched(key));
+        cache.save();
+        Assert.assertTrue(cache.getFile().isFile());
+
+        ClassMatchCache reloaded = ClassMatchCache.load(dir, "test", 100);
+        Assert.assertEquals(1, reloaded.size());
+        Assert.assertTrue(reloaded.isUnmatched(
+            reloaded.key("a.B", 1L, Collections.singletonList("java.lang.Object"))));
+        Assert.assertFalse(reloaded.isUnmatched(
+            reloaded.key("a.B", 2L, Collections.singletonList("java.lang.Object"))));
+
+        Assert.assertEquals(0, ClassMatchCache.load(dir, "other", 100).size());
+    }
+
+    @Test
+    public void testSuperTypeChangeInvalidatesSubType() {
+        ClassMatchCache first = ClassMatchCache.load(folder.getRoot(), "test", 100);
+        first.key("a.Base", 1L, Collections.singletonList("java.lang.Object"));
+        first.key("a.Parent", 1L, Collections.singletonList("a.Base"));
+        first.key("a.Api", 1L, Collections.<String>emptyList());
+        long child = first.key("a.Child", 10L, Arrays.asList("a.Parent", "a.Api"));
+        Assert.assertNotEquals(0, child);
+
+        // an indirect ancestor changes
+        ClassMatchCache second = ClassMatchCache.load(folder.getRoot(), "test", 100);
+        second.key("a.Base", 2L, Collections.singletonList("java.lang.Object"));
+        second.key("a.Parent", 1L, Collections.singletonList("a.Base"));
+        second.key("a.Api", 1L, Collections.<String>emptyList());
+        Assert.assertNotEquals(child, second.key("a.Child", 10L, Arrays.asList("a.Parent", "a.Api")));
+
+        ClassMatchCache third = ClassMatchCache.load(folder.getRoot(), "test", 100);
+        third.key("a.Base", 1L, Collections.singletonList("java.lang.Object"));
+        third.key("a.Parent", 1L, Collections.singletonList("a.Base"));
+        third.key("a.Api", 1L, Collections.<String>emptyList());
+        Assert.assertEquals(child, third.key("a.Child", 10L, Arrays.asList("a.Parent", "a.Api")));
+    }
+
+    @Test
+    public void testUnknownSuperTypeIsNotCached() {
+        ClassMatchCache cache = ClassMatchCache.load(folder.getRoot(), "test", 100);
+        Assert.assertEquals(0, cache.key("a.Child", 10L, Collections.singletonList("a.Parent")));
+        // the ancestors of a sub type are unknown too
+        Assert.assertEquals(0, cache.key("a.GrandChild", 11L, Collections.singletonList("a.Child")));
+
+        // known once the super type has gone through the matcher
+        cache.key("a.Parent", 1L, Collections.singletonList("java.lang.Object"));
+        Assert.assertNotEquals(0, cache.key("a.Child2", 12L, Collections.singletonList("a.Parent")));
+    }
+
+    @Test
+    public void testAmbiguousClassIsNotCached() {
+        ClassMatchCache cache = ClassMatchCache.load(folder.getRoot(), "test", 100);
+        Assert.assertNotEquals(0, cache.key("a.Parent", 1L, Collections.<String>emptyList()));
+        Assert.assertNotEquals(0, cache.key("a.Parent", 1L, Collections.<String>emptyList()));
+        Assert.assertEquals(0, cache.key("a.Parent", 2L, Collections.<String>emptyList()));
+        Assert.assertEquals(0, cache.key("a.Parent", 1L, Collections.<String>emptyList()));
+        Assert.assertEquals(0, cache.key("a.Child", 3L, Collections.singletonList("a.Parent")));
+
+        cache.recordUnmatched(0);
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testMaxSize() {
+        ClassMatchCache cache = ClassMatchCache.load(folder.getRoot(), "test", 2);
+        for (int i = 0; i < 5; i++) {
+            cache.recordUnmatched(cache.key("a.C" + i, i, Collections.<String>emptyList()));
+        }
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testBrokenFileIsIgnored() throws IOException {
+        ClassMatchCache cache = ClassMatchCache.load(folder.getRoot(), "test", 100);
+        try (FileOutputStream out = new FileOutputStream(cache.getFile())) {
+            out.write(new byte[] {1, 2, 3});
+        }
+        Assert.assertEquals(0, ClassMatchCache.load(folder.getRoot(), "test", 100).size());
+    }
+
+    @Test
+    public void testHash() {
+        byte[] classFile = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 52};
+        long hash = ClassMatchCache.hash(classFile);
+        Assert.assertEquals(hash, ClassMatchCache.hash(classFile.clone()));
+        classFile[7] = 53;
+        Assert.assertNotEquals(hash, ClassMatchCache.hash(classFile));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.MethodDelegation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+/**
+ * The overhead of the interceptor dispatch, a plain call against the same call enhanced by {@link InstMethodsInter}
+ * with an interceptor doing nothing. Run with <code>-prof gc</code> to see the allocation per call, the dispatcher
+ * itself doesn't allocate any more, the remaining is the arguments array and the super call of ByteBuddy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InterceptorDispatchBenchmark {
+
+    @State(Scope.Thread)
+    public static class TargetState {
+        private Target plain;
+        private Target intercepted;
+        private int argument;
+
+        @Setup
+        public void setup() throws Exception {
+            plain = new Target();
+            intercepted = new ByteBuddy().subclass(Target.class)
+                                         .defineField("_$EnhancedClassField_ws", Object.class)
+                                         .implement(EnhancedInstance.class)
+                                         .intercept(FieldAccessor.ofField("_$EnhancedClassField_ws"))
+                                         .method(named("work"))
+                                         .intercept(MethodDelegation.to(new InstMethodsInter(
+                                             NoopInterceptor.class.getName(), Target.class.getClassLoader())))
+                                         .make()
+                                         .load(Target.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                                         .getLoaded()
+                                         .getDeclaredConstructor()
+                                         .newInstance();
+        }
+    }
+
+    @Benchmark
+    public void plainCall(Blackhole bh, TargetState state) {
+        bh.consume(state.plain.work(state.argument++, "arg"));
+    }
+
+    @Benchmark
+    public void interceptedCall(Blackhole bh, TargetState state) {
+        bh.consume(state.intercepted.work(state.argument++, "arg"));
+    }
+
+    public static class Target {
+        public int work(int value, String text) {
+            return value + text.length();
+        }
+    }
+
+    public static class NoopInterceptor implements InstanceMethodsAroundInterceptor {
+        @Override
+        public void beforeMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                 Class<?>[] argumentsTypes, MethodInterceptResult result) {
+        }
+
+        @Override
+        public Object afterMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                  Class<?>[] argumentsTypes, Object ret) {
+            return ret;
+        }
+
+        @Override
+        public void handleMethodException(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                          Class<?>[] argumentsTypes, Throwable t) {
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(InterceptorDispatchBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
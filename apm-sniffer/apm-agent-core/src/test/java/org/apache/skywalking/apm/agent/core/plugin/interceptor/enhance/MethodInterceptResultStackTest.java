@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MethodInterceptResultStackTest {
+
+    @Test
+    public void testReuseAcrossCalls() {
+        MethodInterceptResultStack stack = MethodInterceptResultStack.current();
+        Assert.assertSame(stack, MethodInterceptResultStack.current());
+
+        MethodInterceptResult first = stack.push();
+        first.defineReturnValue("ret");
+        stack.pop();
+
+        MethodInterceptResult second = stack.push();
+        Assert.assertSame(first, second);
+        Assert.assertTrue(second.isContinue());
+        Assert.assertNull(second._ret());
+        stack.pop();
+    }
+
+    @Test
+    public void testNestedCallsKeepTheirOwnResult() {
+        MethodInterceptResultStack stack = MethodInterceptResultStack.current();
+        MethodInterceptResult outer = stack.push();
+        outer.defineReturnValue("outer");
+
+        // calls nested in beforeMethod, deeper than the initial capacity
+        MethodInterceptResult[] nested = new MethodInterceptResult[6];
+        for (int i = 0; i < nested.length; i++) {
+            nested[i] = stack.push();
+            Assert.assertNotSame(outer, nested[i]);
+            nested[i].defineReturnValue(i);
+        }
+        for (int i = nested.length - 1; i >= 0; i--) {
+            Assert.assertEquals(i, nested[i]._ret());
+            stack.pop();
+        }
+
+        Assert.assertFalse(outer.isContinue());
+        Assert.assertEquals("outer", outer._ret());
+        stack.pop();
+    }
+
+    @Test
+    public void testThreadsHaveTheirOwnStack() throws InterruptedException {
+        MethodInterceptResultStack[] other = new MethodInterceptResultStack[1];
+        Thread thread = new Thread(() -> other[0] = MethodInterceptResultStack.current());
+        thread.start();
+        thread.join();
+        Assert.assertNotNull(other[0]);
+        Assert.assertNotSame(MethodInterceptResultStack.current(), other[0]);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.lang.reflect.Method;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParameterTypesCacheTest {
+
+    @Test
+    public void testCachedByMethod() throws NoSuchMethodException {
+        ParameterTypesCache cache = new ParameterTypesCache();
+        Method indexOf = String.class.getMethod("indexOf", String.class, int.class);
+        Method substring = String.class.getMethod("substring", int.class);
+
+        Class<?>[] indexOfTypes = cache.get(indexOf);
+        Assert.assertArrayEquals(new Class<?>[] {String.class, int.class}, indexOfTypes);
+        Assert.assertSame(indexOfTypes, cache.get(indexOf));
+        Assert.assertArrayEquals(new Class<?>[] {int.class}, cache.get(substring));
+        Assert.assertSame(indexOfTypes, cache.get(indexOf));
+    }
+
+    @Test
+    public void testMoreMethodsThanCached() {
+        ParameterTypesCache cache = new ParameterTypesCache();
+        Method[] methods = String.class.getMethods();
+        Assert.assertTrue(methods.length > 16);
+        for (int round = 0; round < 3; round++) {
+            for (Method method : methods) {
+                Assert.assertArrayEquals(method.getParameterTypes(), cache.get(method));
+            }
+        }
+        Assert.assertSame(cache.get(methods[0]), cache.get(methods[0]));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.loader;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AgentClassLoaderTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testFindResource() throws IOException {
+        File plugins = folder.newFolder();
+        writeJar(new File(plugins, "a.jar"), "a/b.txt", "a-b");
+
+        AgentClassLoader loader = new AgentClassLoader(null, Collections.singletonList(plugins));
+        URL resource = loader.getResource("a/b.txt");
+        Assert.assertNotNull(resource);
+        Assert.assertEquals("a-b", read(resource));
+        Assert.assertNotNull(loader.getResource("a/"));
+        Assert.assertNull(loader.getResource("a/c.txt"));
+    }
+
+    @Test
+    public void testDuplicateResourcesKeepClasspathOrder() throws IOException {
+        File first = folder.newFolder();
+        File second = folder.newFolder();
+        writeJar(new File(first, "first.jar"), "dup.txt", "first");
+        writeJar(new File(second, "second.jar"), "dup.txt", "second");
+
+        AgentClassLoader loader = new AgentClassLoader(null, Arrays.asList(first, second));
+        Assert.assertEquals("first", read(loader.getResource("dup.txt")));
+
+        List<String> contents = new ArrayList<>();
+        Enumeration<URL> resources = loader.getResources("dup.txt");
+        while (resources.hasMoreElements()) {
+            contents.add(read(resources.nextElement()));
+        }
+        Assert.assertEquals(Arrays.asList("first", "second"), contents);
+    }
+
+    @Test
+    public void testCorruptJarIsSkipped() throws IOException {
+        File plugins = folder.newFolder();
+        try (FileOutputStream out = new FileOutputStream(new File(plugins, "corrupt.jar"))) {
+            out.write("not a jar".getBytes(StandardCharsets.UTF_8));
+        }
+        writeJar(new File(plugins, "good.jar"), "good.txt", "good");
+
+        AgentClassLoader loader = new AgentClassLoader(null, Collections.singletonList(plugins));
+        Assert.assertEquals("good", read(loader.getResource("good.txt")));
+    }
+
+    @Test
+    public void testInterruptedScanIsNotCached() throws IOException {
+        File first = folder.newFolder();
+        File second = folder.newFolder();
+        writeJar(new File(first, "first.jar"), "first.txt", "first");
+        writeJar(new File(second, "second.jar"), "second.txt", "second");
+
+        AgentClassLoader loader = new AgentClassLoader(null, Arrays.asList(first, second));
+        Thread.currentThread().interrupt();
+        try {
+            loader.getResource("first.txt");
+        } finally {
+            Thread.interrupted();
+        }
+        Assert.assertEquals("first", read(loader.getResource("first.txt")));
+        Assert.assertEquals("second", read(loader.getResource("second.txt")));
+    }
+
+    private static void writeJar(File file, String entryName, String content) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(file))) {
+            int index = entryName.lastIndexOf('/');
+            if (index > 0) {
+                out.putNextEntry(new JarEntry(entryName.substring(0, index + 1)));
+                out.closeEntry();
+            }
+            out.putNextEntry(new JarEntry(entryName));
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+    }
+
+    private static String read(URL resource) throws IOException {
+        try (InputStream in = resource.openStream()) {
+            byte[] data = new byte[64];
+            int length = in.read(data);
+            return new String(data, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.match;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.StubMethod;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.pool.TypePool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static net.bytebuddy.matcher.ElementMatchers.isInterface;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+
+/**
+ * Matches a synthetic class path of 50k classes against 240 plugin matches, with the linear junction built by
+ * PluginFinder before, and with the {@link IndirectMatchIndex}. Every operation matches all the 50k classes, each one
+ * described by a fresh type pool like a class loading does.
+ * <p>
+ * The classes extend one of 100 synthetic base classes, implement up to two of 100 synthetic interfaces, and a part of
+ * them are annotated on the class or on a method. The plugins are 100 hierarchy matches, 40 class annotation matches,
+ * 20 method annotation matches, 40 prefix matches, 36 multiple class name matches and 4 regex matches, most of them
+ * for the libraries absent from the class path, as in a real application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class IndirectMatchIndexBenchmark {
+    private static final int CLASS_COUNT = 50000;
+    private static final int BASE_COUNT = 100;
+
+    @State(Scope.Benchmark)
+    public static class ClassPathState {
+        private String[] classNames;
+        private ClassFileLocator classFileLocator;
+        private ElementMatcher<TypeDescription> linear;
+        private ElementMatcher<TypeDescription> indexed;
+
+        @Setup
+        public void setup() {
+            Random random = new Random(7);
+            Map<String, byte[]> classFiles = new HashMap<String, byte[]>();
+            ByteBuddy byteBuddy = new ByteBuddy();
+            List<String> interfaces = new ArrayList<String>();
+            List<String> bases = new ArrayList<String>();
+            for (int i = 0; i < BASE_COUNT; i++) {
+                DynamicType.Unloaded<?> api = byteBuddy.makeInterface().name("bench.api.Api" + i).make();
+                classFiles.put(api.getTypeDescription().getName(), api.getBytes());
+                interfaces.add(api.getTypeDescription().getName());
+                DynamicType.Unloaded<?> base = byteBuddy.subclass(Object.class).name("bench.base.Base" + i).make();
+                classFiles.put(base.getTypeDescription().getName(), base.getBytes());
+                bases.add(base.getTypeDescription().getName());
+            }
+            List<TypeDescription> annotations = new ArrayList<TypeDescription>();
+            for (int i = 0; i < 10; i++) {
+                DynamicType.Unloaded<?> annotation = byteBuddy.makeAnnotation()
+                                                              .name("bench.ann.Ann" + i)
+                                                              .annotateType(AnnotationDescription.Builder.ofType(Retention.class)
+                                                                                                         .define("value", RetentionPolicy.RUNTIME)
+                                                                                                         .build())
+                                                              .make();
+                classFiles.put(annotation.getTypeDescription().getName(), annotation.getBytes());
+                annotations.add(annotation.getTypeDescription());
+            }
+
+            TypePool basePool = TypePool.Default.of(ClassFileLocator.Simple.of(classFiles));
+            classNames = new String[CLASS_COUNT];
+            for (int i = 0; i < CLASS_COUNT; i++) {
+                String name = "bench.app" + (i % 500) + ".Class" + i;
+                DynamicType.Builder<?> builder = byteBuddy.subclass(basePool.describe(bases.get(random.nextInt(BASE_COUNT))).resolve())
+                                                          .name(name);
+                int interfaceCount = random.nextInt(3);
+                for (int j = 0; j < interfaceCount; j++) {
+                    builder = builder.implement(basePool.describe(interfaces.get(random.nextInt(BASE_COUNT))).resolve());
+                }
+                if (random.nextInt(10) == 0) {
+                    builder = builder.annotateType(AnnotationDescription.Builder.ofType(annotations.get(random.nextInt(10))).build());
+                }
+                DynamicType.Builder.MethodDefinition<?> method = builder.defineMethod("work", void.class, Visibility.PUBLIC)
+                                                                        .intercept(StubMethod.INSTANCE);
+                if (random.nextInt(10) == 0) {
+                    builder = method.annotateMethod(AnnotationDescription.Builder.ofType(annotations.get(random.nextInt(10))).build());
+                } else {
+                    builder = method;
+                }
+                classFiles.put(name, builder.make().getBytes());
+                classNames[i] = name;
+            }
+            classFileLocator = ClassFileLocator.Simple.of(classFiles);
+
+            List<IndirectMatch> matches = new ArrayList<IndirectMatch>();
+            for (int i = 0; i < 100; i++) {
+                // one in ten plugins targets a type on the class path
+                matches.add(HierarchyMatch.byHierarchyMatch(i % 10 == 0 ? interfaces.get(i) : "com.vendor" + i + ".Client"));
+            }
+            for (int i = 0; i < 40; i++) {
+                matches.add(ClassAnnotationMatch.byClassAnnotationMatch(i < 5 ? "bench.ann.Ann" + i : "com.vendor" + i + ".Component"));
+            }
+            for (int i = 0; i < 20; i++) {
+                matches.add(MethodAnnotationMatch.byMethodAnnotationMatch(i < 5 ? "bench.ann.Ann" + (i + 5) : "com.vendor" + i + ".Trace"));
+            }
+            for (int i = 0; i < 40; i++) {
+                matches.add(PrefixMatch.nameStartsWith("com.vendor" + i + ".internal.", "org.vendor" + i + "."));
+            }
+            for (int i = 0; i < 36; i++) {
+                matches.add(MultiClassNameMatch.byMultiClassMatch("com.vendor" + i + ".Pool", "com.vendor" + i + ".Executor"));
+            }
+            for (int i = 0; i < 4; i++) {
+                matches.add(RegexMatch.byRegexMatch("com\\.vendor" + i + "\\..*Handler"));
+            }
+
+            ElementMatcher.Junction judge = null;
+            final IndirectMatchIndex<IndirectMatch> index = new IndirectMatchIndex<IndirectMatch>();
+            final Map<IndirectMatch, ElementMatcher<? super TypeDescription>> junctions = new IdentityHashMap<IndirectMatch, ElementMatcher<? super TypeDescription>>();
+            for (IndirectMatch match : matches) {
+                judge = judge == null ? match.buildJunction() : judge.or(match.buildJunction());
+                index.add(match, match);
+                junctions.put(match, match.buildJunction());
+            }
+            linear = new ProtectiveShieldMatcher<TypeDescription>(judge.and(not(isInterface())));
+            indexed = new ProtectiveShieldMatcher<TypeDescription>(new ElementMatcher<TypeDescription>() {
+                @Override
+                public boolean matches(TypeDescription target) {
+                    for (IndirectMatch match : index.candidates(target)) {
+                        if (junctions.get(match).matches(target)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+            });
+        }
+
+        private int matchAll(ElementMatcher<TypeDescription> matcher) {
+            int matched = 0;
+            for (String className : classNames) {
+                TypePool typePool = new TypePool.Default.WithLazyResolution(
+                    new TypePool.CacheProvider.Simple(), classFileLocator, TypePool.Default.ReaderMode.FAST);
+                if (matcher.matches(typePool.describe(className).resolve())) {
+                    matched++;
+                }
+            }
+            return matched;
+        }
+    }
+
+    @Benchmark
+    public void linear(Blackhole bh, ClassPathState state) {
+        bh.consume(state.matchAll(state.linear));
+    }
+
+    @Benchmark
+    public void indexed(Blackhole bh, ClassPathState state) {
+        bh.consume(state.matchAll(state.indexed));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(IndirectMatchIndexBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.match;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.bytebuddy.description.type.TypeDescription;
+import org.apache.skywalking.apm.agent.core.plugin.match.logical.LogicalMatchOperation;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.apache.skywalking.apm.agent.core.plugin.match.ClassAnnotationMatch.byClassAnnotationMatch;
+import static org.apache.skywalking.apm.agent.core.plugin.match.HierarchyMatch.byHierarchyMatch;
+import static org.apache.skywalking.apm.agent.core.plugin.match.MethodAnnotationMatch.byMethodAnnotationMatch;
+import static org.apache.skywalking.apm.agent.core.plugin.match.MultiClassNameMatch.byMultiClassMatch;
+import static org.apache.skywalking.apm.agent.core.plugin.match.PrefixMatch.nameStartsWith;
+import static org.apache.skywalking.apm.agent.core.plugin.match.RegexMatch.byRegexMatch;
+
+public class IndirectMatchIndexTest {
+    private static final String ANNOTATION = MatchTestAnnotation.class.getName();
+
+    private List<IndirectMatch> matches;
+    private IndirectMatchIndex<IndirectMatch> index;
+
+    @Before
+    public void setUp() {
+        matches = Arrays.asList(
+            byHierarchyMatch(TestApi.class.getName()),
+            byHierarchyMatch(TestBase.class.getName(), Runnable.class.getName()),
+            byHierarchyMatch("org.example.Missing"),
+            byClassAnnotationMatch(ANNOTATION),
+            byMethodAnnotationMatch(ANNOTATION),
+            nameStartsWith(IndirectMatchIndexTest.class.getName() + "$TestI", "org.example."),
+            byMultiClassMatch(TestAnnotated.class.getName()),
+            byRegexMatch(".*Base"),
+            LogicalMatchOperation.not(byClassAnnotationMatch(ANNOTATION))
+        );
+        index = new IndirectMatchIndex<IndirectMatch>();
+        for (IndirectMatch match : matches) {
+            index.add(match, match);
+        }
+    }
+
+    @Test
+    public void testSameResultAsLinearScan() {
+        for (Class<?> type : Arrays.asList(
+            TestApi.class, TestBase.class, TestImpl.class, TestAnnotated.class, TestMethodAnnotated.class,
+            Object.class, String.class
+        )) {
+            TypeDescription typeDescription = TypeDescription.ForLoadedType.of(type);
+            List<IndirectMatch> linear = new ArrayList<IndirectMatch>();
+            for (IndirectMatch match : matches) {
+                if (match.isMatch(typeDescription)) {
+                    linear.add(match);
+                }
+            }
+            List<IndirectMatch> indexed = new ArrayList<IndirectMatch>();
+            for (IndirectMatch match : index.candidates(typeDescription)) {
+                if (match.isMatch(typeDescription)) {
+                    indexed.add(match);
+                }
+            }
+            Assert.assertEquals(type.getName(), linear, indexed);
+        }
+    }
+
+    @Test
+    public void testCandidates() {
+        // the regex and logical matches are candidates of every type
+        Assert.assertEquals(
+            Arrays.asList(matches.get(7), matches.get(8)),
+            index.candidates(TypeDescription.ForLoadedType.of(String.class))
+        );
+        Assert.assertEquals(
+            Arrays.asList(matches.get(0), matches.get(1), matches.get(5), matches.get(7), matches.get(8)),
+            index.candidates(TypeDescription.ForLoadedType.of(TestImpl.class))
+        );
+        Assert.assertEquals(
+            Arrays.asList(matches.get(3), matches.get(6), matches.get(7), matches.get(8)),
+            index.candidates(TypeDescription.ForLoadedType.of(TestAnnotated.class))
+        );
+        Assert.assertEquals(
+            Arrays.asList(matches.get(4), matches.get(7), matches.get(8)),
+            index.candidates(TypeDescription.ForLoadedType.of(TestMethodAnnotated.class))
+        );
+    }
+
+    public interface TestApi {
+    }
+
+    public abstract static class TestBase implements TestApi, Runnable {
+    }
+
+    public static class TestImpl extends TestBase {
+        @Override
+        public void run() {
+        }
+    }
+
+    @MatchTestAnnotation
+    public static class TestAnnotated {
+    }
+
+    public static class TestMethodAnnotated {
+        @MatchTestAnnotation
+        public void annotated() {
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.profile;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * One profile period over the given number of profiled threads, 80 frames deep each: dumped one by one with {@link
+ * Thread#getStackTrace()} and a code signature string per frame as before, and in batch with {@link
+ * ThreadMXBean#getThreadInfo(long[], int)} and the {@link ProfileFrameDictionary}.
+ * <p>
+ * The batch dump brings the JVM to one safepoint per period instead of one per thread. To compare the stop-the-world
+ * time, run with -Xlog:safepoint (JDK 9+) or -XX:+PrintGCApplicationStoppedTime (JDK 8), or read
+ * sun.management.HotspotRuntimeMBean#getTotalSafepointTime and #getSafepointCount around the iterations.
+ */
+@State(Scope.Benchmark)
+public class ThreadDumpBenchmark {
+    private static final int DEPTH = 80;
+
+    @Param({"5", "30"})
+    private int threadCount;
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final List<Thread> threads = new ArrayList<>();
+    private long[] threadIds;
+    private ProfileFrameDictionary frameDictionary;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(() -> deep(DEPTH, started));
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        started.await();
+        threadIds = threads.stream().mapToLong(Thread::getId).toArray();
+        frameDictionary = new ProfileFrameDictionary();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        threads.forEach(Thread::interrupt);
+    }
+
+    private static void deep(int depth, CountDownLatch started) {
+        if (depth > 0) {
+            deep(depth - 1, started);
+            return;
+        }
+        started.countDown();
+        try {
+            Thread.sleep(Long.MAX_VALUE);
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void dumpOneByOne(Blackhole bh) {
+        for (Thread thread : threads) {
+            StackTraceElement[] stackTrace = thread.getStackTrace();
+            List<String> stackList = new ArrayList<>(stackTrace.length);
+            for (int i = stackTrace.length - 1; i >= 0; i--) {
+                StackTraceElement element = stackTrace[i];
+                stackList.add(element.getClassName() + "." + element.getMethodName() + ":" + element.getLineNumber());
+            }
+            bh.consume(stackList);
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void dumpInBatch(Blackhole bh) {
+        for (ThreadInfo threadInfo : threadMXBean.getThreadInfo(threadIds, 500)) {
+            StackTraceElement[] stackTrace = threadInfo.getStackTrace();
+            int[] frames = new int[stackTrace.length];
+            for (int i = stackTrace.length - 1, frame = 0; i >= 0; i--, frame++) {
+                frames[frame] = frameDictionary.register(stackTrace[i]);
+            }
+            bh.consume(frames);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(ThreadDumpBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+}
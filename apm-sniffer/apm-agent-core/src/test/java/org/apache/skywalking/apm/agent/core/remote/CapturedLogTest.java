@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.network.common.v3.KeyStringValuePair;
+import org.apache.skywalking.apm.network.logging.v3.LogData;
+import org.apache.skywalking.apm.network.logging.v3.LogDataBody;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CapturedLogTest {
+
+    @Test
+    public void testTransform() {
+        Config.Agent.INSTANCE_NAME = "instance";
+        CapturedLog log = new CapturedLog.Builder(100L, "hello {}")
+            .level("INFO")
+            .logger("test.logger")
+            .thread("main")
+            .arguments(new String[] {"world"})
+            .throwable(new IllegalStateException("failure"))
+            .traceContext("trace", "segment", 2)
+            .build();
+
+        LogData data = log.transform(LogData.newBuilder()).build();
+        assertEquals(100L, data.getTimestamp());
+        assertEquals("instance", data.getServiceInstance());
+        assertEquals(LogDataBody.ContentCase.TEXT.name(), data.getBody().getType());
+        assertEquals("hello {}", data.getBody().getText().getText());
+        assertEquals("trace", data.getTraceContext().getTraceId());
+        assertEquals("segment", data.getTraceContext().getTraceSegmentId());
+        assertEquals(2, data.getTraceContext().getSpanId());
+
+        assertEquals(5, data.getTags().getDataCount());
+        assertTag(data.getTags().getData(0), "level", "INFO");
+        assertTag(data.getTags().getData(1), "logger", "test.logger");
+        assertTag(data.getTags().getData(2), "thread", "main");
+        assertTag(data.getTags().getData(3), "argument.0", "world");
+        assertEquals("exception", data.getTags().getData(4).getKey());
+        assertTrue(data.getTags().getData(4).getValue().contains("failure"));
+    }
+
+    @Test
+    public void testReuseBuilder() {
+        LogData.Builder builder = LogData.newBuilder();
+        new CapturedLog.Builder(1L, "traced")
+            .level("INFO")
+            .traceContext("trace", "segment", 0)
+            .build()
+            .transform(builder);
+        LogData first = builder.build();
+
+        LogData second = new CapturedLog.Builder(2L, "untraced")
+            .level("WARN")
+            .build()
+            .transform(builder.clear())
+            .build();
+
+        assertTrue(first.hasTraceContext());
+        assertFalse(second.hasTraceContext());
+        assertEquals("traced", first.getBody().getText().getText());
+        assertEquals("untraced", second.getBody().getText().getText());
+        assertEquals(1, second.getTags().getDataCount());
+        assertTag(second.getTags().getData(0), "level", "WARN");
+    }
+
+    @Test
+    public void testTransformBuiltLogData() {
+        LogData built = LogData.newBuilder()
+                               .setTimestamp(3L)
+                               .setServiceInstance("built")
+                               .setBody(LogDataBody.newBuilder().setType(LogDataBody.ContentCase.TEXT.name()))
+                               .build();
+        LogData.Builder builder = new CapturedLog.Builder(1L, "previous").level("INFO").build()
+                                                                        .transform(LogData.newBuilder());
+
+        assertEquals(built, CapturedLog.of(built).transform(builder.clear()).build());
+    }
+
+    private static void assertTag(KeyStringValuePair tag, String key, String value) {
+        assertEquals(key, tag.getKey());
+        assertEquals(value, tag.getValue());
+    }
+}
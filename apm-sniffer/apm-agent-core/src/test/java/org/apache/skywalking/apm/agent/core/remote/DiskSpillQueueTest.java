@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DiskSpillQueueTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testAppendAndCommitAcrossFiles() throws Exception {
+        File dir = temporaryFolder.newFolder();
+        // every record takes 8 + 8 bytes, so every file holds 2 records
+        DiskSpillQueue queue = new DiskSpillQueue(dir, 1024, 32, 60_000);
+        assertEquals(5, queue.append(records(0, 5)));
+        assertEquals(3, dir.listFiles().length);
+        assertEquals(80, queue.size());
+
+        assertEquals(strings(0, 3), strings(poll(queue, 3)));
+        assertEquals(1, queue.append(records(5, 6)));
+        assertEquals(strings(3, 6), strings(poll(queue, 10)));
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+        assertEquals(0, dir.listFiles().length);
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        DiskSpillQueue queue = new DiskSpillQueue(temporaryFolder.newFolder(), 40, 1024, 60_000);
+        assertEquals(2, queue.append(records(0, 3)));
+        assertEquals(0, queue.append(records(3, 4)));
+        assertEquals(strings(0, 2), strings(poll(queue, 10)));
+        assertEquals(1, queue.append(records(3, 4)));
+    }
+
+    @Test
+    public void testRecoverAfterRestart() throws Exception {
+        File dir = temporaryFolder.newFolder();
+        DiskSpillQueue queue = new DiskSpillQueue(dir, 1024, 32, 60_000);
+        queue.append(records(0, 5));
+        queue.close();
+
+        DiskSpillQueue recovered = new DiskSpillQueue(dir, 1024, 32, 60_000);
+        assertEquals(80, recovered.size());
+        recovered.append(records(5, 6));
+        assertEquals(strings(0, 6), strings(poll(recovered, 10)));
+    }
+
+    @Test
+    public void testTruncatedRecord() throws Exception {
+        File dir = temporaryFolder.newFolder();
+        DiskSpillQueue queue = new DiskSpillQueue(dir, 1024, 1024, 60_000);
+        queue.append(records(0, 3));
+        queue.close();
+        File file = dir.listFiles()[0];
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        DiskSpillQueue recovered = new DiskSpillQueue(dir, 1024, 1024, 60_000);
+        assertEquals(strings(0, 2), strings(poll(recovered, 10)));
+        assertTrue(poll(recovered, 10).isEmpty());
+        assertTrue(recovered.isEmpty());
+    }
+
+    @Test
+    public void testExpiredFile() throws Exception {
+        File dir = temporaryFolder.newFolder();
+        DiskSpillQueue queue = new DiskSpillQueue(dir, 1024, 32, 60_000);
+        queue.append(records(0, 3));
+        queue.close();
+        File[] files = dir.listFiles();
+        Arrays.sort(files);
+        assertTrue(files[0].setLastModified(System.currentTimeMillis() - 120_000));
+
+        DiskSpillQueue recovered = new DiskSpillQueue(dir, 1024, 32, 60_000);
+        assertEquals(strings(2, 3), strings(poll(recovered, 10)));
+    }
+
+    @Test
+    public void testUncommittedRecordsAreReadAgain() throws Exception {
+        File dir = temporaryFolder.newFolder();
+        DiskSpillQueue queue = new DiskSpillQueue(dir, 1024, 32, 60_000);
+        queue.append(records(0, 5));
+
+        assertEquals(strings(0, 3), strings(queue.peek(3)));
+        assertEquals(strings(0, 3), strings(queue.peek(3)));
+        queue.commit(1);
+        assertEquals(strings(1, 5), strings(queue.peek(10)));
+        queue.commit(2);
+        assertEquals(2, dir.listFiles().length);
+        queue.close();
+
+        // the committed position in a file is not persisted, so the file is read from its head
+        DiskSpillQueue recovered = new DiskSpillQueue(dir, 1024, 32, 60_000);
+        assertEquals(strings(2, 5), strings(poll(recovered, 10)));
+        assertTrue(recovered.isEmpty());
+        assertEquals(0, dir.listFiles().length);
+    }
+
+    @Test
+    public void testCorruptedRecordLength() throws Exception {
+        File dir = temporaryFolder.newFolder();
+        DiskSpillQueue queue = new DiskSpillQueue(dir, 1024, 1024, 60_000);
+        queue.append(records(0, 3));
+        queue.close();
+        File file = dir.listFiles()[0];
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // the length of the second record
+            raf.seek(16);
+            raf.writeInt(Integer.MAX_VALUE);
+        }
+
+        DiskSpillQueue recovered = new DiskSpillQueue(dir, 1024, 1024, 60_000);
+        assertEquals(strings(0, 1), strings(poll(recovered, 10)));
+        assertTrue(poll(recovered, 10).isEmpty());
+        assertTrue(recovered.isEmpty());
+        assertEquals(0, recovered.size());
+        assertTrue(new File(dir, file.getName() + ".corrupted").exists());
+    }
+
+    @Test
+    public void testCorruptedRecordChecksum() throws Exception {
+        File dir = temporaryFolder.newFolder();
+        DiskSpillQueue queue = new DiskSpillQueue(dir, 1024, 1024, 60_000);
+        queue.append(records(0, 2));
+        queue.close();
+        File file = dir.listFiles()[0];
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(8);
+            raf.write('R');
+        }
+
+        DiskSpillQueue recovered = new DiskSpillQueue(dir, 1024, 1024, 60_000);
+        assertTrue(poll(recovered, 10).isEmpty());
+        assertTrue(recovered.isEmpty());
+        assertTrue(new File(dir, file.getName() + ".corrupted").exists());
+    }
+
+    @Test
+    public void testRecordLargerThanFile() throws Exception {
+        DiskSpillQueue queue = new DiskSpillQueue(temporaryFolder.newFolder(), 1024, 16, 60_000);
+        assertEquals(1, queue.append(records(0, 2).subList(0, 1)));
+        assertEquals(0, queue.append(Arrays.asList(new byte[9])));
+    }
+
+    /**
+     * Read and commit the records.
+     */
+    private static List<byte[]> poll(DiskSpillQueue queue, int maxRecords) {
+        List<byte[]> records = queue.peek(maxRecords);
+        queue.commit(records.size());
+        return records;
+    }
+
+    private static List<byte[]> records(int from, int to) {
+        List<byte[]> records = new ArrayList<>();
+        for (String value : strings(from, to)) {
+            records.add(value.getBytes(StandardCharsets.UTF_8));
+        }
+        return records;
+    }
+
+    private static List<String> strings(int from, int to) {
+        List<String> values = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            values.add(String.format("record%02d", i));
+        }
+        return values;
+    }
+
+    private static List<String> strings(List<byte[]> records) {
+        List<String> values = new ArrayList<>();
+        for (byte[] record : records) {
+            values.add(new String(record, StandardCharsets.UTF_8));
+        }
+        return values;
+    }
+}
@@ -19,8 +19,10 @@
 package org.apache.skywalking.apm.agent.core.remote;
 
 import com.google.protobuf.InvalidProtocolBufferException;
+import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import io.grpc.testing.GrpcServerRule;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
@@ -46,6 +48,7 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -61,6 +64,9 @@ public class TraceSegmentServiceClientTest {
     @Rule
     public GrpcServerRule grpcServerRule = new GrpcServerRule().directExecutor();
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @SegmentStoragePoint
     private SegmentStorage storage;
 
@@ -161,4 +167,44 @@ public class TraceSegmentServiceClientTest {
         assertThat(reconnect, is(true));
 
     }
+
+    @Test
+    public void testSpillSegmentsOfFailedStream() throws IOException, IllegalAccessException, NoSuchFieldException {
+        grpcServerRule.getServiceRegistry().addService(new TraceSegmentReportServiceGrpc.TraceSegmentReportServiceImplBase() {
+            @Override
+            public StreamObserver<SegmentObject> collect(final StreamObserver<Commands> responseObserver) {
+                return new StreamObserver<SegmentObject>() {
+                    @Override
+                    public void onNext(SegmentObject value) {
+                        upstreamSegments.add(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+                    }
+                };
+            }
+        });
+        DiskSpillQueue spillQueue = new DiskSpillQueue(temporaryFolder.newFolder(), 1024 * 1024, 1024 * 1024, 60_000);
+        Field spillQueueField = TraceSegmentServiceClient.class.getDeclaredField("spillQueue");
+        spillQueueField.setAccessible(true);
+        spillQueueField.set(serviceClient, spillQueue);
+
+        AbstractSpan firstEntrySpan = ContextManager.createEntrySpan("/testFirstEntry", null);
+        firstEntrySpan.setComponent(ComponentsDefine.TOMCAT);
+        ContextManager.stopSpan();
+        serviceClient.consume(storage.getTraceSegments());
+
+        // sent, but not acknowledged
+        assertThat(upstreamSegments.size(), is(1));
+        List<byte[]> spilled = spillQueue.peek(10);
+        assertThat(spilled.size(), is(1));
+        assertThat(SegmentObject.parseFrom(spilled.get(0)), is(upstreamSegments.get(0)));
+        spillQueue.close();
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.CarrierItem;
+import org.apache.skywalking.apm.agent.core.context.ContextCarrier;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.SW8CarrierItem;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.agent.core.test.tools.AgentServiceRule;
+import org.apache.skywalking.apm.agent.core.test.tools.SegmentStorage;
+import org.apache.skywalking.apm.agent.core.test.tools.SegmentStoragePoint;
+import org.apache.skywalking.apm.agent.core.test.tools.TracingSegmentRunner;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(TracingSegmentRunner.class)
+public class TailSamplingServiceTest {
+
+    @SegmentStoragePoint
+    private SegmentStorage storage;
+
+    @Rule
+    public AgentServiceRule agentServiceRule = new AgentServiceRule();
+
+    @BeforeClass
+    public static void beforeClass() {
+        Config.TailSampling.ACTIVE = true;
+        Config.TailSampling.LATENCY_THRESHOLD = 60_000;
+        Config.TailSampling.KEEP_TAGS = "biz=vip";
+        Config.TailSampling.DECISION_WAIT = 60_000;
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        Config.TailSampling.ACTIVE = false;
+        Config.TailSampling.LATENCY_THRESHOLD = 1000;
+        Config.TailSampling.KEEP_TAGS = "";
+        Config.TailSampling.DECISION_WAIT = 3000;
+        ServiceManager.INSTANCE.shutdown();
+    }
+
+    @Test
+    public void testErrorSegmentIsReported() {
+        ContextManager.createEntrySpan("/error", null);
+        ContextManager.activeSpan().errorOccurred();
+        ContextManager.stopSpan();
+
+        Assert.assertEquals(1, storage.getTraceSegments().size());
+    }
+
+    @Test
+    public void testTaggedSegmentIsReported() {
+        ContextManager.createLocalSpan("/tagged").tag(Tags.ofKey("biz"), "vip");
+        ContextManager.stopSpan();
+
+        Assert.assertEquals(1, storage.getTraceSegments().size());
+    }
+
+    @Test
+    public void testSegmentWithCrossProcessParentIsBuffered() {
+        ContextCarrier carrier = new ContextCarrier();
+        CarrierItem next = carrier.items();
+        while (next.hasNext()) {
+            next = next.next();
+            if (SW8CarrierItem.HEADER_NAME.equals(next.getHeadKey())) {
+                next.setHeadValue("1-My40LjU=-MS4yLjM=-3-c2VydmljZQ==-aW5zdGFuY2U=-L2FwcA==-MTI3LjAuMC4xOjgwODA=");
+            }
+        }
+        ContextManager.createEntrySpan("/downstream", carrier);
+        ContextManager.stopSpan();
+
+        // The upstream makes its own decision, so the parent doesn't keep the segment by default.
+        Assert.assertEquals(0, storage.getTraceSegments().size());
+        Assert.assertEquals(1, ServiceManager.INSTANCE.findService(TailSamplingService.class).getBufferedSegments());
+    }
+
+    @Test
+    public void testNormalSegmentIsBuffered() {
+        TailSamplingService service = ServiceManager.INSTANCE.findService(TailSamplingService.class);
+        ContextManager.createLocalSpan("/normal");
+        ContextManager.stopSpan();
+
+        Assert.assertEquals(0, storage.getTraceSegments().size());
+        Assert.assertEquals(1, service.getBufferedSegments());
+
+        // Sampling is off, so the base rate keeps every expired segment.
+        service.expire(Long.MAX_VALUE);
+        Assert.assertEquals(1, storage.getTraceSegments().size());
+        Assert.assertEquals(0, service.getBufferedSegments());
+    }
+}
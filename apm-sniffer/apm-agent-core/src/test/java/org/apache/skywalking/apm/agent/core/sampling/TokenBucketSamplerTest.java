@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TokenBucketSamplerTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testBudgetIsPerEndpoint() {
+        TokenBucketSampler sampler = new TokenBucketSampler(3, 10);
+        long now = System.nanoTime();
+        Assert.assertTrue(sampler.tryAcquire("/hot", now));
+        Assert.assertFalse(sampler.tryAcquire("/hot", now));
+        Assert.assertTrue(sampler.tryAcquire("/cold", now));
+    }
+
+    @Test
+    public void testAdmissionsAreSpreadAcrossWindow() {
+        TokenBucketSampler sampler = new TokenBucketSampler(30, 10);
+        long now = System.nanoTime();
+        int admitted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (sampler.tryAcquire("/hot", now)) {
+                admitted++;
+            }
+        }
+        // One second of the budget at most, instead of the whole window.
+        Assert.assertTrue(admitted >= 1 && admitted <= 10);
+
+        int total = admitted;
+        for (long t = now + SECOND / 10; t < now + 3 * SECOND; t += SECOND / 10) {
+            for (int i = 0; i < 100; i++) {
+                if (sampler.tryAcquire("/hot", t)) {
+                    total++;
+                }
+            }
+        }
+        Assert.assertTrue(total <= 30 + 10);
+        Assert.assertTrue(total >= 20);
+    }
+
+    @Test
+    public void testConcurrentBurstIsBoundedByEndpointBudget() throws InterruptedException {
+        final TokenBucketSampler sampler = new TokenBucketSampler(30, 10);
+        final long now = System.nanoTime();
+        final AtomicInteger admitted = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < 100; j++) {
+                    if (sampler.tryAcquire("/hot", now)) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // One second of the budget, whichever threads take it.
+        Assert.assertEquals(10, admitted.get());
+    }
+
+    @Test
+    public void testEndpointLimit() {
+        TokenBucketSampler sampler = new TokenBucketSampler(3, 2);
+        long now = System.nanoTime();
+        Assert.assertTrue(sampler.tryAcquire("/a", now));
+        Assert.assertTrue(sampler.tryAcquire("/b", now));
+        Assert.assertTrue(sampler.tryAcquire("/c", now));
+        Assert.assertFalse(sampler.tryAcquire("/d", now));
+        Assert.assertFalse(sampler.tryAcquire(null, now));
+        Assert.assertEquals(2, sampler.size());
+    }
+
+    @Test
+    public void testEvictIdle() {
+        TokenBucketSampler sampler = new TokenBucketSampler(3, 10);
+        long now = System.nanoTime();
+        sampler.tryAcquire("/a", now);
+        sampler.evictIdle(now);
+        Assert.assertEquals(1, sampler.size());
+        sampler.evictIdle(now + 3 * SECOND);
+        Assert.assertEquals(0, sampler.size());
+    }
+}
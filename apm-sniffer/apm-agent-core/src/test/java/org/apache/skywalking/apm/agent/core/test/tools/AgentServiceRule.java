@@ -66,6 +66,10 @@ public class AgentServiceRule extends ExternalResource {
                 TracingContext.TracingThreadListenerManager.class.getDeclaredField("LISTENERS");
             listeners.setAccessible(true);
             listeners.set(TracingContext.TracingThreadListenerManager.class, new LinkedList<TracingThreadListener>());
+
+            Field tailSamplingService = TracingContext.class.getDeclaredField("TAIL_SAMPLING_SERVICE");
+            tailSamplingService.setAccessible(true);
+            tailSamplingService.set(null, null);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
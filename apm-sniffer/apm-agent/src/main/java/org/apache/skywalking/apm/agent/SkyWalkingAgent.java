@@ -18,8 +18,10 @@
 
 package org.apache.skywalking.apm.agent;
 
+import java.io.File;
 import java.lang.instrument.Instrumentation;
 import java.security.ProtectionDomain;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +50,7 @@ import org.apache.skywalking.apm.agent.core.conf.SnifferConfigInitializer;
 import org.apache.skywalking.apm.agent.core.jvm.LoadedLibraryCollector;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.meter.MeterFactory;
 import org.apache.skywalking.apm.agent.core.plugin.AbstractClassEnhancePluginDefine;
 import org.apache.skywalking.apm.agent.core.plugin.EnhanceContext;
 import org.apache.skywalking.apm.agent.core.plugin.InstrumentDebuggingClass;
@@ -55,8 +58,12 @@ import org.apache.skywalking.apm.agent.core.plugin.PluginBootstrap;
 import org.apache.skywalking.apm.agent.core.plugin.PluginException;
 import org.apache.skywalking.apm.agent.core.plugin.PluginFinder;
 import org.apache.skywalking.apm.agent.core.plugin.bootstrap.BootstrapInstrumentBoost;
+import org.apache.skywalking.apm.agent.core.plugin.cache.CachedTypeMatcher;
+import org.apache.skywalking.apm.agent.core.plugin.cache.ClassFileHashingStrategy;
+import org.apache.skywalking.apm.agent.core.plugin.cache.ClassMatchCache;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.DelegateNamingResolver;
 import org.apache.skywalking.apm.agent.core.plugin.jdk9module.JDK9ModuleExporter;
+import org.apache.skywalking.apm.util.StringUtil;
 
 import static net.bytebuddy.matcher.ElementMatchers.nameContains;
 import static net.bytebuddy.matcher.ElementMatchers.nameStartsWith;
@@ -91,8 +98,12 @@ public class SkyWalkingAgent {
             return;
         }
 
+        final long pluginLoadingTime;
         try {
+            long pluginLoadingStart = System.currentTimeMillis();
             pluginFinder = new PluginFinder(new PluginBootstrap().loadPlugins());
+            pluginLoadingTime = System.currentTimeMillis() - pluginLoadingStart;
+            LOGGER.info("{} plugins loaded in {} ms.", pluginFinder.getPluginDefineNames().size(), pluginLoadingTime);
         } catch (AgentPackageNotFoundException ape) {
             LOGGER.error(ape, "Locate agent.jar failure. Shutting down.");
             return;
@@ -109,6 +120,7 @@ public class SkyWalkingAgent {
 
         try {
             ServiceManager.INSTANCE.boot();
+            MeterFactory.gauge("agent_plugin_loading_time_ms", () -> (double) pluginLoadingTime).build();
         } catch (Exception e) {
             LOGGER.error(e, "Skywalking agent boot failure.");
         }
@@ -144,7 +156,16 @@ public class SkyWalkingAgent {
             throw new Exception("SkyWalking agent open read edge in JDK 9+ failure. Shutting down.", e);
         }
 
-        agentBuilder.type(pluginFinder.buildMatch())
+        AgentBuilder.RawMatcher typeMatcher = new AgentBuilder.RawMatcher.ForElementMatchers(pluginFinder.buildMatch());
+        if (StringUtil.isNotEmpty(Config.Agent.CLASS_MATCH_CACHE_DIR)) {
+            final ClassMatchCache classMatchCache = loadClassMatchCache(pluginFinder);
+            agentBuilder = agentBuilder.with(new ClassFileHashingStrategy(AgentBuilder.ClassFileBufferStrategy.Default.RETAINING));
+            typeMatcher = new CachedTypeMatcher(typeMatcher, classMatchCache);
+            Runtime.getRuntime()
+                   .addShutdownHook(new Thread(classMatchCache::save, "skywalking class match cache saving thread"));
+        }
+
+        agentBuilder.type(typeMatcher)
                     .transform(new Transformer(pluginFinder))
                     .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
                     .with(new RedefinitionListener())
@@ -156,6 +177,27 @@ public class SkyWalkingAgent {
         LOGGER.info("Skywalking agent transformer has installed.");
     }
 
+    /**
+     * The cache file is named by the agent version, the JVM, the plugins and the plugin settings, any change of them
+     * leads to a new cache file.
+     */
+    private static ClassMatchCache loadClassMatchCache(PluginFinder pluginFinder) {
+        List<String> fingerprint = new ArrayList<>();
+        fingerprint.add(Config.Agent.VERSION);
+        fingerprint.add(System.getProperty("java.vendor"));
+        fingerprint.add(System.getProperty("java.version"));
+        fingerprint.addAll(pluginFinder.getPluginDefineNames());
+        for (Map.Entry<String, String> setting : SnifferConfigInitializer.getSettingsSnapshot().entrySet()) {
+            if (setting.getKey().startsWith("plugin.")) {
+                fingerprint.add(setting.getKey() + "=" + setting.getValue());
+            }
+        }
+        return ClassMatchCache.load(
+            new File(Config.Agent.CLASS_MATCH_CACHE_DIR), ClassMatchCache.fingerprint(fingerprint),
+            Config.Agent.CLASS_MATCH_CACHE_SIZE
+        );
+    }
+
     /**
      * Create a new agent builder through customized {@link ByteBuddy} powered by
      * {@link SWAuxiliaryTypeNamingStrategy} {@link DelegateNamingResolver} {@link SWMethodNameTransformer} and {@link SWImplementationContextFactory}
@@ -43,6 +43,20 @@ public class JDBCPluginConfig {
              * Set a negative number to save the complete sql body to the tag.
              */
             public static int SQL_BODY_MAX_LENGTH = 2048;
+            /**
+             * The max number of the cached {@link org.apache.skywalking.apm.plugin.jdbc.trace.StatementDescriptor}s
+             * per connection URL and statement type. The cache is cleared once it is full.
+             * <p>
+             * Set a non-positive number to build the descriptor per statement.
+             */
+            public static int STATEMENT_DESCRIPTOR_CACHE_SIZE = 1000;
+            /**
+             * If set to true, the literals of the sql body are replaced by <code>?</code> through {@link
+             * org.apache.skywalking.apm.plugin.jdbc.SqlNormalizer}, and the fingerprint of the normalized sql is
+             * tagged as <code>db.sql.fingerprint</code>. Only the first {@code SQL_BODY_MAX_LENGTH} characters are
+             * normalized.
+             */
+            public static boolean SQL_NORMALIZE = false;
         }
     }
 }
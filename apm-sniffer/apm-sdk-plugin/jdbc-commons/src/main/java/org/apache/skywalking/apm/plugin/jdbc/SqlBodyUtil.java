@@ -18,6 +18,10 @@
 
 package org.apache.skywalking.apm.plugin.jdbc;
 
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
+import org.apache.skywalking.apm.plugin.jdbc.trace.StatementDescriptor;
+
 /**
  * Sql body utility
  */
@@ -37,4 +41,31 @@ public class SqlBodyUtil {
         }
         return sql;
     }
+
+    /**
+     * Tag the sql body, normalized with its fingerprint if {@code JDBCPluginConfig.Plugin.JDBC.SQL_NORMALIZE}, and
+     * limited by {@link #limitSqlBodySize(String)}.
+     * @param dbType the type of the database, deciding how the sql is normalized
+     * @param sql the raw sql
+     */
+    public static void tagSqlBody(AbstractSpan span, String dbType, String sql) {
+        if (JDBCPluginConfig.Plugin.JDBC.SQL_NORMALIZE && sql != null && !sql.isEmpty()) {
+            SqlNormalizer.NormalizedSql normalized = SqlNormalizer.normalize(sql, dbType);
+            Tags.DB_STATEMENT.set(span, limitSqlBodySize(normalized.getSql()));
+            Tags.SQL_FINGERPRINT.set(span, normalized.getFingerprint());
+        } else {
+            Tags.DB_STATEMENT.set(span, limitSqlBodySize(sql));
+        }
+    }
+
+    /**
+     * Tag the sql body computed in the statement descriptor, in the same way as {@link #tagSqlBody(AbstractSpan,
+     * String, String)}.
+     */
+    public static void tagSqlBody(AbstractSpan span, StatementDescriptor descriptor) {
+        Tags.DB_STATEMENT.set(span, descriptor.getSqlBody());
+        if (descriptor.getSqlFingerprint() != null) {
+            Tags.SQL_FINGERPRINT.set(span, descriptor.getSqlFingerprint());
+        }
+    }
 }
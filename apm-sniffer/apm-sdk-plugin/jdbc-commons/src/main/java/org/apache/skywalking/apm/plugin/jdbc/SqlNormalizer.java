@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.jdbc;
+
+/**
+ * {@link SqlNormalizer} replaces the literals of a sql with <code>?</code> in one pass, so the statements differing
+ * only in their literals share the same body and fingerprint:
+ * <ul>
+ * <li>string literals, including the N'', X'', B'' and E'' forms, and the numeric literals, are replaced,</li>
+ * <li>the lists of values in <code>IN (...)</code> are collapsed into <code>IN (?)</code>,</li>
+ * <li>the comments are removed, and the whitespaces are collapsed into one space.</li>
+ * </ul>
+ * The quoted identifiers and the placeholders are kept. A backslash escapes the next character in the string literals
+ * of MySQL and MariaDB, as they do by default, and in the E'' literals, a string literal of other databases ends at
+ * the first single quote not doubled.
+ * <p>
+ * The fingerprint is the 64-bit FNV-1a hash of the lowercase normalized sql. Only the first {@link
+ * JDBCPluginConfig.Plugin.JDBC#SQL_BODY_MAX_LENGTH} characters of the sql are normalized. The results are not cached
+ * here, the ones of the prepared statements are held by their {@link
+ * org.apache.skywalking.apm.plugin.jdbc.trace.StatementDescriptor}s.
+ */
+public class SqlNormalizer {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final String TRUNCATED = "...";
+
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    /**
+     * @param dbType the type of the database, deciding the escaping of the string literals.
+     * @return the normalized sql and its fingerprint, ending with <code>...</code> if the sql is longer than {@link
+     * JDBCPluginConfig.Plugin.JDBC#SQL_BODY_MAX_LENGTH}.
+     */
+    public static NormalizedSql normalize(String sql, String dbType) {
+        boolean backslashEscaped = isBackslashEscaped(dbType);
+        int maxLength = JDBCPluginConfig.Plugin.JDBC.SQL_BODY_MAX_LENGTH;
+        if (maxLength > 0 && sql.length() > maxLength) {
+            NormalizedSql normalized = build(sql.substring(0, maxLength), backslashEscaped);
+            return new NormalizedSql(normalized.getSql() + TRUNCATED, normalized.getFingerprint());
+        }
+        return build(sql, backslashEscaped);
+    }
+
+    /**
+     * @return true if a backslash escapes the next character in the string literals of the database.
+     */
+    static boolean isBackslashEscaped(String dbType) {
+        return "Mysql".equalsIgnoreCase(dbType) || "Mariadb".equalsIgnoreCase(dbType);
+    }
+
+    static NormalizedSql build(String sql, boolean backslashEscaped) {
+        StringBuilder out = BUILDER.get();
+        out.setLength(0);
+        normalize(sql, out, backslashEscaped);
+        return new NormalizedSql(out.toString(), fingerprint(out));
+    }
+
+    static void normalize(String sql, StringBuilder out, boolean backslashEscaped) {
+        final int length = sql.length();
+        boolean pendingSpace = false;
+        boolean afterIn = false;
+        int inListStart = -1;
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = out.length() > 0;
+                i++;
+                continue;
+            }
+            char next = i + 1 < length ? sql.charAt(i + 1) : 0;
+            if (c == '-' && next == '-') {
+                i = skipLine(sql, i + 2);
+                pendingSpace = out.length() > 0;
+                continue;
+            }
+            if (c == '/' && next == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                pendingSpace = out.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                out.append(' ');
+                pendingSpace = false;
+            }
+
+            if (c == '\'') {
+                i = skipString(sql, i + 1, backslashEscaped);
+                out.append('?');
+                afterIn = false;
+            } else if (c == '"' || c == '`') {
+                int end = skipQuoted(sql, i + 1, c);
+                out.append(sql, i, end);
+                i = end;
+                afterIn = false;
+            } else if (isNumberStart(c, next) && !endsWithIdentifier(out)) {
+                i = skipNumber(sql, i);
+                out.append('?');
+                afterIn = false;
+            } else if (isIdentifierPart(c)) {
+                int end = i + 1;
+                while (end < length && isIdentifierPart(sql.charAt(end))) {
+                    end++;
+                }
+                if (end == i + 1 && end < length && sql.charAt(end) == '\'' && isStringPrefix(c)) {
+                    i = skipString(sql, end + 1, backslashEscaped || c == 'e' || c == 'E');
+                    out.append('?');
+                    afterIn = false;
+                    continue;
+                }
+                afterIn = end - i == 2 && (c == 'i' || c == 'I') && (next == 'n' || next == 'N');
+                out.append(sql, i, end);
+                i = end;
+            } else {
+                if (c == '(') {
+                    inListStart = afterIn ? out.length() + 1 : -1;
+                } else if (c == ')' && inListStart >= 0) {
+                    collapseList(out, inListStart);
+                    inListStart = -1;
+                }
+                out.append(c);
+                afterIn = false;
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Collapse the list from the start, if it contains only placeholders.
+     */
+    private static void collapseList(StringBuilder out, int start) {
+        boolean hasPlaceholder = false;
+        for (int i = start; i < out.length(); i++) {
+            char c = out.charAt(i);
+            if (c == '?') {
+                hasPlaceholder = true;
+            } else if (c != ',' && c != ' ') {
+                return;
+            }
+        }
+        if (hasPlaceholder) {
+            out.setLength(start);
+            out.append('?');
+        }
+    }
+
+    private static int skipLine(String sql, int i) {
+        int end = sql.indexOf('\n', i);
+        return end < 0 ? sql.length() : end + 1;
+    }
+
+    /**
+     * @return the index after the closing quote of the string literal starting at i.
+     */
+    private static int skipString(String sql, int i, boolean backslashEscaped) {
+        final int length = sql.length();
+        while (i < length) {
+            char c = sql.charAt(i++);
+            if (c == '\\' && backslashEscaped) {
+                i++;
+            } else if (c == '\'') {
+                if (i < length && sql.charAt(i) == '\'') {
+                    i++;
+                } else {
+                    return i;
+                }
+            }
+        }
+        return length;
+    }
+
+    private static int skipQuoted(String sql, int i, char quote) {
+        final int length = sql.length();
+        while (i < length) {
+            if (sql.charAt(i++) == quote) {
+                if (i < length && sql.charAt(i) == quote) {
+                    i++;
+                } else {
+                    return i;
+                }
+            }
+        }
+        return length;
+    }
+
+    private static int skipNumber(String sql, int i) {
+        final int length = sql.length();
+        if (sql.charAt(i) == '0' && i + 1 < length && (sql.charAt(i + 1) == 'x' || sql.charAt(i + 1) == 'X')) {
+            i += 2;
+            while (i < length && Character.digit(sql.charAt(i), 16) >= 0) {
+                i++;
+            }
+            return i;
+        }
+        while (i < length) {
+            char c = sql.charAt(i);
+            if ((c == 'e' || c == 'E') && i + 1 < length) {
+                char next = sql.charAt(i + 1);
+                if (next == '+' || next == '-') {
+                    i++;
+                }
+            } else if (!(c >= '0' && c <= '9') && c != '.') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isNumberStart(char c, char next) {
+        return (c >= '0' && c <= '9') || (c == '.' && next >= '0' && next <= '9');
+    }
+
+    private static boolean endsWithIdentifier(StringBuilder out) {
+        return out.length() > 0 && isIdentifierPart(out.charAt(out.length() - 1));
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '@' || c == '#';
+    }
+
+    private static boolean isStringPrefix(char c) {
+        switch (c) {
+            case 'n':
+            case 'N':
+            case 'x':
+            case 'X':
+            case 'b':
+            case 'B':
+            case 'e':
+            case 'E':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static String fingerprint(CharSequence sql) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = Character.toLowerCase(sql.charAt(i));
+            hash ^= c & 0xff;
+            hash *= FNV_PRIME;
+            hash ^= c >>> 8;
+            hash *= FNV_PRIME;
+        }
+        char[] hex = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            hex[i] = HEX_DIGITS[(int) (hash & 0xf)];
+            hash >>>= 4;
+        }
+        return new String(hex);
+    }
+
+    /**
+     * The normalized sql and its fingerprint.
+     */
+    public static final class NormalizedSql {
+        private final String sql;
+        private final String fingerprint;
+
+        NormalizedSql(String sql, String fingerprint) {
+            this.sql = sql;
+            this.fingerprint = fingerprint;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+    }
+}
@@ -18,11 +18,16 @@
 
 package org.apache.skywalking.apm.plugin.jdbc.connectionurl.parser;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.skywalking.apm.plugin.jdbc.trace.ConnectionInfo;
 
 /**
  * {@link URLParser#parser(String)} support parse the connection url, such as Mysql, Oracle, H2 Database. But there are
  * some url cannot be parsed, such as Oracle connection url with multiple host.
+ * <p>
+ * The parsed url is cached, and every call gets a copy of the {@link ConnectionInfo}, as the database name of it could
+ * be changed per connection.
  */
 public class URLParser {
 
@@ -37,7 +42,25 @@ public class URLParser {
     private static final String IMPALA_JDBC_URK_PREFIX = "jdbc:impala";
     private static final String CLICKHOUSE_JDBC_URK_PREFIX = "jdbc:clickhouse";
 
+    private static final int MAX_CACHED_URLS = 1000;
+    private static final Map<String, ConnectionInfo> CONNECTION_INFOS = new ConcurrentHashMap<>();
+
     public static ConnectionInfo parser(String url) {
+        ConnectionInfo connectionInfo = CONNECTION_INFOS.get(url);
+        if (connectionInfo == null) {
+            connectionInfo = parse(url);
+            if (connectionInfo == null) {
+                return null;
+            }
+            if (CONNECTION_INFOS.size() >= MAX_CACHED_URLS) {
+                CONNECTION_INFOS.clear();
+            }
+            CONNECTION_INFOS.put(url, connectionInfo);
+        }
+        return new ConnectionInfo(connectionInfo);
+    }
+
+    private static ConnectionInfo parse(String url) {
         ConnectionURLParser parser = null;
         String lowerCaseUrl = url.toLowerCase();
         if (lowerCaseUrl.startsWith(MYSQL_JDBC_URL_PREFIX)) {
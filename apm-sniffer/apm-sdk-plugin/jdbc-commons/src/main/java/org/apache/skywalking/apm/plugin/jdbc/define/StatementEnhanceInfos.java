@@ -20,6 +20,7 @@ package org.apache.skywalking.apm.plugin.jdbc.define;
 
 import java.util.Arrays;
 import org.apache.skywalking.apm.plugin.jdbc.trace.ConnectionInfo;
+import org.apache.skywalking.apm.plugin.jdbc.trace.StatementDescriptor;
 
 /**
  * {@link StatementEnhanceInfos} contain the {@link ConnectionInfo} and
@@ -31,6 +32,7 @@ public class StatementEnhanceInfos {
     private String sql;
     private Object[] parameters;
     private int maxIndex = 0;
+    private StatementDescriptor statementDescriptor;
 
     public StatementEnhanceInfos(ConnectionInfo connectionInfo, String sql, String statementName) {
         this.connectionInfo = connectionInfo;
@@ -50,6 +52,19 @@ public class StatementEnhanceInfos {
         return statementName;
     }
 
+    /**
+     * @return the descriptor of this statement, looked up at the first execution, and again once the database name of
+     * the connection changes.
+     */
+    public StatementDescriptor getStatementDescriptor() {
+        StatementDescriptor descriptor = statementDescriptor;
+        if (descriptor == null || !descriptor.isDescribing(connectionInfo)) {
+            descriptor = StatementDescriptor.of(connectionInfo, statementName, sql);
+            statementDescriptor = descriptor;
+        }
+        return descriptor;
+    }
+
     public void setParameter(int index, final Object parameter) {
         maxIndex = maxIndex > index ? maxIndex : index;
         index--; // start from 1
@@ -18,6 +18,8 @@
 
 package org.apache.skywalking.apm.plugin.jdbc.trace;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.skywalking.apm.network.trace.component.OfficialComponent;
 
 /**
@@ -41,11 +43,17 @@ public class ConnectionInfo {
      */
     private final OfficialComponent component;
 
+    /**
+     * The {@link StatementDescriptor}s by the statement name and the sql, shared by the copies of this connection info.
+     */
+    private final Map<String, Map<String, StatementDescriptor>> statementDescriptors;
+
     public ConnectionInfo(OfficialComponent component, String dbType, String host, int port, String databaseName) {
         this.dbType = dbType;
         this.databasePeer = host + ":" + port;
         this.databaseName = databaseName;
         this.component = component;
+        this.statementDescriptors = new ConcurrentHashMap<>(4);
     }
 
     public ConnectionInfo(OfficialComponent component, String dbType, String hosts, String databaseName) {
@@ -53,6 +61,18 @@ public class ConnectionInfo {
         this.databasePeer = hosts;
         this.databaseName = databaseName;
         this.component = component;
+        this.statementDescriptors = new ConcurrentHashMap<>(4);
+    }
+
+    /**
+     * Copy the connection info parsed from the same URL, as the database name is changeable per connection.
+     */
+    public ConnectionInfo(ConnectionInfo connectionInfo) {
+        this.dbType = connectionInfo.dbType;
+        this.databasePeer = connectionInfo.databasePeer;
+        this.databaseName = connectionInfo.databaseName;
+        this.component = connectionInfo.component;
+        this.statementDescriptors = connectionInfo.statementDescriptors;
     }
 
     public String getDBType() {
@@ -74,4 +94,8 @@ public class ConnectionInfo {
     public void setDatabaseName(String dataBaseName) {
         this.databaseName = dataBaseName;
     }
+
+    Map<String, Map<String, StatementDescriptor>> getStatementDescriptors() {
+        return statementDescriptors;
+    }
 }
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.jdbc.trace;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.skywalking.apm.network.trace.component.OfficialComponent;
+import org.apache.skywalking.apm.plugin.jdbc.JDBCPluginConfig;
+import org.apache.skywalking.apm.plugin.jdbc.SqlBodyUtil;
+import org.apache.skywalking.apm.plugin.jdbc.SqlNormalizer;
+
+/**
+ * {@link StatementDescriptor} holds the tag values and the operation names of a statement, computed once and shared by
+ * the executions of the same sql on the connections of the same URL.
+ */
+public class StatementDescriptor {
+    private final String dbType;
+    private final String databaseName;
+    private final String databasePeer;
+    private final OfficialComponent component;
+    private final String sql;
+    private final String sqlBody;
+    private final String sqlFingerprint;
+    private final String operationNamePrefix;
+    /**
+     * The operation names by the execute method name, such as execute, executeQuery and executeUpdate.
+     */
+    private final Map<String, String> operationNames = new ConcurrentHashMap<>(4);
+
+    /**
+     * @return the descriptor of the statement on the connection, cached within {@link
+     * JDBCPluginConfig.Plugin.JDBC#STATEMENT_DESCRIPTOR_CACHE_SIZE} per connection URL and statement name.
+     */
+    public static StatementDescriptor of(ConnectionInfo connectionInfo, String statementName, String sql) {
+        Map<String, Map<String, StatementDescriptor>> cache = connectionInfo.getStatementDescriptors();
+        if (cache == null || sql == null || JDBCPluginConfig.Plugin.JDBC.STATEMENT_DESCRIPTOR_CACHE_SIZE <= 0) {
+            return new StatementDescriptor(connectionInfo, statementName, sql);
+        }
+        Map<String, StatementDescriptor> descriptors = cache.get(statementName);
+        if (descriptors == null) {
+            descriptors = new ConcurrentHashMap<>();
+            Map<String, StatementDescriptor> existing = cache.putIfAbsent(statementName, descriptors);
+            if (existing != null) {
+                descriptors = existing;
+            }
+        }
+        StatementDescriptor descriptor = descriptors.get(sql);
+        if (descriptor == null || !descriptor.isDescribing(connectionInfo)) {
+            descriptor = new StatementDescriptor(connectionInfo, statementName, sql);
+            if (descriptors.size() >= JDBCPluginConfig.Plugin.JDBC.STATEMENT_DESCRIPTOR_CACHE_SIZE) {
+                descriptors.clear();
+            }
+            descriptors.put(sql, descriptor);
+        }
+        return descriptor;
+    }
+
+    private StatementDescriptor(ConnectionInfo connectionInfo, String statementName, String sql) {
+        this.dbType = connectionInfo.getDBType();
+        this.databaseName = connectionInfo.getDatabaseName();
+        this.databasePeer = connectionInfo.getDatabasePeer();
+        this.component = connectionInfo.getComponent();
+        this.sql = sql;
+        if (JDBCPluginConfig.Plugin.JDBC.SQL_NORMALIZE && sql != null && !sql.isEmpty()) {
+            SqlNormalizer.NormalizedSql normalized = SqlNormalizer.normalize(sql, dbType);
+            this.sqlBody = SqlBodyUtil.limitSqlBodySize(normalized.getSql());
+            this.sqlFingerprint = normalized.getFingerprint();
+        } else {
+            this.sqlBody = SqlBodyUtil.limitSqlBodySize(sql);
+            this.sqlFingerprint = null;
+        }
+        this.operationNamePrefix = dbType + "/JDBC/" + statementName + "/";
+    }
+
+    /**
+     * @return true if the descriptor is still valid for the connection, whose database name could be changed after the
+     * descriptor is built.
+     */
+    public boolean isDescribing(ConnectionInfo connectionInfo) {
+        return Objects.equals(databaseName, connectionInfo.getDatabaseName());
+    }
+
+    public String getOperationName(String methodName) {
+        String operationName = operationNames.get(methodName);
+        if (operationName == null) {
+            operationName = operationNamePrefix + methodName;
+            operationNames.put(methodName, operationName);
+        }
+        return operationName;
+    }
+
+    public String getDBType() {
+        return dbType;
+    }
+
+    public String getDatabaseName() {
+        return databaseName;
+    }
+
+    public String getDatabasePeer() {
+        return databasePeer;
+    }
+
+    public OfficialComponent getComponent() {
+        return component;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return the sql, normalized if {@link JDBCPluginConfig.Plugin.JDBC#SQL_NORMALIZE}, and limited by {@link
+     * SqlBodyUtil#limitSqlBodySize(String)}.
+     */
+    public String getSqlBody() {
+        return sqlBody;
+    }
+
+    /**
+     * @return the fingerprint of the normalized sql, or null if not {@link JDBCPluginConfig.Plugin.JDBC#SQL_NORMALIZE}.
+     */
+    public String getSqlFingerprint() {
+        return sqlFingerprint;
+    }
+}
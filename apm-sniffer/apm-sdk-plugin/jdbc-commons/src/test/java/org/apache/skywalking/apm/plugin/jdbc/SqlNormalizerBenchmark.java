@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.jdbc;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Normalizing a corpus of queries of ORMs, reporting jobs and hand written DAOs.
+ */
+@State(Scope.Benchmark)
+public class SqlNormalizerBenchmark {
+    private static final String[] CORPUS = {
+        "select * from t_order where order_id = 1024",
+        "SELECT o.id, o.user_id, o.status, o.amount FROM t_order o WHERE o.user_id = 10086 AND o.status IN (1, 2, 3) "
+            + "ORDER BY o.create_time DESC LIMIT 20 OFFSET 40",
+        "insert into t_order_item (order_id, sku_id, quantity, price, create_time) values (1024, 'SKU-8812', 2, 19.90, "
+            + "'2022-07-01 12:00:00')",
+        "UPDATE t_account SET balance = balance - 100.50, version = version + 1 WHERE id = 42 AND version = 7",
+        "delete from t_session where last_access < '2022-06-01' and user_id in (1, 2, 3, 4, 5, 6, 7, 8, 9, 10)",
+        "/* service=report */ SELECT d.name, COUNT(*) AS cnt, SUM(e.salary) FROM employee e JOIN department d "
+            + "ON e.dept_id = d.id WHERE e.hire_date >= '2020-01-01' GROUP BY d.name HAVING COUNT(*) > 5",
+        "select this_.id as id1_0_0_, this_.name as name2_0_0_ from product this_ where this_.category_id=? "
+            + "and this_.price between ? and ?",
+        "SELECT \"u\".\"id\", \"u\".\"email\" FROM \"users\" AS \"u\" WHERE \"u\".\"email\" = 'alice@example.com' "
+            + "AND \"u\".\"deleted_at\" IS NULL",
+        "select * from t_config where `key` = 'feature.flag' -- read by the config center\n",
+        "SELECT id FROM t_event WHERE payload::jsonb ->> 'type' = 'click' AND ts > 1656633600000"
+    };
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void limitSqlBody(Blackhole bh) {
+        for (String sql : CORPUS) {
+            bh.consume(SqlBodyUtil.limitSqlBodySize(sql));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void normalize(Blackhole bh) {
+        for (String sql : CORPUS) {
+            bh.consume(SqlNormalizer.build(sql, false));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(SqlNormalizerBenchmark.class.getSimpleName())
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+        new Runner(opt).run();
+    }
+}
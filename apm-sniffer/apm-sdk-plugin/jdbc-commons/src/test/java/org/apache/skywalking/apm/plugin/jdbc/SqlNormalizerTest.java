@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.jdbc;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+public class SqlNormalizerTest {
+
+    @After
+    public void clean() {
+        JDBCPluginConfig.Plugin.JDBC.SQL_BODY_MAX_LENGTH = 2048;
+    }
+
+    @Test
+    public void testReplaceLiterals() {
+        assertNormalized("select * from t_user where id = 123 and name = 'O''Brien'",
+                         "select * from t_user where id = ? and name = ?");
+        assertNormalized("SELECT a FROM t WHERE b > -1.5e-3 AND c = 0x1F AND d = X'0A' AND e = N'abc'",
+                         "SELECT a FROM t WHERE b > -? AND c = ? AND d = ? AND e = ?");
+        assertNormalized("select col1, t2.col_2 from t2 where col1 = 'a'::text",
+                         "select col1, t2.col_2 from t2 where col1 = ?::text");
+    }
+
+    @Test
+    public void testBackslashEscapes() {
+        assertNormalized("Mysql", "update t set v = 'it\\'s' where k = .5", "update t set v = ? where k = ?");
+        assertNormalized("Mariadb", "select * from t where p = 'C:\\\\' and q = 1",
+                         "select * from t where p = ? and q = ?");
+        assertNormalized("PostgreSQL", "select * from t where p = 'C:\\' and q = 1",
+                         "select * from t where p = ? and q = ?");
+        assertNormalized("PostgreSQL", "select * from t where p = E'it\\'s' and q = 1",
+                         "select * from t where p = ? and q = ?");
+    }
+
+    @Test
+    public void testKeepIdentifiersAndPlaceholders() {
+        assertNormalized("select \"Col 1\", `col2` from \"T1\" where a = ? and b = $1 and c = :name",
+                         "select \"Col 1\", `col2` from \"T1\" where a = ? and b = $1 and c = :name");
+    }
+
+    @Test
+    public void testCollapseInList() {
+        assertNormalized("select * from t where id in (1, 2, 3) and k IN('a','b')",
+                         "select * from t where id in (?) and k IN(?)");
+        assertNormalized("select * from t where id in (?, ?, ?, ?)", "select * from t where id in (?)");
+        assertNormalized("select * from t where id in (select id from s where v = 1)",
+                         "select * from t where id in (select id from s where v = ?)");
+        assertNormalized("select * from t where (a, b) in ((1, 2), (3, 4))",
+                         "select * from t where (a, b) in ((?, ?), (?, ?))");
+    }
+
+    @Test
+    public void testRemoveCommentsAndWhitespaces() {
+        assertNormalized("  /* app=order */ select a\n\tfrom t -- trailing\n where b = 1  ",
+                         "select a from t where b = ?");
+    }
+
+    @Test
+    public void testFingerprint() {
+        SqlNormalizer.NormalizedSql first = SqlNormalizer.normalize("select * from t where id in (1, 2) and v = 'x'", "Mysql");
+        SqlNormalizer.NormalizedSql second = SqlNormalizer.normalize("SELECT *  FROM t WHERE id IN (3,4,5) AND v = 'y'", "Mysql");
+        SqlNormalizer.NormalizedSql other = SqlNormalizer.normalize("select * from s where id = 1", "Mysql");
+        assertThat(first.getFingerprint().length(), is(16));
+        assertThat(first.getFingerprint(), is(second.getFingerprint()));
+        assertThat(first.getFingerprint(), not(is(other.getFingerprint())));
+    }
+
+    @Test
+    public void testLongSqlIsLimited() {
+        JDBCPluginConfig.Plugin.JDBC.SQL_BODY_MAX_LENGTH = 29;
+        SqlNormalizer.NormalizedSql normalized = SqlNormalizer.normalize(
+            "select * from t where id = 1 and name = 'a very long name'", "Mysql");
+        assertThat(normalized.getSql(), is("select * from t where id = ?..."));
+        assertThat(normalized.getFingerprint(),
+                   is(SqlNormalizer.normalize("select * from t where id = 2", "Mysql").getFingerprint()));
+
+        JDBCPluginConfig.Plugin.JDBC.SQL_BODY_MAX_LENGTH = -1;
+        assertNormalized("Mysql", "select * from t where id = 1 and name = 'a very long name'",
+                         "select * from t where id = ? and name = ?");
+    }
+
+    private static void assertNormalized(String sql, String expected) {
+        assertThat(SqlNormalizer.build(sql, false).getSql(), is(expected));
+    }
+
+    private static void assertNormalized(String dbType, String sql, String expected) {
+        assertThat(SqlNormalizer.normalize(sql, dbType).getSql(), is(expected));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.jdbc.trace;
+
+import org.apache.skywalking.apm.plugin.jdbc.JDBCPluginConfig;
+import org.apache.skywalking.apm.plugin.jdbc.connectionurl.parser.URLParser;
+import org.apache.skywalking.apm.plugin.jdbc.define.StatementEnhanceInfos;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class StatementDescriptorTest {
+    private static final String URL = "jdbc:mysql://localhost:3306/test";
+    private static final String SQL = "select * from test where id = ?";
+
+    @After
+    public void clean() {
+        JDBCPluginConfig.Plugin.JDBC.SQL_BODY_MAX_LENGTH = 2048;
+    }
+
+    @Test
+    public void testDescribeStatement() {
+        StatementDescriptor descriptor = new StatementEnhanceInfos(URLParser.parser(URL), SQL, "PreparedStatement")
+            .getStatementDescriptor();
+        assertThat(descriptor.getOperationName("executeQuery"), is("Mysql/JDBC/PreparedStatement/executeQuery"));
+        assertThat(descriptor.getOperationName("executeQuery"), sameInstance(descriptor.getOperationName("executeQuery")));
+        assertThat(descriptor.getDBType(), is("Mysql"));
+        assertThat(descriptor.getDatabaseName(), is("test"));
+        assertThat(descriptor.getDatabasePeer(), is("localhost:3306"));
+        assertThat(descriptor.getSqlBody(), is(SQL));
+    }
+
+    @Test
+    public void testShareAmongConnectionsOfSameUrl() {
+        ConnectionInfo connection1 = URLParser.parser(URL);
+        ConnectionInfo connection2 = URLParser.parser(URL);
+        assertThat(connection1, not(sameInstance(connection2)));
+
+        StatementEnhanceInfos statement1 = new StatementEnhanceInfos(connection1, SQL, "PreparedStatement");
+        StatementEnhanceInfos statement2 = new StatementEnhanceInfos(connection2, SQL, "PreparedStatement");
+        assertThat(statement1.getStatementDescriptor(), sameInstance(statement2.getStatementDescriptor()));
+        assertThat(
+            new StatementEnhanceInfos(connection2, SQL, "CallableStatement").getStatementDescriptor()
+                                                                            .getOperationName("execute"),
+            is("Mysql/JDBC/CallableStatement/execute")
+        );
+    }
+
+    @Test
+    public void testDescribeAgainAfterCatalogChanged() {
+        ConnectionInfo connection1 = URLParser.parser(URL);
+        ConnectionInfo connection2 = URLParser.parser(URL);
+        StatementEnhanceInfos statement1 = new StatementEnhanceInfos(connection1, SQL, "PreparedStatement");
+        StatementEnhanceInfos statement2 = new StatementEnhanceInfos(connection2, SQL, "PreparedStatement");
+        assertThat(statement2.getStatementDescriptor().getDatabaseName(), is("test"));
+
+        connection2.setDatabaseName("test2");
+        assertThat(statement2.getStatementDescriptor().getDatabaseName(), is("test2"));
+        assertThat(statement1.getStatementDescriptor().getDatabaseName(), is("test"));
+    }
+
+    @Test
+    public void testLimitSqlBody() {
+        JDBCPluginConfig.Plugin.JDBC.SQL_BODY_MAX_LENGTH = 10;
+        StatementDescriptor descriptor = new StatementEnhanceInfos(
+            URLParser.parser("jdbc:mysql://localhost:3306/limit"), SQL, "PreparedStatement").getStatementDescriptor();
+        assertThat(descriptor.getSqlBody(), is("select * f..."));
+    }
+}
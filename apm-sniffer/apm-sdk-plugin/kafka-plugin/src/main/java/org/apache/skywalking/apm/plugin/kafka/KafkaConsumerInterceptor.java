@@ -24,6 +24,7 @@ import org.apache.kafka.common.header.Header;
 import org.apache.skywalking.apm.agent.core.context.CarrierItem;
 import org.apache.skywalking.apm.agent.core.context.ContextCarrier;
 import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.SW8CarrierItem;
 import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
@@ -36,9 +37,11 @@ import org.apache.skywalking.apm.plugin.kafka.define.KafkaContext;
 
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class KafkaConsumerInterceptor implements InstanceMethodsAroundInterceptor {
 
@@ -80,26 +83,90 @@ public class KafkaConsumerInterceptor implements InstanceMethodsAroundIntercepto
             Tags.MQ_BROKER.set(activeSpan, requiredInfo.getBrokerServers());
             Tags.MQ_TOPIC.set(activeSpan, requiredInfo.getTopics());
             activeSpan.setPeer(requiredInfo.getBrokerServers());
-            for (List<ConsumerRecord<?, ?>> consumerRecords : records.values()) {
-                for (ConsumerRecord<?, ?> record : consumerRecords) {
-                    ContextCarrier contextCarrier = new ContextCarrier();
-
-                    CarrierItem next = contextCarrier.items();
-                    while (next.hasNext()) {
-                        next = next.next();
-                        Iterator<Header> iterator = record.headers().headers(next.getHeadKey()).iterator();
-                        if (iterator.hasNext()) {
-                            next.setHeadValue(new String(iterator.next().value(), StandardCharsets.UTF_8));
-                        }
-                    }
-                    ContextManager.extract(contextCarrier);
-                }
+            if (KafkaPluginConfig.Plugin.Kafka.CONSUMER_TRACE_MODE == ConsumerTraceMode.BOUNDED) {
+                extractBounded(records);
+            } else {
+                extractAll(records);
             }
             ContextManager.stopSpan();
         }
         return ret;
     }
 
+    private void extractAll(Map<TopicPartition, List<ConsumerRecord<?, ?>>> records) {
+        for (List<ConsumerRecord<?, ?>> consumerRecords : records.values()) {
+            for (ConsumerRecord<?, ?> record : consumerRecords) {
+                byte[] sw8 = headerValue(record, SW8CarrierItem.HEADER_NAME);
+                if (sw8 != null) {
+                    extract(record, sw8);
+                }
+            }
+        }
+    }
+
+    /**
+     * Extract the first record of each parent segment, until {@link
+     * KafkaPluginConfig.Plugin.Kafka#CONSUMER_MAX_REFS_PER_POLL} refs.
+     */
+    private void extractBounded(Map<TopicPartition, List<ConsumerRecord<?, ?>>> records) {
+        int maxRefs = KafkaPluginConfig.Plugin.Kafka.CONSUMER_MAX_REFS_PER_POLL;
+        Set<String> parentSegments = new HashSet<>();
+        for (List<ConsumerRecord<?, ?>> consumerRecords : records.values()) {
+            for (ConsumerRecord<?, ?> record : consumerRecords) {
+                if (parentSegments.size() >= maxRefs) {
+                    return;
+                }
+                byte[] sw8 = headerValue(record, SW8CarrierItem.HEADER_NAME);
+                if (sw8 == null) {
+                    continue;
+                }
+                String parentSegment = parentSegmentOf(sw8);
+                if (parentSegment != null && parentSegments.add(parentSegment)) {
+                    extract(record, sw8);
+                }
+            }
+        }
+    }
+
+    private void extract(ConsumerRecord<?, ?> record, byte[] sw8) {
+        ContextCarrier contextCarrier = new ContextCarrier();
+
+        CarrierItem next = contextCarrier.items();
+        while (next.hasNext()) {
+            next = next.next();
+            byte[] value = SW8CarrierItem.HEADER_NAME.equals(next.getHeadKey())
+                ? sw8 : headerValue(record, next.getHeadKey());
+            if (value != null) {
+                next.setHeadValue(new String(value, StandardCharsets.UTF_8));
+            }
+        }
+        ContextManager.extract(contextCarrier);
+    }
+
+    private static byte[] headerValue(ConsumerRecord<?, ?> record, String key) {
+        Iterator<Header> iterator = record.headers().headers(key).iterator();
+        return iterator.hasNext() ? iterator.next().value() : null;
+    }
+
+    /**
+     * @return the encoded parent segment id of the sw8 header, the third part split by '-', or null if the header is
+     * malformed.
+     */
+    static String parentSegmentOf(byte[] sw8) {
+        int start = -1;
+        int parts = 0;
+        for (int i = 0; i < sw8.length; i++) {
+            if (sw8[i] == '-') {
+                if (++parts == 2) {
+                    start = i + 1;
+                } else if (parts == 3) {
+                    return i > start ? new String(sw8, start, i - start, StandardCharsets.ISO_8859_1) : null;
+                }
+            }
+        }
+        return null;
+    }
+
     @SuppressWarnings({"unchecked"})
     protected Map<TopicPartition, List<ConsumerRecord<?, ?>>> fetchRecords(Object retObj) {
         return (Map<TopicPartition, List<ConsumerRecord<?, ?>>>) retObj;
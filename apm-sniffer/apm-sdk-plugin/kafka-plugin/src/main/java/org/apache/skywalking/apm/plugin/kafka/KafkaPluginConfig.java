@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.kafka;
+
+import org.apache.skywalking.apm.agent.core.boot.PluginConfig;
+
+public class KafkaPluginConfig {
+    public static class Plugin {
+        @PluginConfig(root = KafkaPluginConfig.class)
+        public static class Kafka {
+            /**
+             * How the entry span of a poll refers to the contexts carried by the polled records. Read {@link
+             * ConsumerTraceMode}.
+             */
+            public static ConsumerTraceMode CONSUMER_TRACE_MODE = ConsumerTraceMode.ALL;
+            /**
+             * The max number of the refs of the entry span of a poll, in the {@link ConsumerTraceMode#BOUNDED} mode.
+             */
+            public static int CONSUMER_MAX_REFS_PER_POLL = 50;
+        }
+    }
+}
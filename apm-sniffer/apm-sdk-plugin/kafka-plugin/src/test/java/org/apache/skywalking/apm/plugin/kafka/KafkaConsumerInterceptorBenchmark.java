@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.SW8CarrierItem;
+import org.apache.skywalking.apm.agent.core.logging.core.LogLevel;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
+import org.apache.skywalking.apm.agent.core.plugin.loader.AgentClassLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Tracing a poll of records sent by 10 producer segments, in each consumer trace mode.
+ */
+@State(Scope.Benchmark)
+public class KafkaConsumerInterceptorBenchmark {
+    @Param({"1", "100", "1000"})
+    private int recordCount;
+
+    @Param({"ALL", "BOUNDED"})
+    private ConsumerTraceMode mode;
+
+    private final KafkaConsumerInterceptor interceptor = new KafkaConsumerInterceptor();
+
+    private final EnhancedInstance consumer = new EnhancedInstance() {
+        private Object requiredInfo;
+
+        @Override
+        public Object getSkyWalkingDynamicField() {
+            return requiredInfo;
+        }
+
+        @Override
+        public void setSkyWalkingDynamicField(Object value) {
+            requiredInfo = value;
+        }
+    };
+
+    private Map<TopicPartition, List<ConsumerRecord<?, ?>>> records;
+
+    @Setup
+    public void setup() throws Exception {
+        AgentClassLoader.initDefaultLoader();
+        Config.Logging.LEVEL = LogLevel.OFF;
+        ServiceManager.INSTANCE.boot();
+        KafkaPluginConfig.Plugin.Kafka.CONSUMER_TRACE_MODE = mode;
+
+        ConsumerEnhanceRequiredInfo requiredInfo = new ConsumerEnhanceRequiredInfo();
+        requiredInfo.setTopics(Collections.singletonList("test"));
+        requiredInfo.setBrokerServers(Collections.singletonList("localhost:9092"));
+        requiredInfo.setGroupId("test");
+        consumer.setSkyWalkingDynamicField(requiredInfo);
+
+        List<ConsumerRecord<?, ?>> polled = new ArrayList<>(recordCount);
+        for (int i = 0; i < recordCount; i++) {
+            ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 0, i, "key", "value");
+            record.headers().add(SW8CarrierItem.HEADER_NAME, sw8("1.2." + i % 10, i));
+            polled.add(record);
+        }
+        records = new HashMap<>();
+        records.put(new TopicPartition("test", 0), polled);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ServiceManager.INSTANCE.shutdown();
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public Object poll() throws Throwable {
+        interceptor.beforeMethod(consumer, null, null, null, null);
+        return interceptor.afterMethod(consumer, null, null, null, records);
+    }
+
+    private static byte[] sw8(String segmentId, int spanId) {
+        return ("1-" + base64("1.2.3") + "-" + base64(segmentId) + "-" + spanId + "-" + base64("service") + "-"
+            + base64("instance") + "-" + base64("/produce") + "-" + base64("127.0.0.1:9092"))
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String base64(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(KafkaConsumerInterceptorBenchmark.class.getSimpleName())
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+        new Runner(opt).run();
+    }
+}
@@ -21,9 +21,12 @@ package org.apache.skywalking.apm.plugin.kafka;
 import static org.apache.skywalking.apm.network.trace.component.ComponentsDefine.KAFKA_CONSUMER;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -34,6 +37,7 @@ import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegmentRef;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
+import org.apache.skywalking.apm.agent.test.helper.FieldGetter;
 import org.apache.skywalking.apm.agent.test.helper.SegmentHelper;
 import org.apache.skywalking.apm.agent.test.helper.SegmentRefHelper;
 import org.apache.skywalking.apm.agent.test.tools.AgentServiceRule;
@@ -42,6 +46,7 @@ import org.apache.skywalking.apm.agent.test.tools.SegmentStoragePoint;
 import org.apache.skywalking.apm.agent.test.tools.SpanAssert;
 import org.apache.skywalking.apm.agent.test.tools.TracingSegmentRunner;
 import org.hamcrest.MatcherAssert;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -107,6 +112,12 @@ public class KafkaConsumerInterceptorTest {
         messages.put(topicPartition, records);
     }
 
+    @After
+    public void tearDown() {
+        KafkaPluginConfig.Plugin.Kafka.CONSUMER_TRACE_MODE = ConsumerTraceMode.ALL;
+        KafkaPluginConfig.Plugin.Kafka.CONSUMER_MAX_REFS_PER_POLL = 50;
+    }
+
     @Test
     public void testConsumerWithoutMessage() throws Throwable {
         consumerInterceptor.beforeMethod(consumerInstance, null, new Object[0], new Class[0], null);
@@ -134,6 +145,92 @@ public class KafkaConsumerInterceptorTest {
         assertConsumerSpan(spans.get(0));
     }
 
+    @Test
+    public void testConsumerWithAllRefs() throws Throwable {
+        consumerInterceptor.beforeMethod(consumerInstance, null, new Object[0], new Class[0], null);
+        consumerInterceptor.afterMethod(consumerInstance, null, new Object[0], new Class[0], batchMessages());
+
+        List<TraceSegment> traceSegments = segmentStorage.getTraceSegments();
+        assertThat(traceSegments.size(), is(1));
+        assertTraceSegmentRef(traceSegments.get(0).getRef());
+
+        List<TraceSegmentRef> refs = getRefs(SegmentHelper.getSpans(traceSegments.get(0)).get(0));
+        assertThat(refs.size(), is(5));
+    }
+
+    @Test
+    public void testConsumerWithBoundedRefs() throws Throwable {
+        KafkaPluginConfig.Plugin.Kafka.CONSUMER_TRACE_MODE = ConsumerTraceMode.BOUNDED;
+        consumerInterceptor.beforeMethod(consumerInstance, null, new Object[0], new Class[0], null);
+        consumerInterceptor.afterMethod(consumerInstance, null, new Object[0], new Class[0], batchMessages());
+
+        List<TraceSegment> traceSegments = segmentStorage.getTraceSegments();
+        assertThat(traceSegments.size(), is(1));
+        assertTraceSegmentRef(traceSegments.get(0).getRef());
+
+        List<TraceSegmentRef> refs = getRefs(SegmentHelper.getSpans(traceSegments.get(0)).get(0));
+        assertThat(refs.size(), is(2));
+        MatcherAssert.assertThat(SegmentRefHelper.getTraceSegmentId(refs.get(0)).toString(), is("3.4.5"));
+        MatcherAssert.assertThat(SegmentRefHelper.getTraceSegmentId(refs.get(1)).toString(), is("6.7.8"));
+    }
+
+    @Test
+    public void testBoundedRefsLimit() throws Throwable {
+        KafkaPluginConfig.Plugin.Kafka.CONSUMER_TRACE_MODE = ConsumerTraceMode.BOUNDED;
+        KafkaPluginConfig.Plugin.Kafka.CONSUMER_MAX_REFS_PER_POLL = 1;
+        consumerInterceptor.beforeMethod(consumerInstance, null, new Object[0], new Class[0], null);
+        consumerInterceptor.afterMethod(consumerInstance, null, new Object[0], new Class[0], batchMessages());
+
+        List<TraceSegment> traceSegments = segmentStorage.getTraceSegments();
+        List<TraceSegmentRef> refs = getRefs(SegmentHelper.getSpans(traceSegments.get(0)).get(0));
+        assertThat(refs.size(), is(1));
+    }
+
+    @Test
+    public void testParentSegmentOf() {
+        assertThat(KafkaConsumerInterceptor.parentSegmentOf(sw8("3.4.5", 3)), is(base64("3.4.5")));
+        assertNull(KafkaConsumerInterceptor.parentSegmentOf("1-dHJhY2U=".getBytes()));
+        assertNull(KafkaConsumerInterceptor.parentSegmentOf("1-dHJhY2U=--3".getBytes()));
+    }
+
+    /**
+     * Three records of the segment 3.4.5, one record without context, and two records of the segment 6.7.8.
+     */
+    private Map<TopicPartition, List<ConsumerRecord>> batchMessages() {
+        Map<TopicPartition, List<ConsumerRecord>> batch = new LinkedHashMap<TopicPartition, List<ConsumerRecord>>();
+        List<ConsumerRecord> records = new ArrayList<ConsumerRecord>();
+        for (int spanId = 3; spanId < 6; spanId++) {
+            records.add(record(sw8("3.4.5", spanId)));
+        }
+        records.add(new ConsumerRecord("test", 1, 3, "1", "1"));
+        batch.put(new TopicPartition("test", 1), records);
+
+        records = new ArrayList<ConsumerRecord>();
+        records.add(record(sw8("6.7.8", 1)));
+        records.add(record(sw8("6.7.8", 2)));
+        batch.put(new TopicPartition("test-1", 1), records);
+        return batch;
+    }
+
+    private ConsumerRecord record(byte[] sw8) {
+        ConsumerRecord consumerRecord = new ConsumerRecord("test", 1, 0, "1", "1");
+        consumerRecord.headers().add(SW8CarrierItem.HEADER_NAME, sw8);
+        return consumerRecord;
+    }
+
+    private byte[] sw8(String segmentId, int spanId) {
+        return ("1-" + base64("3.4.5") + "-" + base64(segmentId) + "-" + spanId + "-" + base64("service") + "-"
+            + base64("instance") + "-" + base64("/app") + "-" + base64("127.0.0.1:8080")).getBytes();
+    }
+
+    private String base64(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes());
+    }
+
+    private List<TraceSegmentRef> getRefs(AbstractTracingSpan span) throws Exception {
+        return FieldGetter.get2LevelParentFieldValue(span, "refs");
+    }
+
     private void assertConsumerSpan(AbstractTracingSpan span) {
         SpanAssert.assertLayer(span, SpanLayer.MQ);
         SpanAssert.assertComponent(span, KAFKA_CONSUMER);
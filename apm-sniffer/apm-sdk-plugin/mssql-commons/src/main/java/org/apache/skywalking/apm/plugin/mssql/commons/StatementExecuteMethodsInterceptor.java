@@ -47,9 +47,8 @@ public class StatementExecuteMethodsInterceptor implements InstanceMethodsAround
             String sql = "";
             if (allArguments.length > 0) {
                 sql = (String) allArguments[0];
-                sql = SqlBodyUtil.limitSqlBodySize(sql);
             }
-            Tags.DB_STATEMENT.set(span, sql);
+            SqlBodyUtil.tagSqlBody(span, connectInfo.getDBType(), sql);
             span.setComponent(connectInfo.getComponent());
 
             SpanLayer.asDB(span);
@@ -29,7 +29,7 @@ import org.apache.skywalking.apm.plugin.jdbc.JDBCPluginConfig;
 import org.apache.skywalking.apm.plugin.jdbc.PreparedStatementParameterBuilder;
 import org.apache.skywalking.apm.plugin.jdbc.SqlBodyUtil;
 import org.apache.skywalking.apm.plugin.jdbc.define.StatementEnhanceInfos;
-import org.apache.skywalking.apm.plugin.jdbc.trace.ConnectionInfo;
+import org.apache.skywalking.apm.plugin.jdbc.trace.StatementDescriptor;
 
 import java.lang.reflect.Method;
 
@@ -47,14 +47,13 @@ public class PreparedStatementExecuteMethodsInterceptor implements InstanceMetho
          * @see JDBCDriverInterceptor#afterMethod(EnhancedInstance, Method, Object[], Class[], Object)
          */
         if (cacheObject != null && cacheObject.getConnectionInfo() != null) {
-            ConnectionInfo connectInfo = cacheObject.getConnectionInfo();
+            StatementDescriptor descriptor = cacheObject.getStatementDescriptor();
             AbstractSpan span = ContextManager.createExitSpan(
-                buildOperationName(connectInfo, method.getName(), cacheObject
-                    .getStatementName()), connectInfo.getDatabasePeer());
-            Tags.DB_TYPE.set(span, connectInfo.getDBType());
-            Tags.DB_INSTANCE.set(span, connectInfo.getDatabaseName());
-            Tags.DB_STATEMENT.set(span, SqlBodyUtil.limitSqlBodySize(cacheObject.getSql()));
-            span.setComponent(connectInfo.getComponent());
+                descriptor.getOperationName(method.getName()), descriptor.getDatabasePeer());
+            Tags.DB_TYPE.set(span, descriptor.getDBType());
+            Tags.DB_INSTANCE.set(span, descriptor.getDatabaseName());
+            SqlBodyUtil.tagSqlBody(span, descriptor);
+            span.setComponent(descriptor.getComponent());
 
             if (JDBCPluginConfig.Plugin.JDBC.TRACE_SQL_PARAMETERS) {
                 final Object[] parameters = cacheObject.getParameters();
@@ -88,10 +87,6 @@ public class PreparedStatementExecuteMethodsInterceptor implements InstanceMetho
         }
     }
 
-    private String buildOperationName(ConnectionInfo connectionInfo, String methodName, String statementName) {
-        return connectionInfo.getDBType() + "/JDBC/" + statementName + "/" + methodName;
-    }
-
     private String getParameterString(Object[] parameters, int maxIndex) {
         return new PreparedStatementParameterBuilder()
             .setParameters(parameters)
@@ -44,8 +44,7 @@ public class StatementExecuteMethodsInterceptor implements InstanceMethodsAround
         Tags.DB_TYPE.set(span, connectInfo.getDBType());
         Tags.DB_INSTANCE.set(span, connectInfo.getDatabaseName());
         String sql = (String) allArguments[0];
-        sql = SqlBodyUtil.limitSqlBodySize(sql);
-        Tags.DB_STATEMENT.set(span, sql);
+        SqlBodyUtil.tagSqlBody(span, connectInfo.getDBType(), sql);
         span.setComponent(connectInfo.getComponent());
 
         SpanLayer.asDB(span);
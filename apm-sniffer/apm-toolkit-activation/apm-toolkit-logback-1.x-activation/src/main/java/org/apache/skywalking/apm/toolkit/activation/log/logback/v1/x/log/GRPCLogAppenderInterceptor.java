@@ -24,21 +24,12 @@ import ch.qos.logback.classic.spi.ThrowableProxy;
 import ch.qos.logback.core.OutputStreamAppender;
 import java.lang.reflect.Method;
 import java.util.Objects;
-import java.util.Optional;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
-import org.apache.skywalking.apm.agent.core.conf.Config;
-import org.apache.skywalking.apm.agent.core.context.ContextManager;
-import org.apache.skywalking.apm.agent.core.context.util.ThrowableTransformer;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InstanceMethodsAroundInterceptor;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResult;
+import org.apache.skywalking.apm.agent.core.remote.CapturedLog;
 import org.apache.skywalking.apm.agent.core.remote.LogReportServiceClient;
-import org.apache.skywalking.apm.network.common.v3.KeyStringValuePair;
-import org.apache.skywalking.apm.network.logging.v3.LogData;
-import org.apache.skywalking.apm.network.logging.v3.LogDataBody;
-import org.apache.skywalking.apm.network.logging.v3.LogTags;
-import org.apache.skywalking.apm.network.logging.v3.TextLog;
-import org.apache.skywalking.apm.network.logging.v3.TraceContext;
 import org.apache.skywalking.apm.toolkit.logging.common.log.ToolkitConfig;
 
 public class GRPCLogAppenderInterceptor implements InstanceMethodsAroundInterceptor {
@@ -74,56 +65,34 @@ public class GRPCLogAppenderInterceptor implements InstanceMethodsAroundIntercep
     }
 
     /**
-     * transforms {@link ILoggingEvent}  to {@link LogData}
+     * captures {@link ILoggingEvent} as a {@link CapturedLog}, which is transformed to {@code LogData} by the reporter
      *
      * @param appender the real {@link OutputStreamAppender appender}
      * @param event {@link ILoggingEvent}
-     * @return {@link LogData} with filtered trace context in order to reduce the cost on the network
+     * @return {@link CapturedLog} with filtered trace context in order to reduce the cost on the network
      */
-    private LogData.Builder transform(final OutputStreamAppender<ILoggingEvent> appender, ILoggingEvent event) {
-        LogTags.Builder logTags = LogTags.newBuilder()
-                .addData(KeyStringValuePair.newBuilder()
-                        .setKey("level").setValue(event.getLevel().toString()).build())
-                .addData(KeyStringValuePair.newBuilder()
-                        .setKey("logger").setValue(event.getLoggerName()).build())
-                .addData(KeyStringValuePair.newBuilder()
-                        .setKey("thread").setValue(event.getThreadName()).build());
+    private CapturedLog transform(final OutputStreamAppender<ILoggingEvent> appender, ILoggingEvent event) {
+        CapturedLog.Builder builder = new CapturedLog.Builder(event.getTimeStamp(), transformLogText(appender, event))
+                .level(event.getLevel().toString())
+                .logger(event.getLoggerName())
+                .thread(event.getThreadName());
         if (!ToolkitConfig.Plugin.Toolkit.Log.TRANSMIT_FORMATTED) {
-            if (event.getArgumentArray() != null) {
-                for (int i = 0; i < event.getArgumentArray().length; i++) {
-                    String value = Optional.ofNullable(event.getArgumentArray()[i]).orElse("null").toString();
-                    logTags.addData(KeyStringValuePair.newBuilder()
-                            .setKey("argument." + i).setValue(value).build());
+            final Object[] argumentArray = event.getArgumentArray();
+            if (argumentArray != null) {
+                String[] arguments = new String[argumentArray.length];
+                for (int i = 0; i < argumentArray.length; i++) {
+                    arguments[i] = String.valueOf(argumentArray[i]);
                 }
+                builder.arguments(arguments);
             }
 
             final IThrowableProxy throwableProxy = event.getThrowableProxy();
             if (throwableProxy instanceof ThrowableProxy) {
-                Throwable throwable = ((ThrowableProxy) throwableProxy).getThrowable();
-                logTags.addData(KeyStringValuePair.newBuilder()
-                        .setKey("exception").setValue(ThrowableTransformer.INSTANCE.convert2String(throwable, 2048)).build());
+                builder.throwable(((ThrowableProxy) throwableProxy).getThrowable());
             }
         }
 
-        LogData.Builder builder = LogData.newBuilder()
-                .setTimestamp(event.getTimeStamp())
-                .setService(Config.Agent.SERVICE_NAME)
-                .setServiceInstance(Config.Agent.INSTANCE_NAME)
-                .setTags(logTags.build())
-                .setBody(LogDataBody.newBuilder().setType(LogDataBody.ContentCase.TEXT.name())
-                                    .setText(TextLog.newBuilder().setText(transformLogText(appender, event)).build()).build());
-
-        String primaryEndpointName = ContextManager.getPrimaryEndpointName();
-        if (primaryEndpointName != null) {
-            builder.setEndpoint(primaryEndpointName);
-        }
-
-        return -1 == ContextManager.getSpanId() ? builder
-                : builder.setTraceContext(TraceContext.newBuilder()
-                        .setTraceId(ContextManager.getGlobalTraceId())
-                        .setSpanId(ContextManager.getSpanId())
-                        .setTraceSegmentId(ContextManager.getSegmentId())
-                        .build());
+        return builder.activeContext().build();
     }
 
     private String transformLogText(final OutputStreamAppender<ILoggingEvent> appender, final ILoggingEvent event) {
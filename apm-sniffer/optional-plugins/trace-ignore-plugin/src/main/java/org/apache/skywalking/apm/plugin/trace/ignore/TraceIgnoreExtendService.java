@@ -26,6 +26,7 @@ import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 import org.apache.skywalking.apm.agent.core.sampling.SamplingService;
 import org.apache.skywalking.apm.plugin.trace.ignore.conf.IgnoreConfig;
 import org.apache.skywalking.apm.plugin.trace.ignore.conf.IgnoreConfigInitializer;
+import org.apache.skywalking.apm.plugin.trace.ignore.matcher.CompiledPathMatcher;
 import org.apache.skywalking.apm.plugin.trace.ignore.matcher.FastPathMatcher;
 import org.apache.skywalking.apm.plugin.trace.ignore.matcher.TracePathMatcher;
 import org.apache.skywalking.apm.util.StringUtil;
@@ -35,7 +36,10 @@ public class TraceIgnoreExtendService extends SamplingService {
     private static final ILog LOGGER = LogManager.getLogger(TraceIgnoreExtendService.class);
     private static final String PATTERN_SEPARATOR = ",";
     private TracePathMatcher pathMatcher = new FastPathMatcher();
-    private volatile String[] patterns = new String[] {};
+    /**
+     * All the ignore patterns compiled into one matcher, rebuilt when they change. Null if there is no pattern.
+     */
+    private volatile CompiledPathMatcher compiledMatcher = null;
     private TraceIgnorePatternWatcher traceIgnorePatternWatcher;
 
     @Override
@@ -49,7 +53,7 @@ public class TraceIgnoreExtendService extends SamplingService {
 
         IgnoreConfigInitializer.initialize();
         if (StringUtil.isNotEmpty(IgnoreConfig.Trace.IGNORE_PATH)) {
-            patterns = IgnoreConfig.Trace.IGNORE_PATH.split(PATTERN_SEPARATOR);
+            setPatterns(IgnoreConfig.Trace.IGNORE_PATH.split(PATTERN_SEPARATOR));
         }
 
         traceIgnorePatternWatcher = new TraceIgnorePatternWatcher("agent.trace.ignore_path", this);
@@ -70,13 +74,10 @@ public class TraceIgnoreExtendService extends SamplingService {
 
     @Override
     public boolean trySampling(final String operationName) {
-        if (patterns.length > 0) {
-            for (String pattern : patterns) {
-                if (pathMatcher.match(pattern, operationName)) {
-                    LOGGER.debug("operationName : " + operationName + " Ignore tracking");
-                    return false;
-                }
-            }
+        final CompiledPathMatcher matcher = compiledMatcher;
+        if (matcher != null && matcher.match(operationName)) {
+            LOGGER.debug("operationName : " + operationName + " Ignore tracking");
+            return false;
         }
         return super.trySampling(operationName);
     }
@@ -88,9 +89,15 @@ public class TraceIgnoreExtendService extends SamplingService {
 
     void handleTraceIgnorePatternsChanged() {
         if (StringUtil.isNotBlank(traceIgnorePatternWatcher.getTraceIgnorePathPatterns())) {
-            patterns = traceIgnorePatternWatcher.getTraceIgnorePathPatterns().split(PATTERN_SEPARATOR);
+            setPatterns(traceIgnorePatternWatcher.getTraceIgnorePathPatterns().split(PATTERN_SEPARATOR));
         } else {
-            patterns = new String[] {};
+            setPatterns(new String[] {});
         }
     }
+
+    void setPatterns(String[] patterns) {
+        this.compiledMatcher = patterns.length > 0
+            ? new CompiledPathMatcher(patterns, pathMatcher, IgnoreConfig.Trace.MATCH_CACHE_SIZE)
+            : null;
+    }
 }
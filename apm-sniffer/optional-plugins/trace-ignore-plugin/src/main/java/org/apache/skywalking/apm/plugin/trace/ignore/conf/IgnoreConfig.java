@@ -27,5 +27,11 @@ public class IgnoreConfig {
          * support multilevel directories
          */
         public static String IGNORE_PATH = "";
+
+        /**
+         * The max number of operation names whose matching results are cached. The cache is cleared once it is full.
+         * Non-positive means no cache.
+         */
+        public static int MATCH_CACHE_SIZE = 10000;
     }
 }
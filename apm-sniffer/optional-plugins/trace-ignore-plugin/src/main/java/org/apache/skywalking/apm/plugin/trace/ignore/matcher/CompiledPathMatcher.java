@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.trace.ignore.matcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Matches a path against all the ignore patterns at once. The patterns without wildcards are looked up in a set, the
+ * others are put in a trie by their literal prefix before the first wildcard, so only the patterns whose prefix is a
+ * prefix of the path are checked by the {@link TracePathMatcher}. The results are cached per path, and the cache is
+ * cleared once it reaches the max size.
+ * <p>
+ * It is immutable except the cache, build a new one when the patterns change.
+ */
+public class CompiledPathMatcher {
+    private final TracePathMatcher pathMatcher;
+    private final Set<String> exactPatterns = new HashSet<>();
+    private final Node root = new Node();
+    private final int cacheSize;
+    private final Map<String, Boolean> cache;
+
+    public CompiledPathMatcher(String[] patterns, TracePathMatcher pathMatcher, int cacheSize) {
+        this.pathMatcher = pathMatcher;
+        this.cacheSize = cacheSize;
+        this.cache = cacheSize > 0 ? new ConcurrentHashMap<>() : null;
+        for (String pattern : patterns) {
+            int prefixLength = literalPrefixLength(pattern);
+            if (prefixLength == pattern.length()) {
+                exactPatterns.add(pattern);
+                continue;
+            }
+            Node node = root;
+            for (int i = 0; i < prefixLength; i++) {
+                if (node.children == null) {
+                    node.children = new HashMap<>();
+                }
+                node = node.children.computeIfAbsent(pattern.charAt(i), c -> new Node());
+            }
+            node.patterns.add(pattern);
+        }
+    }
+
+    /**
+     * @return true if any of the patterns matches the path.
+     */
+    public boolean match(String path) {
+        if (cache == null) {
+            return matchPatterns(path);
+        }
+        Boolean matched = cache.get(path);
+        if (matched == null) {
+            matched = matchPatterns(path);
+            if (cache.size() >= cacheSize) {
+                cache.clear();
+            }
+            cache.put(path, matched);
+        }
+        return matched;
+    }
+
+    private boolean matchPatterns(String path) {
+        if (exactPatterns.contains(path)) {
+            return true;
+        }
+        Node node = root;
+        int index = 0;
+        while (true) {
+            for (String pattern : node.patterns) {
+                if (pathMatcher.match(pattern, path)) {
+                    return true;
+                }
+            }
+            if (node.children == null || index >= path.length()) {
+                return false;
+            }
+            node = node.children.get(path.charAt(index++));
+            if (node == null) {
+                return false;
+            }
+        }
+    }
+
+    private static int literalPrefixLength(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?') {
+                return i;
+            }
+        }
+        return pattern.length();
+    }
+
+    private static class Node {
+        private Map<Character, Node> children;
+        private final List<String> patterns = new ArrayList<>(1);
+    }
+}
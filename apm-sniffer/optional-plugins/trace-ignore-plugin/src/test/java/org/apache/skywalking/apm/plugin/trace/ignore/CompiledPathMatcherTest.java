@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.trace.ignore;
+
+import org.apache.skywalking.apm.plugin.trace.ignore.matcher.CompiledPathMatcher;
+import org.apache.skywalking.apm.plugin.trace.ignore.matcher.FastPathMatcher;
+import org.apache.skywalking.apm.plugin.trace.ignore.matcher.TracePathMatcher;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompiledPathMatcherTest {
+    private static final String[] PATTERNS = {
+        "/eureka/*",
+        "/eureka/*/",
+        "/eureka/**",
+        "/health",
+        "/static/**/*.js",
+        "/api/?/status",
+        "**/*.png",
+        "/metrics/*/list",
+        "*.css"
+    };
+
+    private static final String[] PATHS = {
+        "/eureka/apps",
+        "/eureka/",
+        "/eureka/apps/list",
+        "/eureka",
+        "/health",
+        "/health/",
+        "/healthy",
+        "/static/app.js",
+        "/static/js/app.js",
+        "/static/js/app.css",
+        "/api/a/status",
+        "/api/ab/status",
+        "/img/logo.png",
+        "logo.png",
+        "/metrics/jvm/list",
+        "/metrics/jvm/gc/list",
+        "main.css",
+        "/main.css",
+        "",
+        "/"
+    };
+
+    @Test
+    public void testSameAsMatchingEveryPattern() {
+        TracePathMatcher pathMatcher = new FastPathMatcher();
+        CompiledPathMatcher compiled = new CompiledPathMatcher(PATTERNS, pathMatcher, 0);
+        CompiledPathMatcher cached = new CompiledPathMatcher(PATTERNS, pathMatcher, 4);
+        for (int round = 0; round < 2; round++) {
+            for (String path : PATHS) {
+                boolean expected = false;
+                for (String pattern : PATTERNS) {
+                    expected |= pathMatcher.match(pattern, path);
+                }
+                Assert.assertEquals(path, expected, compiled.match(path));
+                Assert.assertEquals(path, expected, cached.match(path));
+            }
+        }
+    }
+
+    @Test
+    public void testSinglePattern() {
+        TracePathMatcher pathMatcher = new FastPathMatcher();
+        for (String pattern : PATTERNS) {
+            CompiledPathMatcher compiled = new CompiledPathMatcher(new String[] {pattern}, pathMatcher, 0);
+            for (String path : PATHS) {
+                Assert.assertEquals(pattern + " " + path, pathMatcher.match(pattern, path), compiled.match(path));
+            }
+        }
+    }
+}
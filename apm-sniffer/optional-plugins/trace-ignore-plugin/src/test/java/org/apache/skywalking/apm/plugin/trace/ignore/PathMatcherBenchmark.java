@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.trace.ignore;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.plugin.trace.ignore.matcher.CompiledPathMatcher;
+import org.apache.skywalking.apm.plugin.trace.ignore.matcher.FastPathMatcher;
+import org.apache.skywalking.apm.plugin.trace.ignore.matcher.TracePathMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Matching a not ignored operation name, the common case, against the given number of ignore patterns, by the
+ * previous loop over all patterns, and by the compiled matcher with and without the result cache.
+ */
+@State(Scope.Benchmark)
+public class PathMatcherBenchmark {
+    private static final String OPERATION_NAME = "/api/orders/12345/items";
+
+    @Param({"10", "100", "1000"})
+    private int patternCount;
+
+    private final TracePathMatcher pathMatcher = new FastPathMatcher();
+    private String[] patterns;
+    private CompiledPathMatcher compiledMatcher;
+    private CompiledPathMatcher cachedMatcher;
+
+    @Setup
+    public void setUp() {
+        patterns = new String[patternCount];
+        for (int i = 0; i < patternCount; i++) {
+            switch (i % 4) {
+                case 0:
+                    patterns[i] = "/health/check" + i;
+                    break;
+                case 1:
+                    patterns[i] = "/static" + i + "/**";
+                    break;
+                case 2:
+                    patterns[i] = "/metrics/*/gauge" + i;
+                    break;
+                default:
+                    patterns[i] = "/api/v" + i + "/?/ping";
+                    break;
+            }
+        }
+        compiledMatcher = new CompiledPathMatcher(patterns, pathMatcher, 0);
+        cachedMatcher = new CompiledPathMatcher(patterns, pathMatcher, 10000);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void matchEveryPattern(Blackhole bh) {
+        boolean matched = false;
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, OPERATION_NAME)) {
+                matched = true;
+                break;
+            }
+        }
+        bh.consume(matched);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void compiledMatcher(Blackhole bh) {
+        bh.consume(compiledMatcher.match(OPERATION_NAME));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void cachedMatcher(Blackhole bh) {
+        bh.consume(cachedMatcher.match(OPERATION_NAME));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(PathMatcherBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+}
@@ -20,7 +20,6 @@ package org.apache.skywalking.apm.plugin.trace.ignore;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
-import java.lang.reflect.Field;
 import java.util.Properties;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.sampling.SamplingService;
@@ -50,13 +49,9 @@ public class TraceIgnoreTest {
 
     @Test
     public void testTraceIgnore() throws Exception {
-        SamplingService service = ServiceManager.INSTANCE.findService(SamplingService.class);
-        Field patterns = TraceIgnoreExtendService.class.getDeclaredField("patterns");
-        patterns.setAccessible(true);
-        patterns.set(
-            service,
-            new String[] {"/eureka/**"}
-        );
+        TraceIgnoreExtendService service =
+            (TraceIgnoreExtendService) ServiceManager.INSTANCE.findService(SamplingService.class);
+        service.setPatterns(new String[] {"/eureka/**"});
 
         Assert.assertFalse(service.trySampling("/eureka/apps"));
         Assert.assertTrue(service.trySampling("/consul/apps"));
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.cpu.policy;
+
+import org.apache.skywalking.apm.agent.core.jvm.cpu.CPUProvider;
+import org.apache.skywalking.apm.agent.core.jvm.gc.GCProvider;
+import org.apache.skywalking.apm.agent.core.meter.AgentMeters;
+import org.apache.skywalking.apm.agent.core.os.ProcessorUtil;
+import org.apache.skywalking.apm.agent.core.remote.TraceSegmentServiceClient;
+import org.apache.skywalking.apm.plugin.cpu.policy.conf.TraceSamplerCpuPolicyPluginConfig.Plugin.CpuPolicy;
+
+/**
+ * Scale the ratio of the new traces to keep by the load of the agent process. The signals, the CPU usage, the time
+ * spent in the GC pauses, the occupancy of the report buffers and the percent of the dropped segments, are read from cumulative
+ * counters at every check and smoothed. Each of them is mapped into a pressure, from 0 at {@link
+ * CpuPolicy#SHED_START_RATIO} of its limit to 1 at its limit, and the highest pressure decides the target ratio.
+ * <p>
+ * The ratio in effect follows a lower target at once. It follows a higher one only when the target is above it by
+ * more than the hysteresis band, by {@link CpuPolicy#RECOVERY_STEP} per check at most, so the tracing doesn't switch on
+ * and off around a limit.
+ */
+class LoadSheddingPolicy implements Runnable {
+    /**
+     * The weight of the latest reading in the smoothed signals.
+     */
+    private static final double SMOOTHING = 0.5;
+    private static final double HYSTERESIS = 0.05;
+
+    private final double cpuUsagePercentLimit;
+    private final double gcTimePercentLimit;
+    private final double bufferOccupancyPercentLimit;
+    private final double dropPercentLimit;
+    private final double shedStartRatio;
+    private final double recoveryStep;
+    private final int processorNum;
+
+    private long lastCheckTime;
+    private long lastCpuTime;
+    private long lastCollectionTime;
+    private double lastDroppedCount;
+    private double lastFinishedSegments;
+
+    private double cpuUsagePercent;
+    private double gcTimePercent;
+    private double bufferOccupancyPercent;
+    private double dropPercent;
+
+    private volatile double keepRatio = 1;
+
+    LoadSheddingPolicy() {
+        this(
+            CpuPolicy.SAMPLE_CPU_USAGE_PERCENT_LIMIT, CpuPolicy.SAMPLE_GC_TIME_PERCENT_LIMIT,
+            CpuPolicy.SAMPLE_BUFFER_OCCUPANCY_PERCENT_LIMIT, CpuPolicy.SAMPLE_DROP_PERCENT_LIMIT,
+            CpuPolicy.SHED_START_RATIO, CpuPolicy.RECOVERY_STEP
+        );
+    }
+
+    LoadSheddingPolicy(double cpuUsagePercentLimit, double gcTimePercentLimit, double bufferOccupancyPercentLimit,
+                       double dropPercentLimit, double shedStartRatio, double recoveryStep) {
+        this.cpuUsagePercentLimit = cpuUsagePercentLimit;
+        this.gcTimePercentLimit = gcTimePercentLimit;
+        this.bufferOccupancyPercentLimit = bufferOccupancyPercentLimit;
+        this.dropPercentLimit = dropPercentLimit;
+        this.shedStartRatio = Math.max(0, Math.min(1, shedStartRatio));
+        this.recoveryStep = recoveryStep > 0 ? recoveryStep : 1;
+        this.processorNum = Math.max(1, ProcessorUtil.getNumberOfProcessors());
+    }
+
+    /**
+     * @return true if any signal has a limit.
+     */
+    boolean isActive() {
+        return cpuUsagePercentLimit > 0 || gcTimePercentLimit > 0 || bufferOccupancyPercentLimit > 0
+            || dropPercentLimit > 0;
+    }
+
+    /**
+     * @return the ratio of the new traces to keep, from 0 to 1.
+     */
+    double getKeepRatio() {
+        return keepRatio;
+    }
+
+    @Override
+    public void run() {
+        long now = System.nanoTime();
+        long cpuTime = cpuUsagePercentLimit > 0 ? CPUProvider.INSTANCE.getCpuTime() : 0;
+        long collectionTime = gcTimePercentLimit > 0 ? GCProvider.INSTANCE.getCollectionTime() : 0;
+        // the segments only, as the drop percent is of the finished segments
+        double droppedCount = AgentMeters.getDroppedCount(TraceSegmentServiceClient.METER_CHANNEL);
+        double finishedSegments = AgentMeters.FINISHED_SEGMENTS.get();
+
+        if (lastCheckTime != 0 && now > lastCheckTime) {
+            long elapsed = now - lastCheckTime;
+            double finished = finishedSegments - lastFinishedSegments;
+            update(
+                (cpuTime - lastCpuTime) * 100d / ((double) elapsed * processorNum),
+                (collectionTime - lastCollectionTime) * 1_000_000 * 100d / elapsed,
+                bufferOccupancyPercentLimit > 0 ? AgentMeters.getBufferOccupancy() * 100 : 0,
+                finished > 0 ? Math.min(100, (droppedCount - lastDroppedCount) * 100 / finished) : 0
+            );
+        }
+        lastCheckTime = now;
+        lastCpuTime = cpuTime;
+        lastCollectionTime = collectionTime;
+        lastDroppedCount = droppedCount;
+        lastFinishedSegments = finishedSegments;
+    }
+
+    /**
+     * Move the ratio in effect by the latest readings of the signals, in percent.
+     *
+     * @return the new ratio in effect.
+     */
+    double update(double cpuUsagePercent, double gcTimePercent, double bufferOccupancyPercent, double dropPercent) {
+        this.cpuUsagePercent = smooth(this.cpuUsagePercent, cpuUsagePercent);
+        this.gcTimePercent = smooth(this.gcTimePercent, gcTimePercent);
+        this.bufferOccupancyPercent = smooth(this.bufferOccupancyPercent, bufferOccupancyPercent);
+        this.dropPercent = smooth(this.dropPercent, dropPercent);
+
+        double pressure = Math.max(
+            Math.max(pressure(this.cpuUsagePercent, cpuUsagePercentLimit), pressure(this.gcTimePercent, gcTimePercentLimit)),
+            Math.max(pressure(this.bufferOccupancyPercent, bufferOccupancyPercentLimit), pressure(this.dropPercent, dropPercentLimit))
+        );
+        double target = 1 - pressure;
+        double ratio = keepRatio;
+        if (target < ratio) {
+            ratio = target;
+        } else if (target - ratio > HYSTERESIS || target == 1) {
+            ratio = Math.min(target, ratio + recoveryStep);
+        }
+        keepRatio = ratio;
+        return ratio;
+    }
+
+    private static double smooth(double smoothed, double latest) {
+        return smoothed + (latest - smoothed) * SMOOTHING;
+    }
+
+    private double pressure(double value, double limit) {
+        if (limit <= 0) {
+            return 0;
+        }
+        if (value >= limit) {
+            return 1;
+        }
+        double start = limit * shedStartRatio;
+        if (value <= start) {
+            return 0;
+        }
+        return (value - start) / (limit - start);
+    }
+}
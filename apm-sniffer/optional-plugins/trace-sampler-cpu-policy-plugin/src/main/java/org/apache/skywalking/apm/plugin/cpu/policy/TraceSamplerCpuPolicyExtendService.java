@@ -18,20 +18,29 @@
 
 package org.apache.skywalking.apm.plugin.cpu.policy;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
 import org.apache.skywalking.apm.agent.core.boot.OverrideImplementor;
-import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
-import org.apache.skywalking.apm.agent.core.jvm.JVMService;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.meter.AgentMeters;
 import org.apache.skywalking.apm.agent.core.sampling.SamplingService;
 import org.apache.skywalking.apm.plugin.cpu.policy.conf.TraceSamplerCpuPolicyPluginConfig;
+import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
 
+/**
+ * Shed the new traces by the load of the agent process, see {@link LoadSheddingPolicy}, before applying the sampling
+ * rate of the {@link SamplingService}.
+ */
 @OverrideImplementor(SamplingService.class)
 public class TraceSamplerCpuPolicyExtendService extends SamplingService {
     private static final ILog LOGGER = LogManager.getLogger(TraceSamplerCpuPolicyExtendService.class);
 
-    private volatile boolean cpuUsagePercentLimitOn = false;
-    private volatile JVMService jvmService;
+    private volatile LoadSheddingPolicy loadSheddingPolicy;
+    private ScheduledExecutorService checker;
 
     @Override
     public void prepare() {
@@ -41,10 +50,16 @@ public class TraceSamplerCpuPolicyExtendService extends SamplingService {
     @Override
     public void boot() {
         super.boot();
-        if (TraceSamplerCpuPolicyPluginConfig.Plugin.CpuPolicy.SAMPLE_CPU_USAGE_PERCENT_LIMIT > 0) {
-            LOGGER.info("TraceSamplerCpuPolicyExtendService cpu usage percent limit open");
-            jvmService = ServiceManager.INSTANCE.findService(JVMService.class);
-            cpuUsagePercentLimitOn = true;
+        LoadSheddingPolicy policy = new LoadSheddingPolicy();
+        if (policy.isActive()) {
+            LOGGER.info("TraceSamplerCpuPolicyExtendService load shedding open");
+            checker = Executors.newSingleThreadScheduledExecutor(
+                new DefaultNamedThreadFactory("TraceSamplerCpuPolicy"));
+            long interval = Math.max(10, TraceSamplerCpuPolicyPluginConfig.Plugin.CpuPolicy.CHECK_INTERVAL_MS);
+            checker.scheduleAtFixedRate(new RunnableWithExceptionProtection(
+                policy, t -> LOGGER.error("check load failure.", t)), 0, interval, TimeUnit.MILLISECONDS);
+            AgentMeters.gauge("agent_sampling_shed_ratio", () -> 1 - policy.getKeepRatio());
+            loadSheddingPolicy = policy;
         }
     }
 
@@ -55,13 +70,17 @@ public class TraceSamplerCpuPolicyExtendService extends SamplingService {
     @Override
     public void shutdown() {
         super.shutdown();
+        if (checker != null) {
+            checker.shutdownNow();
+        }
     }
 
     @Override
     public boolean trySampling(final String operationName) {
-        if (cpuUsagePercentLimitOn) {
-            double cpuUsagePercent = jvmService.getCpuUsagePercent();
-            if (cpuUsagePercent > TraceSamplerCpuPolicyPluginConfig.Plugin.CpuPolicy.SAMPLE_CPU_USAGE_PERCENT_LIMIT) {
+        LoadSheddingPolicy policy = loadSheddingPolicy;
+        if (policy != null) {
+            double keepRatio = policy.getKeepRatio();
+            if (keepRatio < 1 && (keepRatio <= 0 || ThreadLocalRandom.current().nextDouble() >= keepRatio)) {
                 return false;
             }
         }
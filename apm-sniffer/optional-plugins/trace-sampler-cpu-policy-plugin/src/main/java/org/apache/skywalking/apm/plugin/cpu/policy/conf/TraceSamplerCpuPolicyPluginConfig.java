@@ -24,7 +24,39 @@ public class TraceSamplerCpuPolicyPluginConfig {
     public static class Plugin {
         @PluginConfig(root = TraceSamplerCpuPolicyPluginConfig.class)
         public static class CpuPolicy {
+            /**
+             * The CPU usage percent of the agent process at which all the new traces are shed. Non-positive means not
+             * watching the CPU usage.
+             */
             public static double SAMPLE_CPU_USAGE_PERCENT_LIMIT = -1;
+            /**
+             * The percent of the time spent in GC pauses at which all the new traces are shed. Non-positive means not
+             * watching the GC.
+             */
+            public static double SAMPLE_GC_TIME_PERCENT_LIMIT = -1;
+            /**
+             * The occupancy percent of the fullest report buffer at which all the new traces are shed. Non-positive
+             * means not watching the buffers.
+             */
+            public static double SAMPLE_BUFFER_OCCUPANCY_PERCENT_LIMIT = -1;
+            /**
+             * The percent of the finished segments dropped by the reporter at which all the new traces are shed.
+             * Non-positive means not watching the drops.
+             */
+            public static double SAMPLE_DROP_PERCENT_LIMIT = -1;
+            /**
+             * The ratio of every limit above which the new traces start being shed, proportionally more up to the
+             * limit.
+             */
+            public static double SHED_START_RATIO = 0.8;
+            /**
+             * The max increase of the ratio of the kept traces per check, once the load goes down.
+             */
+            public static double RECOVERY_STEP = 0.1;
+            /**
+             * The interval of reading the load signals in milliseconds.
+             */
+            public static long CHECK_INTERVAL_MS = 500;
         }
     }
 }
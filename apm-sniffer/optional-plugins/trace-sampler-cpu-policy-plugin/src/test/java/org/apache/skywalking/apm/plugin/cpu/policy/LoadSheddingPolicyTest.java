@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.cpu.policy;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LoadSheddingPolicyTest {
+    private static final double DELTA = 0.0001;
+
+    @Test
+    public void testInactiveWithoutLimit() {
+        LoadSheddingPolicy policy = new LoadSheddingPolicy(-1, -1, -1, -1, 0.8, 0.1);
+        Assert.assertFalse(policy.isActive());
+        Assert.assertEquals(1, policy.update(100, 100, 100, 100), DELTA);
+    }
+
+    @Test
+    public void testShedProportionally() {
+        LoadSheddingPolicy policy = new LoadSheddingPolicy(50, -1, -1, -1, 0.8, 0.1);
+        Assert.assertTrue(policy.isActive());
+        // Smoothed to 40, the start of shedding.
+        Assert.assertEquals(1, policy.update(80, 0, 0, 0), DELTA);
+        // Smoothed to 45, half way to the limit.
+        Assert.assertEquals(0.5, policy.update(50, 0, 0, 0), DELTA);
+        // Smoothed to 57.5, above the limit.
+        Assert.assertEquals(0, policy.update(70, 0, 0, 0), DELTA);
+    }
+
+    @Test
+    public void testHighestPressureDecides() {
+        LoadSheddingPolicy policy = new LoadSheddingPolicy(100, 10, 90, 10, 0.5, 0.1);
+        // Smoothed to cpu 25, gc 5 and buffer 45 without pressure, and drop 8 with pressure 0.6.
+        Assert.assertEquals(0.4, policy.update(50, 10, 90, 16), DELTA);
+    }
+
+    @Test
+    public void testRecoverGraduallyWithHysteresis() {
+        LoadSheddingPolicy policy = new LoadSheddingPolicy(50, -1, -1, -1, 0.8, 0.2);
+        policy.update(100, 0, 0, 0);
+        policy.update(100, 0, 0, 0);
+        Assert.assertEquals(0, policy.update(100, 0, 0, 0), DELTA);
+
+        // The load goes down, but the ratio rises by one step per check only.
+        Assert.assertEquals(0.2, policy.update(0, 0, 0, 0), DELTA);
+        Assert.assertEquals(0.4, policy.update(0, 0, 0, 0), DELTA);
+
+        // A target within the hysteresis band above the ratio in effect doesn't move it.
+        LoadSheddingPolicy hold = new LoadSheddingPolicy(50, -1, -1, -1, 0.8, 0.2);
+        Assert.assertEquals(0.5, hold.update(90, 0, 0, 0), DELTA);
+        // Smoothed to 44.8, the target is 0.52.
+        Assert.assertEquals(0.5, hold.update(44.6, 0, 0, 0), DELTA);
+    }
+}
@@ -18,12 +18,10 @@
 package org.apache.skywalking.apm.agent.core.kafka;
 
 import java.util.List;
-import org.apache.kafka.clients.producer.KafkaProducer;
-import org.apache.kafka.clients.producer.ProducerRecord;
-import org.apache.kafka.common.utils.Bytes;
 import org.apache.skywalking.apm.agent.core.boot.OverrideImplementor;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.remote.CapturedLog;
 import org.apache.skywalking.apm.agent.core.remote.LogReportServiceClient;
 import org.apache.skywalking.apm.agent.core.util.CollectionUtil;
 import org.apache.skywalking.apm.network.logging.v3.LogData;
@@ -31,39 +29,52 @@ import org.apache.skywalking.apm.network.logging.v3.LogData;
 @OverrideImplementor(LogReportServiceClient.class)
 public class KafkaLogReporterServiceClient extends LogReportServiceClient implements KafkaConnectionStatusListener {
 
-    private String topic;
-    private KafkaProducer<String, Bytes> producer;
+    private KafkaTopicSender sender;
 
     @Override
     public void prepare() {
         KafkaProducerManager producerManager = ServiceManager.INSTANCE.findService(KafkaProducerManager.class);
         producerManager.addListener(this);
-        topic = producerManager.formatTopicNameThenRegister(KafkaReporterPluginConfig.Plugin.Kafka.TOPIC_LOGGING);
+        String topic = producerManager.formatTopicNameThenRegister(KafkaReporterPluginConfig.Plugin.Kafka.TOPIC_LOGGING);
+        sender = new KafkaTopicSender(topic, "logs");
     }
 
     @Override
-    public void produce(final LogData.Builder logData) {
-        super.produce(logData);
+    public void produce(final CapturedLog log) {
+        super.produce(log);
     }
 
     @Override
-    public void consume(final List<LogData.Builder> dataList) {
-        if (producer == null || CollectionUtil.isEmpty(dataList)) {
+    public void consume(final List<CapturedLog> dataList) {
+        if (!sender.isConnected() || CollectionUtil.isEmpty(dataList)) {
             return;
         }
 
-        for (LogData.Builder data : dataList) {
-            // Kafka Log reporter sends one log per time.
+        final LogData.Builder data = LogData.newBuilder();
+        for (CapturedLog log : dataList) {
+            log.transform(data.clear());
+            // Kafka Log reporter sends every log as a standalone message, even in a batch.
             // Every time, service name should be set to keep data integrity.
             data.setService(Config.Agent.SERVICE_NAME);
-            producer.send(new ProducerRecord<>(topic, data.getService(), Bytes.wrap(data.build().toByteArray())));
+            sender.send(data.getService(), data.build().toByteArray());
         }
+        sender.flushIfExpired();
+    }
+
+    @Override
+    public void nothingToConsume() {
+        sender.flushIfExpired();
+    }
+
+    @Override
+    public void onExit() {
+        sender.flush();
     }
 
     @Override
     public void onStatusChanged(final org.apache.skywalking.apm.agent.core.kafka.KafkaConnectionStatus status) {
         if (status == KafkaConnectionStatus.CONNECTED) {
-            producer = ServiceManager.INSTANCE.findService(KafkaProducerManager.class).getProducer();
+            sender.connect(ServiceManager.INSTANCE.findService(KafkaProducerManager.class).getProducer());
         }
     }
 }
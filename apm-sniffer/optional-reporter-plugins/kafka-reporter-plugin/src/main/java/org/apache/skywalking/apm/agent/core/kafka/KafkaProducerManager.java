@@ -105,6 +105,9 @@ public class KafkaProducerManager implements BootService, Runnable {
 
         Properties properties = new Properties();
         properties.setProperty(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, Kafka.BOOTSTRAP_SERVERS);
+        if (StringUtil.isNotBlank(Kafka.COMPRESSION_TYPE)) {
+            properties.setProperty(ProducerConfig.COMPRESSION_TYPE_CONFIG, Kafka.COMPRESSION_TYPE);
+        }
 
         setPropertiesFromJsonConfig(properties);
         decode(Kafka.PRODUCER_CONFIG).forEach(properties::setProperty);
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.kafka;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accumulates pre-serialized protobuf messages into the value of one Kafka record. Every message is framed as a
+ * length-delimited field 1, so the packed value is exactly the wire format of a message holding one repeated field of
+ * those messages, such as {@code SegmentCollection} for {@code SegmentObject}s. The messages are not parsed or copied
+ * until {@link #drain()}.
+ * <p>
+ * Not thread safe, the batch is owned by the single consumer thread of a DataCarrier.
+ */
+class KafkaRecordBatch {
+    /**
+     * Field number 1, wire type 2 (length-delimited).
+     */
+    private static final byte FIELD_TAG = 1 << 3 | 2;
+
+    private final int maxItems;
+    private final int maxBytes;
+    private final long lingerMillis;
+
+    private final List<byte[]> items = new ArrayList<>();
+    private int bytes;
+    private long firstItemTime;
+
+    KafkaRecordBatch(int maxItems, int maxBytes, long lingerMillis) {
+        this.maxItems = maxItems;
+        this.maxBytes = maxBytes;
+        this.lingerMillis = lingerMillis;
+    }
+
+    /**
+     * @return true if the message doesn't fit into this non-empty batch, so the batch should be drained first.
+     */
+    boolean wouldOverflow(byte[] message) {
+        return !items.isEmpty() && bytes + framedSize(message.length) > maxBytes;
+    }
+
+    /**
+     * @return true if the batch is full after adding the message, and should be drained.
+     */
+    boolean add(byte[] message, long now) {
+        if (items.isEmpty()) {
+            firstItemTime = now;
+        }
+        items.add(message);
+        bytes += framedSize(message.length);
+        return items.size() >= maxItems || bytes >= maxBytes;
+    }
+
+    /**
+     * @return true if the first message of this non-empty batch has waited for the linger time.
+     */
+    boolean isExpired(long now) {
+        return !items.isEmpty() && now - firstItemTime >= lingerMillis;
+    }
+
+    boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    int size() {
+        return items.size();
+    }
+
+    /**
+     * Pack the accumulated messages into one array, and reset this batch.
+     */
+    byte[] drain() {
+        byte[] packed = new byte[bytes];
+        int position = 0;
+        for (byte[] item : items) {
+            packed[position++] = FIELD_TAG;
+            position = writeVarint(packed, position, item.length);
+            System.arraycopy(item, 0, packed, position, item.length);
+            position += item.length;
+        }
+        items.clear();
+        bytes = 0;
+        return packed;
+    }
+
+    private static int framedSize(int length) {
+        return 1 + varintSize(length) + length;
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static int writeVarint(byte[] target, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            target[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        target[position++] = (byte) value;
+        return position;
+    }
+}
@@ -67,6 +67,31 @@ public class KafkaReporterPluginConfig {
              * Class name of decoding encoded information in kafka configuration.
              */
             public static String DECODE_CLASS = "";
+
+            /**
+             * <B>compression_type</B>: the compression codec of the producer, such as <code>gzip</code>,
+             * <code>snappy</code>, <code>lz4</code> or <code>zstd</code>. Empty means the producer default. Notice it
+             * will be overridden by <code>compression.type</code> in `plugin.kafka.producer_config_json` or
+             * `plugin.kafka.producer_config[key]`.
+             */
+            public static String COMPRESSION_TYPE = "";
+
+            /**
+             * Max number of segments or logs packed into one Kafka record. 0 or 1 means every segment or log is sent
+             * as its own record. Notice, a batched record holds a <code>SegmentCollection</code> or a repeated
+             * <code>LogData</code> envelope, which the consumer of the topic must support.
+             */
+            public static int BATCH_SIZE = 0;
+
+            /**
+             * Max bytes of one batched record. Keep it below <code>max.request.size</code> of the producer.
+             */
+            public static int BATCH_BYTES = 512 * 1024;
+
+            /**
+             * Max time in milliseconds a segment or log waits in an incomplete batch before the batch is sent.
+             */
+            public static long BATCH_LINGER_MS = 100;
         }
     }
 }
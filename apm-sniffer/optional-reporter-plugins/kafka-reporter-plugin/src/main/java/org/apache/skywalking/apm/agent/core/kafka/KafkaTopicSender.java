@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.skywalking.apm.agent.core.kafka.KafkaReporterPluginConfig.Plugin.Kafka;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.meter.Counter;
+import org.apache.skywalking.apm.agent.core.meter.Histogram;
+import org.apache.skywalking.apm.agent.core.meter.MeterFactory;
+
+/**
+ * Sends pre-serialized messages of one kind to one topic, and exposes the throughput and the acknowledge latency of
+ * the topic through the meter system.
+ * <p>
+ * When {@link Kafka#BATCH_SIZE} is greater than 1, the messages are packed into one record by {@link KafkaRecordBatch},
+ * which is sent once it is full of items or bytes, or once it lingers for {@link Kafka#BATCH_LINGER_MS}. A batched
+ * record has no key, and carries the number of packed messages in the {@link #BATCH_SIZE_HEADER} header.
+ * <p>
+ * Not thread safe, the sender is driven by the single consumer thread of a DataCarrier.
+ */
+class KafkaTopicSender {
+    private static final ILog LOGGER = LogManager.getLogger(KafkaTopicSender.class);
+
+    static final String BATCH_SIZE_HEADER = "sw-batch-size";
+
+    private static final List<Double> LATENCY_STEPS = Arrays.asList(
+        5d, 10d, 25d, 50d, 100d, 250d, 500d, 1000d, 2500d, 5000d);
+
+    private final String topic;
+    private final String dataName;
+    private final KafkaRecordBatch batch;
+
+    private volatile KafkaProducer<String, Bytes> producer;
+
+    private Counter sentItems;
+    private Counter sentRecords;
+    private Counter sentBytes;
+    private Counter failedItems;
+    private Histogram latency;
+
+    /**
+     * @param dataName the name of the sent data, used in logs.
+     */
+    KafkaTopicSender(String topic, String dataName) {
+        this.topic = topic;
+        this.dataName = dataName;
+        this.batch = Kafka.BATCH_SIZE > 1
+            ? new KafkaRecordBatch(Kafka.BATCH_SIZE, Kafka.BATCH_BYTES, Kafka.BATCH_LINGER_MS)
+            : null;
+    }
+
+    /**
+     * Start sending through the connected producer. The meters are registered the first time.
+     */
+    void connect(KafkaProducer<String, Bytes> producer) {
+        if (sentItems == null) {
+            sentItems = MeterFactory.counter("kafka_reporter_sent_items").tag("topic", topic).build();
+            sentRecords = MeterFactory.counter("kafka_reporter_sent_records").tag("topic", topic).build();
+            sentBytes = MeterFactory.counter("kafka_reporter_sent_bytes").tag("topic", topic).build();
+            failedItems = MeterFactory.counter("kafka_reporter_failed_items").tag("topic", topic).build();
+            latency = MeterFactory.histogram("kafka_reporter_send_latency_ms")
+                                  .tag("topic", topic)
+                                  .steps(LATENCY_STEPS)
+                                  .build();
+        }
+        this.producer = producer;
+    }
+
+    boolean isConnected() {
+        return producer != null;
+    }
+
+    /**
+     * Send one serialized message, or add it to the pending batch.
+     *
+     * @param key the record key, ignored in batching mode.
+     */
+    void send(String key, byte[] message) {
+        if (batch == null) {
+            send(new ProducerRecord<>(topic, key, Bytes.wrap(message)), 1);
+            return;
+        }
+        if (batch.wouldOverflow(message)) {
+            flush();
+        }
+        if (batch.add(message, System.currentTimeMillis())) {
+            flush();
+        }
+    }
+
+    /**
+     * Send the pending batch if it has lingered long enough. It should be called when the DataCarrier has nothing to
+     * consume, to keep the latency of sparse data bounded.
+     */
+    void flushIfExpired() {
+        if (batch != null && batch.isExpired(System.currentTimeMillis())) {
+            flush();
+        }
+    }
+
+    /**
+     * Send the pending batch, if any.
+     */
+    void flush() {
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+        int items = batch.size();
+        ProducerRecord<String, Bytes> record = new ProducerRecord<>(topic, null, Bytes.wrap(batch.drain()));
+        record.headers().add(BATCH_SIZE_HEADER, Integer.toString(items).getBytes(StandardCharsets.UTF_8));
+        send(record, items);
+    }
+
+    private void send(ProducerRecord<String, Bytes> record, int items) {
+        final int bytes = record.value().get().length;
+        final long startTime = System.currentTimeMillis();
+        producer.send(record, (metadata, e) -> {
+            if (e != null) {
+                failedItems.increment(items);
+                LOGGER.error(e, "Failed to report {} {} to topic {}.", items, dataName, topic);
+                return;
+            }
+            sentItems.increment(items);
+            sentRecords.increment(1);
+            sentBytes.increment(bytes);
+            latency.addValue(System.currentTimeMillis() - startTime);
+        });
+    }
+}
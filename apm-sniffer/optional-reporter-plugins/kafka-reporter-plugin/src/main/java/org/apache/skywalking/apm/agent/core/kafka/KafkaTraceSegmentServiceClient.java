@@ -19,16 +19,13 @@
 package org.apache.skywalking.apm.agent.core.kafka;
 
 import java.util.List;
-import java.util.Objects;
 import java.util.Properties;
-import org.apache.kafka.clients.producer.KafkaProducer;
-import org.apache.kafka.clients.producer.ProducerRecord;
-import org.apache.kafka.common.utils.Bytes;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
 import org.apache.skywalking.apm.agent.core.boot.OverrideImplementor;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.context.TracingContext;
 import org.apache.skywalking.apm.agent.core.context.TracingContextListener;
+import org.apache.skywalking.apm.agent.core.context.trace.SegmentObjectSerializer;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
@@ -36,7 +33,6 @@ import org.apache.skywalking.apm.agent.core.remote.TraceSegmentServiceClient;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
-import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
 
 import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.BUFFER_SIZE;
 import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.CHANNEL_SIZE;
@@ -48,8 +44,7 @@ import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.CHANNEL_SI
 public class KafkaTraceSegmentServiceClient implements BootService, IConsumer<TraceSegment>, TracingContextListener, KafkaConnectionStatusListener {
     private static final ILog LOGGER = LogManager.getLogger(KafkaTraceSegmentServiceClient.class);
 
-    private String topic;
-    private KafkaProducer<String, Bytes> producer;
+    private KafkaTopicSender sender;
 
     private volatile DataCarrier<TraceSegment> carrier;
 
@@ -57,7 +52,8 @@ public class KafkaTraceSegmentServiceClient implements BootService, IConsumer<Tr
     public void prepare() {
         KafkaProducerManager producerManager = ServiceManager.INSTANCE.findService(KafkaProducerManager.class);
         producerManager.addListener(this);
-        topic = producerManager.formatTopicNameThenRegister(KafkaReporterPluginConfig.Plugin.Kafka.TOPIC_SEGMENT);
+        String topic = producerManager.formatTopicNameThenRegister(KafkaReporterPluginConfig.Plugin.Kafka.TOPIC_SEGMENT);
+        sender = new KafkaTopicSender(topic, "trace segments");
     }
 
     @Override
@@ -84,22 +80,17 @@ public class KafkaTraceSegmentServiceClient implements BootService, IConsumer<Tr
 
     @Override
     public void consume(final List<TraceSegment> data) {
-        if (producer == null) {
+        if (!sender.isConnected()) {
             return;
         }
-        data.forEach(traceSegment -> {
-            SegmentObject upstreamSegment = traceSegment.transform();
-            ProducerRecord<String, Bytes> record = new ProducerRecord<>(
-                topic,
-                upstreamSegment.getTraceSegmentId(),
-                Bytes.wrap(upstreamSegment.toByteArray())
-            );
-            producer.send(record, (m, e) -> {
-                if (Objects.nonNull(e)) {
-                    LOGGER.error("Failed to report TraceSegment.", e);
-                }
-            });
-        });
+        data.forEach(traceSegment -> sender.send(
+            traceSegment.getTraceSegmentId(), new SegmentObjectSerializer(traceSegment).toByteArray()));
+        sender.flushIfExpired();
+    }
+
+    @Override
+    public void nothingToConsume() {
+        sender.flushIfExpired();
     }
 
     @Override
@@ -109,7 +100,7 @@ public class KafkaTraceSegmentServiceClient implements BootService, IConsumer<Tr
 
     @Override
     public void onExit() {
-
+        sender.flush();
     }
 
     @Override
@@ -128,7 +119,7 @@ public class KafkaTraceSegmentServiceClient implements BootService, IConsumer<Tr
     @Override
     public void onStatusChanged(KafkaConnectionStatus status) {
         if (status == KafkaConnectionStatus.CONNECTED) {
-            producer = ServiceManager.INSTANCE.findService(KafkaProducerManager.class).getProducer();
+            sender.connect(ServiceManager.INSTANCE.findService(KafkaProducerManager.class).getProducer());
         }
     }
 }
\ No newline at end of file
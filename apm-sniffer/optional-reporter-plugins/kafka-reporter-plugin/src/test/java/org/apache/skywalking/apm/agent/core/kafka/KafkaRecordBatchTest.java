@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.kafka;
+
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentCollection;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class KafkaRecordBatchTest {
+
+    @Test
+    public void testDrainAsSegmentCollection() throws Exception {
+        KafkaRecordBatch batch = new KafkaRecordBatch(10, 1024 * 1024, 100);
+        SegmentObject small = segment("small", 1);
+        // a segment longer than 127 bytes needs a multi-byte length prefix
+        SegmentObject large = segment("large", 300);
+        batch.add(small.toByteArray(), 0);
+        batch.add(large.toByteArray(), 0);
+
+        SegmentCollection collection = SegmentCollection.parseFrom(batch.drain());
+        assertEquals(2, collection.getSegmentsCount());
+        assertEquals(small, collection.getSegments(0));
+        assertEquals(large, collection.getSegments(1));
+        assertTrue(batch.isEmpty());
+        assertArrayEquals(new byte[0], batch.drain());
+    }
+
+    @Test
+    public void testFullByItems() {
+        KafkaRecordBatch batch = new KafkaRecordBatch(3, 1024 * 1024, 100);
+        assertFalse(batch.add(new byte[10], 0));
+        assertFalse(batch.add(new byte[10], 0));
+        assertTrue(batch.add(new byte[10], 0));
+        assertEquals(3, batch.size());
+    }
+
+    @Test
+    public void testFullByBytes() {
+        KafkaRecordBatch batch = new KafkaRecordBatch(100, 100, 100);
+        // every message takes 2 more bytes for its tag and length
+        assertFalse(batch.wouldOverflow(new byte[60]));
+        assertFalse(batch.add(new byte[60], 0));
+        assertTrue(batch.wouldOverflow(new byte[60]));
+        assertFalse(batch.wouldOverflow(new byte[30]));
+        assertTrue(batch.add(new byte[36], 0));
+        assertEquals(100, batch.drain().length);
+    }
+
+    @Test
+    public void testLinger() {
+        KafkaRecordBatch batch = new KafkaRecordBatch(100, 1024, 100);
+        assertFalse(batch.isExpired(1000));
+        batch.add(new byte[1], 1000);
+        batch.add(new byte[1], 1050);
+        assertFalse(batch.isExpired(1099));
+        assertTrue(batch.isExpired(1100));
+        batch.drain();
+        assertFalse(batch.isExpired(2000));
+    }
+
+    private static SegmentObject segment(String id, int serviceNameLength) {
+        StringBuilder service = new StringBuilder();
+        for (int i = 0; i < serviceNameLength; i++) {
+            service.append('s');
+        }
+        return SegmentObject.newBuilder()
+                            .setTraceId("trace-" + id)
+                            .setTraceSegmentId(id)
+                            .setService(service.toString())
+                            .setServiceInstance("instance")
+                            .build();
+    }
+}